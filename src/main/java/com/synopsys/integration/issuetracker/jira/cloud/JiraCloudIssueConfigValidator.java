@@ -23,9 +23,11 @@
 package com.synopsys.integration.issuetracker.jira.cloud;
 
 import java.util.Collection;
+import java.util.concurrent.Executor;
 
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.issuetracker.jira.common.JiraIssueConfigValidator;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueMetadataCache;
 import com.synopsys.integration.jira.common.cloud.service.ProjectService;
 import com.synopsys.integration.jira.common.cloud.service.UserSearchService;
 import com.synopsys.integration.jira.common.model.components.ProjectComponent;
@@ -44,6 +46,12 @@ public class JiraCloudIssueConfigValidator extends JiraIssueConfigValidator {
         this.userSearchService = userSearchService;
     }
 
+    public JiraCloudIssueConfigValidator(ProjectService projectService, UserSearchService userSearchService, JiraIssueMetadataCache issueMetadataCache, Executor validationExecutor) {
+        super(issueMetadataCache, validationExecutor);
+        this.projectService = projectService;
+        this.userSearchService = userSearchService;
+    }
+
     @Override
     public String getProjectFieldKey() {
         return JiraCloudProperties.KEY_JIRA_PROJECT_NAME;
@@ -22,10 +22,10 @@
  */
 package com.synopsys.integration.issuetracker.jira.cloud;
 
+import java.io.Closeable;
+import java.util.Arrays;
 import java.util.List;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.Gson;
 import com.synopsys.integration.exception.IntegrationException;
@@ -34,64 +34,133 @@ import com.synopsys.integration.issuetracker.common.exception.IssueTrackerExcept
 import com.synopsys.integration.issuetracker.common.message.IssueTrackerRequest;
 import com.synopsys.integration.issuetracker.common.message.IssueTrackerResponse;
 import com.synopsys.integration.issuetracker.common.service.IssueTrackerService;
-import com.synopsys.integration.issuetracker.jira.cloud.util.JiraCloudIssueHandler;
-import com.synopsys.integration.issuetracker.jira.cloud.util.JiraCloudIssuePropertyHandler;
-import com.synopsys.integration.issuetracker.jira.cloud.util.JiraCloudTransitionHandler;
-import com.synopsys.integration.issuetracker.jira.common.JiraConstants;
-import com.synopsys.integration.issuetracker.jira.common.util.JiraContentValidator;
-import com.synopsys.integration.jira.common.cloud.service.IssueSearchService;
-import com.synopsys.integration.jira.common.cloud.service.IssueService;
-import com.synopsys.integration.jira.common.cloud.service.JiraCloudServiceFactory;
-import com.synopsys.integration.jira.common.cloud.service.ProjectService;
-import com.synopsys.integration.jira.common.cloud.service.UserSearchService;
-import com.synopsys.integration.jira.common.rest.service.IssueMetaDataService;
-import com.synopsys.integration.jira.common.rest.service.IssuePropertyService;
-import com.synopsys.integration.jira.common.rest.service.IssueTypeService;
-import com.synopsys.integration.jira.common.rest.service.PluginManagerService;
-
-public class JiraCloudService extends IssueTrackerService<JiraCloudContext> {
-    private Logger logger = LoggerFactory.getLogger(JiraCloudService.class);
+import com.synopsys.integration.issuetracker.jira.common.JiraSessionConfig;
+import com.synopsys.integration.issuetracker.jira.common.JiraSessionKey;
+import com.synopsys.integration.issuetracker.jira.common.JiraSessionRegistry;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueConfigKey;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraCallResult;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraIssueBatchResponse;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraRequestCoalescer;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+
+public class JiraCloudService extends IssueTrackerService<JiraCloudContext> implements Closeable {
+    private final JiraSessionConfig sessionConfig;
+    private final JiraSessionRegistry<JiraCloudSession> sessions;
+    private final JiraRequestCoalescer<JiraCloudContext> requestCoalescer;
 
     public JiraCloudService(Gson gson) {
+        this(gson, JiraSessionConfig.defaultConfig());
+    }
+
+    public JiraCloudService(Gson gson, JiraSessionConfig sessionConfig) {
         super(gson);
+        this.sessionConfig = sessionConfig;
+        this.sessions = new JiraSessionRegistry<>(sessionConfig.getSessionIdleTimeout());
+        if (sessionConfig.getCoalescingWindow().isZero()) {
+            this.requestCoalescer = null;
+        } else {
+            this.requestCoalescer = new JiraRequestCoalescer<>(sessionConfig.getCoalescingWindow(), sessionConfig.getCoalescingMaxBatchSize(),
+                this::sendRequestCalls);
+        }
     }
 
     @Override
     public IssueTrackerResponse sendRequests(JiraCloudContext context, List<IssueTrackerRequest> requests) throws IntegrationException {
-        if (null == context) {
-            throw new IssueTrackerException("Context missing. Cannot determine Jira Cloud instance.");
+        validateRequests(context, requests);
+        JiraCloudSession session = getSession(context.getIssueTrackerConfig());
+        return sendRequests(session, context, requests);
+    }
+
+    // Releases the session once the requests are sent, so each batch needs a session of its own from getSession.
+    public IssueTrackerResponse sendRequests(JiraCloudSession session, JiraCloudContext context, List<IssueTrackerRequest> requests)
+        throws IntegrationException {
+        return sendRequestBatch(session, context, requests).getResponse();
+    }
+
+    // Within a coalescing window, the requests are sent together with those of other calls for the same Jira project.
+    public CompletableFuture<IssueTrackerResponse> sendRequestsAsync(JiraCloudContext context, List<IssueTrackerRequest> requests) {
+        try {
+            validateRequests(context, requests);
+            if (null == requestCoalescer) {
+                return CompletableFuture.completedFuture(sendRequests(context, requests));
+            }
+            JiraSessionKey sessionKey = JiraCloudSession.createSessionKey(context.getIssueTrackerConfig());
+            JiraIssueConfigKey issueConfigKey = new JiraIssueConfigKey(sessionKey.getUrl(), context.getIssueConfig());
+            Object batchKey = Arrays.asList(sessionKey, issueConfigKey);
+            return requestCoalescer.submit(batchKey, context, requests);
+        } catch (IntegrationException e) {
+            CompletableFuture<IssueTrackerResponse> failedResponse = new CompletableFuture<>();
+            failedResponse.completeExceptionally(e);
+            return failedResponse;
         }
-        if (null == requests || requests.isEmpty()) {
-            throw new IssueTrackerException("Requests missing. Require at least one request.");
+    }
+
+    // A thrown failure fails every call. Failures of a single call are returned with its result.
+    private List<JiraCallResult> sendRequestCalls(JiraCloudContext context, List<List<IssueTrackerRequest>> callRequests)
+        throws IntegrationException {
+        JiraCloudSession session = getSession(context.getIssueTrackerConfig());
+        try {
+            session.verifyAppInstalled();
+
+            IssueConfig validIssueConfig = session.validateIssueConfig(context);
+            List<JiraCallResult> callResults = session.getIssueHandler().processRequestCalls(validIssueConfig, callRequests);
+            for (JiraCallResult callResult : callResults) {
+                callResult.getFailure()
+                    .filter(IntegrationRestException.class::isInstance)
+                    .map(IntegrationRestException.class::cast)
+                    .ifPresent(session::handleRequestFailure);
+            }
+            return callResults;
+        } finally {
+            sessions.releaseSession(session);
+        }
+    }
+
+    private JiraIssueBatchResponse sendRequestBatch(JiraCloudSession session, JiraCloudContext context, List<IssueTrackerRequest> requests)
+        throws IntegrationException {
+        if (null == session) {
+            throw new IssueTrackerException("Session missing. Cannot determine Jira Cloud instance.");
         }
-        JiraCloudProperties jiraProperties = context.getIssueTrackerConfig();
-        JiraCloudServiceFactory jiraCloudServiceFactory = jiraProperties.createJiraServicesCloudFactory(logger, getGson());
-        PluginManagerService jiraAppService = jiraCloudServiceFactory.createPluginManagerService();
-        logger.debug("Verifying the required application is installed on the Jira Cloud server...");
         try {
-            boolean missingApp = !jiraAppService.isAppInstalled(jiraProperties.getUsername(), jiraProperties.getAccessToken(), JiraConstants.JIRA_APP_KEY);
-            if (missingApp) {
-                throw new IssueTrackerException("Please configure the Jira Cloud plugin for your server instance via the global Jira Cloud channel settings.");
+            validateRequests(context, requests);
+            session.verifyAppInstalled();
+
+            IssueConfig validIssueConfig = session.validateIssueConfig(context);
+            try {
+                return session.getIssueHandler().processRequestBatch(validIssueConfig, requests);
+            } catch (IntegrationRestException ex) {
+                session.handleRequestFailure(ex);
+                throw ex;
             }
-        } catch (IntegrationException ex) {
-            throw new IssueTrackerException("Please configure the Jira Cloud plugin for your server instance via the global Jira Cloud channel settings.", ex);
+        } finally {
+            sessions.releaseSession(session);
         }
+    }
 
-        ProjectService projectService = jiraCloudServiceFactory.createProjectService();
-        UserSearchService userSearchService = jiraCloudServiceFactory.createUserSearchService();
-        IssueTypeService issueTypeService = jiraCloudServiceFactory.createIssueTypeService();
-        IssueMetaDataService issueMetaDataService = jiraCloudServiceFactory.createIssueMetadataService();
-
-        JiraCloudIssueConfigValidator jiraIssueConfigValidator = new JiraCloudIssueConfigValidator(projectService, userSearchService, issueTypeService, issueMetaDataService);
-        IssueConfig validIssueConfig = jiraIssueConfigValidator.createValidIssueConfig(context);
-
-        IssueService issueService = jiraCloudServiceFactory.createIssueService();
-        IssuePropertyService issuePropertyService = jiraCloudServiceFactory.createIssuePropertyService();
-        IssueSearchService issueSearchService = jiraCloudServiceFactory.createIssueSearchService();
-        JiraContentValidator contentValidator = new JiraContentValidator();
-        JiraCloudTransitionHandler jiraTransitionHandler = new JiraCloudTransitionHandler(issueService);
-        JiraCloudIssuePropertyHandler jiraIssuePropertyHandler = new JiraCloudIssuePropertyHandler(issueSearchService, issuePropertyService);
-        JiraCloudIssueHandler jiraIssueHandler = new JiraCloudIssueHandler(issueService, jiraProperties, getGson(), jiraTransitionHandler, jiraIssuePropertyHandler, contentValidator);
-        return jiraIssueHandler.createOrUpdateIssues(validIssueConfig, requests);
+    // The session is in use until requests are sent with it, or until it is released with releaseSession.
+    public JiraCloudSession getSession(JiraCloudProperties jiraProperties) throws IssueTrackerException {
+        JiraSessionKey sessionKey = JiraCloudSession.createSessionKey(jiraProperties);
+        return sessions.getSession(sessionKey, () -> new JiraCloudSession(jiraProperties, getGson(), sessionConfig));
+    }
+
+    public void releaseSession(JiraCloudSession session) {
+        sessions.releaseSession(session);
+    }
+
+    @Override
+    public void close() {
+        if (null != requestCoalescer) {
+            requestCoalescer.close();
+        }
+        sessions.close();
+    }
+
+    private void validateRequests(JiraCloudContext context, List<IssueTrackerRequest> requests) throws IssueTrackerException {
+        if (null == context) {
+            throw new IssueTrackerException("Context missing. Cannot determine Jira Cloud instance.");
+        }
+        if (null == requests || requests.isEmpty()) {
+            throw new IssueTrackerException("Requests missing. Require at least one request.");
+        }
     }
 }
@@ -0,0 +1,148 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.cloud;
+
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.issuetracker.common.exception.IssueTrackerException;
+import com.synopsys.integration.issuetracker.jira.cloud.util.JiraCloudIssueHandler;
+import com.synopsys.integration.issuetracker.jira.cloud.util.JiraCloudIssuePropertyHandler;
+import com.synopsys.integration.issuetracker.jira.cloud.util.JiraCloudTransitionHandler;
+import com.synopsys.integration.issuetracker.jira.common.JiraConstants;
+import com.synopsys.integration.issuetracker.jira.common.JiraSession;
+import com.synopsys.integration.issuetracker.jira.common.JiraSessionConfig;
+import com.synopsys.integration.issuetracker.jira.common.JiraSessionKey;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueMetadataCache;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraTransitionCache;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraContentValidator;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraRestRequestHandler;
+import com.synopsys.integration.jira.common.cloud.service.IssueSearchService;
+import com.synopsys.integration.jira.common.cloud.service.IssueService;
+import com.synopsys.integration.jira.common.cloud.service.JiraCloudServiceFactory;
+import com.synopsys.integration.jira.common.cloud.service.ProjectService;
+import com.synopsys.integration.jira.common.cloud.service.UserSearchService;
+import com.synopsys.integration.jira.common.rest.service.IssueMetaDataService;
+import com.synopsys.integration.jira.common.rest.service.IssuePropertyService;
+import com.synopsys.integration.jira.common.rest.service.IssueTypeService;
+import com.synopsys.integration.jira.common.rest.service.PluginManagerService;
+
+public class JiraCloudSession extends JiraSession {
+    private final Logger logger = LoggerFactory.getLogger(JiraCloudSession.class);
+
+    private final JiraCloudProperties jiraProperties;
+    private final JiraCloudServiceFactory jiraCloudServiceFactory;
+    private final PluginManagerService jiraAppService;
+    private final JiraIssueMetadataCache issueMetadataCache;
+    private final JiraRestRequestHandler restRequestHandler;
+    private final JiraCloudIssueConfigValidator jiraIssueConfigValidator;
+    private final JiraCloudIssueHandler jiraIssueHandler;
+
+    public JiraCloudSession(JiraCloudProperties jiraProperties, Gson gson) throws IssueTrackerException {
+        this(jiraProperties, gson, JiraSessionConfig.defaultConfig());
+    }
+
+    public JiraCloudSession(JiraCloudProperties jiraProperties, Gson gson, JiraSessionConfig sessionConfig) throws IssueTrackerException {
+        super(createSessionKey(jiraProperties), sessionConfig);
+        this.jiraProperties = jiraProperties;
+        this.jiraCloudServiceFactory = jiraProperties.createJiraServicesCloudFactory(logger, gson);
+        this.jiraAppService = jiraCloudServiceFactory.createPluginManagerService();
+        this.restRequestHandler = createRestRequestHandler(jiraCloudServiceFactory.getHttpClient(), jiraProperties.getUrl(), gson);
+
+        ProjectService projectService = jiraCloudServiceFactory.createProjectService();
+        UserSearchService userSearchService = jiraCloudServiceFactory.createUserSearchService();
+        IssueTypeService issueTypeService = jiraCloudServiceFactory.createIssueTypeService();
+        IssueMetaDataService issueMetaDataService = jiraCloudServiceFactory.createIssueMetadataService();
+        this.issueMetadataCache = new JiraIssueMetadataCache(issueTypeService, issueMetaDataService, sessionConfig.getMetadataCacheTtl(),
+            sessionConfig.getMetadataCacheMaxSize());
+        this.jiraIssueConfigValidator = new JiraCloudIssueConfigValidator(projectService, userSearchService, issueMetadataCache,
+            getValidationExecutor());
+
+        IssueService issueService = jiraCloudServiceFactory.createIssueService();
+        IssuePropertyService issuePropertyService = jiraCloudServiceFactory.createIssuePropertyService();
+        IssueSearchService issueSearchService = jiraCloudServiceFactory.createIssueSearchService();
+        JiraContentValidator contentValidator = new JiraContentValidator();
+        JiraTransitionCache transitionCache = new JiraTransitionCache(sessionConfig.getTransitionCacheTtl(),
+            sessionConfig.getTransitionCacheMaxSize());
+        JiraCloudTransitionHandler jiraTransitionHandler = new JiraCloudTransitionHandler(issueService, transitionCache, restRequestHandler);
+        JiraCloudIssuePropertyHandler jiraIssuePropertyHandler = new JiraCloudIssuePropertyHandler(issueSearchService, issuePropertyService,
+            restRequestHandler, sessionConfig.isLegacySearchFallback(), sessionConfig.getIssueKeyIndex().orElse(null));
+        this.jiraIssueHandler = new JiraCloudIssueHandler(issueService, jiraProperties, gson, jiraTransitionHandler, jiraIssuePropertyHandler,
+            contentValidator, sessionConfig, userSearchService, restRequestHandler, getRequestExecutor(), getRefreshExecutor());
+    }
+
+    public static JiraSessionKey createSessionKey(JiraCloudProperties jiraProperties) {
+        return new JiraSessionKey(jiraProperties.getUrl(), jiraProperties.getUsername(), jiraProperties.getAccessToken());
+    }
+
+    @Override
+    protected void checkAppInstalled() throws IntegrationException {
+        logger.debug("Verifying the required application is installed on the Jira Cloud server...");
+        try {
+            boolean missingApp = !jiraAppService.isAppInstalled(jiraProperties.getUsername(), jiraProperties.getAccessToken(), JiraConstants.JIRA_APP_KEY);
+            if (missingApp) {
+                throw new IssueTrackerException("Please configure the Jira Cloud plugin for your server instance via the global Jira Cloud channel settings.");
+            }
+        } catch (IntegrationException ex) {
+            throw new IssueTrackerException("Please configure the Jira Cloud plugin for your server instance via the global Jira Cloud channel settings.", ex);
+        }
+    }
+
+    @Override
+    public JiraCloudIssueConfigValidator getIssueConfigValidator() {
+        return jiraIssueConfigValidator;
+    }
+
+    @Override
+    public JiraCloudIssueHandler getIssueHandler() {
+        return jiraIssueHandler;
+    }
+
+    @Override
+    protected void releaseHttpClient() {
+        closeHttpClient(jiraCloudServiceFactory.getHttpClient());
+    }
+
+    @Override
+    public JiraIssueMetadataCache getIssueMetadataCache() {
+        return issueMetadataCache;
+    }
+
+    @Override
+    public Optional<JiraRestRequestHandler> getRestRequestHandler() {
+        return Optional.ofNullable(restRequestHandler);
+    }
+
+    public JiraCloudProperties getJiraProperties() {
+        return jiraProperties;
+    }
+
+    public JiraCloudServiceFactory getJiraCloudServiceFactory() {
+        return jiraCloudServiceFactory;
+    }
+
+}
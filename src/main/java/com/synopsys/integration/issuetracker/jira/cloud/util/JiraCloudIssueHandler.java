@@ -24,33 +24,68 @@ package com.synopsys.integration.issuetracker.jira.cloud.util;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.apache.commons.lang3.StringUtils;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonObject;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.issuetracker.common.message.IssueTrackerRequest;
 import com.synopsys.integration.issuetracker.jira.cloud.JiraCloudProperties;
+import com.synopsys.integration.issuetracker.jira.common.JiraConstants;
 import com.synopsys.integration.issuetracker.jira.common.JiraIssueSearchProperties;
+import com.synopsys.integration.issuetracker.jira.common.JiraSessionConfig;
 import com.synopsys.integration.issuetracker.jira.common.util.JiraContentValidator;
 import com.synopsys.integration.issuetracker.jira.common.util.JiraIssueHandler;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraRestRequestHandler;
 import com.synopsys.integration.issuetracker.jira.server.JiraServerProperties;
 import com.synopsys.integration.jira.common.cloud.model.IssueCreationRequestModel;
 import com.synopsys.integration.jira.common.cloud.model.IssueSearchResponseModel;
 import com.synopsys.integration.jira.common.cloud.service.IssueService;
+import com.synopsys.integration.jira.common.cloud.service.UserSearchService;
+import com.synopsys.integration.jira.common.model.EntityProperty;
 import com.synopsys.integration.jira.common.model.request.IssueCommentRequestModel;
 import com.synopsys.integration.jira.common.model.request.builder.IssueRequestModelFieldsMapBuilder;
 import com.synopsys.integration.jira.common.model.response.IssueResponseModel;
+import com.synopsys.integration.jira.common.model.response.UserDetailsResponseModel;
 
 public class JiraCloudIssueHandler extends JiraIssueHandler {
     private final IssueService issueService;
     private final JiraCloudProperties jiraProperties;
     private final JiraCloudIssuePropertyHandler jiraIssuePropertyHandler;
+    private final UserSearchService userSearchService;
+    // Jira Cloud identifies the reporter by account id, which is looked up from the issue creator's email address once.
+    private final Map<String, String> reporterAccountIds = new ConcurrentHashMap<>();
 
     public JiraCloudIssueHandler(IssueService issueService, JiraCloudProperties jiraProperties, Gson gson, JiraCloudTransitionHandler jiraTransitionHandler,
         JiraCloudIssuePropertyHandler jiraIssuePropertyHandler, JiraContentValidator jiraContentValidator) {
-        super(gson, jiraTransitionHandler, jiraIssuePropertyHandler, jiraContentValidator);
+        this(issueService, jiraProperties, gson, jiraTransitionHandler, jiraIssuePropertyHandler, jiraContentValidator, JiraSessionConfig.defaultConfig());
+    }
+
+    public JiraCloudIssueHandler(IssueService issueService, JiraCloudProperties jiraProperties, Gson gson, JiraCloudTransitionHandler jiraTransitionHandler,
+        JiraCloudIssuePropertyHandler jiraIssuePropertyHandler, JiraContentValidator jiraContentValidator, JiraSessionConfig sessionConfig) {
+        this(issueService, jiraProperties, gson, jiraTransitionHandler, jiraIssuePropertyHandler, jiraContentValidator, sessionConfig, null, null, null);
+    }
+
+    public JiraCloudIssueHandler(IssueService issueService, JiraCloudProperties jiraProperties, Gson gson, JiraCloudTransitionHandler jiraTransitionHandler,
+        JiraCloudIssuePropertyHandler jiraIssuePropertyHandler, JiraContentValidator jiraContentValidator, JiraSessionConfig sessionConfig, UserSearchService userSearchService,
+        JiraRestRequestHandler restRequestHandler, Executor requestExecutor) {
+        this(issueService, jiraProperties, gson, jiraTransitionHandler, jiraIssuePropertyHandler, jiraContentValidator, sessionConfig, userSearchService, restRequestHandler,
+            requestExecutor, null);
+    }
+
+    public JiraCloudIssueHandler(IssueService issueService, JiraCloudProperties jiraProperties, Gson gson, JiraCloudTransitionHandler jiraTransitionHandler,
+        JiraCloudIssuePropertyHandler jiraIssuePropertyHandler, JiraContentValidator jiraContentValidator, JiraSessionConfig sessionConfig, UserSearchService userSearchService,
+        JiraRestRequestHandler restRequestHandler, Executor requestExecutor, Executor refreshExecutor) {
+        super(gson, jiraTransitionHandler, jiraIssuePropertyHandler, jiraContentValidator, sessionConfig, restRequestHandler, requestExecutor, refreshExecutor);
         this.issueService = issueService;
         this.jiraProperties = jiraProperties;
         this.jiraIssuePropertyHandler = jiraIssuePropertyHandler;
+        this.userSearchService = userSearchService;
     }
 
     @Override
@@ -58,14 +93,48 @@ public class JiraCloudIssueHandler extends JiraIssueHandler {
         return issueService.createIssue(new IssueCreationRequestModel(issueCreator, issueType, projectName, fieldsBuilder, Collections.emptyList()));
     }
 
+    @Override
+    protected IssueResponseModel createIssue(String issueCreator, String issueType, String projectName, IssueRequestModelFieldsMapBuilder fieldsBuilder, JiraIssueSearchProperties issueProperties)
+        throws IntegrationException {
+        EntityProperty searchProperty = new EntityProperty(JiraConstants.JIRA_ISSUE_PROPERTY_KEY, createIssuePropertyValue(issueProperties));
+        return issueService.createIssue(new IssueCreationRequestModel(issueCreator, issueType, projectName, fieldsBuilder, Collections.singletonList(searchProperty)));
+    }
+
+    @Override
+    protected Optional<JsonObject> createReporterReference(String issueCreator) throws IntegrationException {
+        if (null == userSearchService) {
+            return Optional.empty();
+        }
+        String accountId = reporterAccountIds.get(issueCreator);
+        if (null == accountId) {
+            accountId = userSearchService.findUser(issueCreator).stream()
+                            .filter(user -> issueCreator.equals(user.getEmailAddress()))
+                            .map(UserDetailsResponseModel::getAccountId)
+                            .filter(StringUtils::isNotBlank)
+                            .findFirst()
+                            .orElse(null);
+            if (null == accountId) {
+                return Optional.empty();
+            }
+            reporterAccountIds.put(issueCreator, accountId);
+        }
+        JsonObject reporter = new JsonObject();
+        reporter.addProperty("accountId", accountId);
+        return Optional.of(reporter);
+    }
+
     @Override
     public String getIssueCreatorFieldKey() {
         return JiraServerProperties.KEY_ISSUE_CREATOR;
     }
 
     @Override
-    protected List<IssueResponseModel> retrieveExistingIssues(String projectSearchIdentifier, IssueTrackerRequest request) throws IntegrationException {
+    protected List<IssueResponseModel> searchExistingIssues(String projectSearchIdentifier, IssueTrackerRequest request) throws IntegrationException {
         JiraIssueSearchProperties issueProperties = request.getIssueSearchProperties();
+        Optional<List<IssueResponseModel>> issueModels = jiraIssuePropertyHandler.findIssueModels(projectSearchIdentifier, issueProperties);
+        if (issueModels.isPresent()) {
+            return issueModels.get();
+        }
         return jiraIssuePropertyHandler
                    .findIssues(projectSearchIdentifier, issueProperties)
                    .map(IssueSearchResponseModel::getIssues)
@@ -73,7 +142,7 @@ public class JiraCloudIssueHandler extends JiraIssueHandler {
     }
 
     @Override
-    protected void addComment(String issueKey, String comment) throws IntegrationException {
+    protected void postComment(String issueKey, String comment) throws IntegrationException {
         IssueCommentRequestModel issueCommentRequestModel = new IssueCommentRequestModel(issueKey, comment);
         issueService.addComment(issueCommentRequestModel);
     }
@@ -25,7 +25,9 @@ package com.synopsys.integration.issuetracker.jira.cloud.util;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.issuetracker.jira.common.JiraConstants;
 import com.synopsys.integration.issuetracker.jira.common.JiraIssueSearchProperties;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueKeyIndex;
 import com.synopsys.integration.issuetracker.jira.common.util.JiraIssuePropertyHandler;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraRestRequestHandler;
 import com.synopsys.integration.jira.common.cloud.model.IssueSearchResponseModel;
 import com.synopsys.integration.jira.common.cloud.service.IssueSearchService;
 import com.synopsys.integration.jira.common.rest.service.IssuePropertyService;
@@ -39,14 +41,30 @@ public class JiraCloudIssuePropertyHandler extends JiraIssuePropertyHandler<Issu
         this.issuePropertyService = issuePropertyService;
     }
 
+    public JiraCloudIssuePropertyHandler(IssueSearchService issueSearchService, IssuePropertyService issuePropertyService, JiraRestRequestHandler restRequestHandler, boolean legacySearchFallback) {
+        this(issueSearchService, issuePropertyService, restRequestHandler, legacySearchFallback, null);
+    }
+
+    public JiraCloudIssuePropertyHandler(IssueSearchService issueSearchService, IssuePropertyService issuePropertyService, JiraRestRequestHandler restRequestHandler, boolean legacySearchFallback,
+        JiraIssueKeyIndex issueKeyIndex) {
+        super(restRequestHandler, legacySearchFallback, issueKeyIndex);
+        this.issueSearchService = issueSearchService;
+        this.issuePropertyService = issuePropertyService;
+    }
+
     @Override
     public IssueSearchResponseModel queryForIssues(String query) throws IntegrationException {
         return issueSearchService.queryForIssues(query);
     }
 
+    @Override
+    protected boolean containsIssues(IssueSearchResponseModel searchResponse) {
+        return null != searchResponse && null != searchResponse.getIssues() && !searchResponse.getIssues().isEmpty();
+    }
+
     @Override
     public void addPropertiesToIssue(String issueKey, JiraIssueSearchProperties properties) throws IntegrationException {
-        issuePropertyService.setProperty(issueKey, JiraConstants.JIRA_ISSUE_PROPERTY_KEY, properties);
+        issuePropertyService.setProperty(issueKey, JiraConstants.JIRA_ISSUE_PROPERTY_KEY, properties.withFingerprint());
     }
 
 }
@@ -30,6 +30,8 @@ public final class JiraConstants {
     public static final String JIRA_ISSUE_PROPERTY_KEY = "com-synopsys-integration-alert";
 
     public static final String JIRA_SEARCH_KEY_JIRA_PROJECT = "project";
+    public static final String JIRA_SEARCH_KEY_ISSUE_KEY = "key";
+    public static final String JIRA_SEARCH_KEY_UPDATED = "updated";
 
     // These Strings must always match the Strings found in the atlassian-connect.json file under modules.jiraEntityProperties.keyConfigurations.propertyKey["com-synopsys-integration-alert"].extractions.objectName.
     public static final String JIRA_ISSUE_PROPERTY_OBJECT_KEY_PROVIDER = "provider";
@@ -44,6 +46,8 @@ public final class JiraConstants {
     public static final String JIRA_ISSUE_PROPERTY_OBJECT_KEY_SUB_COMPONENT_NAME = "subComponentName";
     public static final String JIRA_ISSUE_PROPERTY_OBJECT_KEY_SUB_COMPONENT_VALUE = "subComponentValue";
     public static final String JIRA_ISSUE_PROPERTY_OBJECT_KEY_ADDITIONAL_KEY = "additionalKey";
+    // The app descriptor must also declare this extraction, otherwise searches on the fingerprint find nothing and fall back to the full property search.
+    public static final String JIRA_ISSUE_PROPERTY_OBJECT_KEY_FINGERPRINT = "fingerprint";
 
     public static final String JIRA_ISSUE_VALIDATION_ERROR_MESSAGE = "There are issues with the configuration.";
 
@@ -26,6 +26,10 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -33,20 +37,24 @@ import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.issuetracker.common.config.IssueConfig;
 import com.synopsys.integration.issuetracker.common.config.IssueTrackerContext;
 import com.synopsys.integration.issuetracker.common.exception.IssueTrackerFieldException;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueMetadataCache;
 import com.synopsys.integration.jira.common.model.components.ProjectComponent;
-import com.synopsys.integration.jira.common.model.response.IssueTypeResponseModel;
 import com.synopsys.integration.jira.common.rest.service.IssueMetaDataService;
 import com.synopsys.integration.jira.common.rest.service.IssueTypeService;
 
 public abstract class JiraIssueConfigValidator {
     private static final String CONNECTION_ERROR_FORMAT_STRING = "There was a problem getting the %s from Jira. Please ensure the server is configured correctly.";
 
-    private final IssueTypeService issueTypeService;
-    private final IssueMetaDataService issueMetaDataService;
+    private final JiraIssueMetadataCache issueMetadataCache;
+    private final Executor validationExecutor;
 
     public JiraIssueConfigValidator(IssueTypeService issueTypeService, IssueMetaDataService issueMetaDataService) {
-        this.issueTypeService = issueTypeService;
-        this.issueMetaDataService = issueMetaDataService;
+        this(new JiraIssueMetadataCache(issueTypeService, issueMetaDataService), Runnable::run);
+    }
+
+    public JiraIssueConfigValidator(JiraIssueMetadataCache issueMetadataCache, Executor validationExecutor) {
+        this.issueMetadataCache = issueMetadataCache;
+        this.validationExecutor = validationExecutor;
     }
 
     public abstract String getProjectFieldKey();
@@ -66,29 +74,47 @@ public abstract class JiraIssueConfigValidator {
     public abstract boolean isUserValid(String issueCreator) throws IntegrationException;
 
     public IssueConfig createValidIssueConfig(IssueTrackerContext context) throws IssueTrackerFieldException {
-        Map<String, String> fieldErrors = new HashMap<>();
+        Map<String, String> fieldErrors = new ConcurrentHashMap<>();
         IssueConfig issueConfig = context.getIssueConfig();
         IssueConfig newConfig = new IssueConfig();
         newConfig.setCommentOnIssues(issueConfig.getCommentOnIssues());
         newConfig.setOpenTransition(issueConfig.getOpenTransition().orElse(null));
         newConfig.setResolveTransition(issueConfig.getResolveTransition().orElse(null));
-        ProjectComponent projectComponent = validateProject(issueConfig, fieldErrors);
+
+        // The project, user and issue type lookups hit independent endpoints, so they are allowed to run at the same time.
+        CompletableFuture<ProjectComponent> projectFuture = CompletableFuture.supplyAsync(() -> validateProject(issueConfig, fieldErrors), validationExecutor);
+        CompletableFuture<String> issueCreatorFuture = CompletableFuture.supplyAsync(() -> validateIssueCreator(issueConfig, fieldErrors), validationExecutor);
+        CompletableFuture<String> issueTypeFuture = CompletableFuture.supplyAsync(() -> validateIssueType(issueConfig, fieldErrors), validationExecutor);
+
+        ProjectComponent projectComponent = joinValidation(projectFuture);
         if (projectComponent != null) {
             newConfig.setProjectId(projectComponent.getId());
             newConfig.setProjectKey(projectComponent.getKey());
             newConfig.setProjectName(projectComponent.getName());
         }
 
-        newConfig.setIssueCreator(validateIssueCreator(issueConfig, fieldErrors));
-        newConfig.setIssueType(validateIssueType(issueConfig, fieldErrors));
+        newConfig.setIssueCreator(joinValidation(issueCreatorFuture));
+        newConfig.setIssueType(joinValidation(issueTypeFuture));
 
         if (!fieldErrors.isEmpty()) {
-            throw new IssueTrackerFieldException(JiraConstants.JIRA_ISSUE_VALIDATION_ERROR_MESSAGE, fieldErrors);
+            throw new IssueTrackerFieldException(JiraConstants.JIRA_ISSUE_VALIDATION_ERROR_MESSAGE, new HashMap<>(fieldErrors));
         }
 
         return newConfig;
     }
 
+    private <T> T joinValidation(CompletableFuture<T> validationFuture) {
+        try {
+            return validationFuture.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
     private ProjectComponent validateProject(IssueConfig config, Map<String, String> fieldErrors) {
         String jiraProjectName = config.getProjectName();
         if (StringUtils.isNotBlank(jiraProjectName)) {
@@ -131,14 +157,11 @@ public abstract class JiraIssueConfigValidator {
         String issueTypeFieldKey = getIssueTypeFieldKey();
         String issueType = config.getIssueType();
         try {
-            boolean isValidIssueType = issueTypeService.getAllIssueTypes()
-                                           .stream()
-                                           .map(IssueTypeResponseModel::getName)
-                                           .anyMatch(issueType::equals);
+            boolean isValidIssueType = issueMetadataCache.doesIssueTypeExist(issueType);
             if (isValidIssueType) {
                 String projectName = config.getProjectName();
                 if (StringUtils.isNotBlank(projectName)) {
-                    boolean isValidForProject = issueMetaDataService.doesProjectContainIssueType(projectName, issueType);
+                    boolean isValidForProject = issueMetadataCache.doesProjectContainIssueType(projectName, issueType);
                     if (isValidForProject) {
                         return issueType;
                     } else {
@@ -154,6 +177,10 @@ public abstract class JiraIssueConfigValidator {
         return null;
     }
 
+    public JiraIssueMetadataCache getIssueMetadataCache() {
+        return issueMetadataCache;
+    }
+
     private void requireField(Map<String, String> fieldErrors, String key) {
         fieldErrors.put(key, "This field is required");
     }
@@ -23,12 +23,19 @@
 package com.synopsys.integration.issuetracker.jira.common;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.commons.lang3.StringUtils;
 
 import com.synopsys.integration.issuetracker.common.message.IssueSearchProperties;
 import com.synopsys.integration.util.Stringable;
 
 public class JiraIssueSearchProperties extends Stringable implements Serializable, IssueSearchProperties {
     private static final long serialVersionUID = -7384976347665315153L;
+    private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+    private static final char FINGERPRINT_SEPARATOR = '\u001F';
     private String provider;
     private String providerUrl;
     private String topicName;
@@ -41,6 +48,8 @@ public class JiraIssueSearchProperties extends Stringable implements Serializabl
     private String subComponentName;
     private String subComponentValue;
     private String additionalKey;
+    // Stored with the issue property so that an issue can be found with a single property predicate.
+    private String fingerprint;
 
     public JiraIssueSearchProperties() {
         // For serialization
@@ -72,6 +81,7 @@ public class JiraIssueSearchProperties extends Stringable implements Serializabl
         this.subComponentName = subComponentName;
         this.subComponentValue = subComponentValue;
         this.additionalKey = additionalKey;
+        this.fingerprint = createFingerprint();
     }
 
     public String getProvider() {
@@ -122,4 +132,61 @@ public class JiraIssueSearchProperties extends Stringable implements Serializabl
         return additionalKey;
     }
 
+    // Copies properties deserialized without a fingerprint, so the stored issue property always has one.
+    public JiraIssueSearchProperties withFingerprint() {
+        if (null != fingerprint) {
+            return this;
+        }
+        return new JiraIssueSearchProperties(provider, providerUrl, topicName, topicValue, subTopicName, subTopicValue, category, componentName, componentValue, subComponentName,
+            subComponentValue, additionalKey);
+    }
+
+    // Properties read from issues created before the fingerprint existed do not have one, so it is computed without changing them.
+    public String getFingerprint() {
+        return null != fingerprint ? fingerprint : createFingerprint();
+    }
+
+    public boolean isFingerprintStored() {
+        return null != fingerprint;
+    }
+
+    // The values are normalized the same way the search JQL treats them: blank values are ignored and the sub-topic and sub-component values only count when they are named.
+    private String createFingerprint() {
+        boolean hasSubTopic = null != subTopicName;
+        boolean hasSubComponent = null != subComponentName;
+        String[] normalizedValues = {
+            provider,
+            providerUrl,
+            topicName,
+            topicValue,
+            hasSubTopic ? subTopicName : null,
+            hasSubTopic ? subTopicValue : null,
+            category,
+            componentName,
+            componentValue,
+            hasSubComponent ? subComponentName : null,
+            hasSubComponent ? subComponentValue : null,
+            additionalKey
+        };
+        StringBuilder fingerprintSource = new StringBuilder();
+        for (String value : normalizedValues) {
+            fingerprintSource.append(StringUtils.isBlank(value) ? StringUtils.EMPTY : value);
+            fingerprintSource.append(FINGERPRINT_SEPARATOR);
+        }
+
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+            byte[] digest = messageDigest.digest(fingerprintSource.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hexBuilder = new StringBuilder(digest.length * 2);
+            for (byte digestByte : digest) {
+                hexBuilder.append(Character.forDigit((digestByte >> 4) & 0xF, 16));
+                hexBuilder.append(Character.forDigit(digestByte & 0xF, 16));
+            }
+            return hexBuilder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
 }
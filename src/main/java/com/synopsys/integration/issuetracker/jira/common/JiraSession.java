@@ -0,0 +1,252 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common;
+
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.issuetracker.common.config.IssueConfig;
+import com.synopsys.integration.issuetracker.common.config.IssueTrackerContext;
+import com.synopsys.integration.issuetracker.common.exception.IssueTrackerException;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueConfigCache;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueMetadataCache;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraDaemonThreadFactory;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraIssueHandler;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraLazyExecutor;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraRestRequestHandler;
+import com.synopsys.integration.jira.common.rest.JiraHttpClient;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+
+/**
+ * Holds everything needed to talk to a single Jira instance: one service factory, one HTTP client and the handlers built on top of them.
+ * A session is thread-safe and is meant to be reused across calls to sendRequests until it is closed.
+ * The thread pools it owns are only started when they are first needed.
+ */
+public abstract class JiraSession implements Closeable {
+    private static final int HTTP_STATUS_BAD_REQUEST = 400;
+    private static final int HTTP_STATUS_UNAUTHORIZED = 401;
+    private static final int HTTP_STATUS_FORBIDDEN = 403;
+    // One thread for each of the project, user and issue type lookups.
+    private static final int VALIDATION_THREAD_COUNT = 3;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final JiraSessionKey sessionKey;
+    private final JiraSessionConfig sessionConfig;
+    private final JiraIssueConfigCache issueConfigCache;
+    private final JiraLazyExecutor ownedValidationExecutor;
+    private final Executor validationExecutor;
+    private final JiraLazyExecutor ownedWorkerExecutor;
+    private final Executor workerExecutor;
+    private final JiraLazyExecutor ownedRequestExecutor;
+    private final Executor requestExecutor;
+    private final JiraLazyExecutor refreshExecutor;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private volatile long appInstallationVerifiedUntil = 0L;
+    private volatile long lastUsed = System.currentTimeMillis();
+
+    protected JiraSession(JiraSessionKey sessionKey, JiraSessionConfig sessionConfig) {
+        this.sessionKey = sessionKey;
+        this.sessionConfig = sessionConfig;
+        this.issueConfigCache = new JiraIssueConfigCache(sessionKey.getUrl(), sessionConfig.getIssueConfigCacheTtl(),
+            sessionConfig.getIssueConfigCacheMaxSize());
+        if (sessionConfig.getValidationExecutor().isPresent()) {
+            this.ownedValidationExecutor = null;
+            this.validationExecutor = sessionConfig.getValidationExecutor().get();
+        } else {
+            this.ownedValidationExecutor = new JiraLazyExecutor(
+                () -> Executors.newFixedThreadPool(VALIDATION_THREAD_COUNT, new JiraDaemonThreadFactory("jira-validation")));
+            this.validationExecutor = ownedValidationExecutor;
+        }
+        if (sessionConfig.getWorkerExecutor().isPresent()) {
+            this.ownedWorkerExecutor = null;
+            this.workerExecutor = sessionConfig.getWorkerExecutor().get();
+        } else {
+            this.ownedWorkerExecutor = new JiraLazyExecutor(
+                () -> Executors.newFixedThreadPool(sessionConfig.getWorkerThreadCount(), new JiraDaemonThreadFactory("jira-worker")));
+            this.workerExecutor = ownedWorkerExecutor;
+        }
+        if (sessionConfig.getRequestExecutor().isPresent()) {
+            this.ownedRequestExecutor = null;
+            this.requestExecutor = sessionConfig.getRequestExecutor().get();
+        } else if (sessionConfig.getRequestConcurrency() > 1) {
+            this.ownedRequestExecutor = new JiraLazyExecutor(() -> createRequestExecutor(sessionConfig.getRequestConcurrency()));
+            this.requestExecutor = ownedRequestExecutor;
+        } else {
+            this.ownedRequestExecutor = null;
+            this.requestExecutor = null;
+        }
+        // A single thread is enough, since a project is only ever refreshed once at a time and the refreshes do not hold up any request.
+        this.refreshExecutor = new JiraLazyExecutor(() -> Executors.newSingleThreadExecutor(new JiraDaemonThreadFactory("jira-fingerprint-refresh")));
+    }
+
+    protected abstract void checkAppInstalled() throws IntegrationException;
+
+    protected abstract void releaseHttpClient();
+
+    public abstract JiraIssueConfigValidator getIssueConfigValidator();
+
+    public abstract JiraIssueHandler getIssueHandler();
+
+    public abstract JiraIssueMetadataCache getIssueMetadataCache();
+
+    public abstract Optional<JiraRestRequestHandler> getRestRequestHandler();
+
+    public void verifyAppInstalled() throws IntegrationException {
+        ensureOpen();
+        if (System.currentTimeMillis() < appInstallationVerifiedUntil) {
+            return;
+        }
+        checkAppInstalled();
+        appInstallationVerifiedUntil = System.currentTimeMillis() + sessionConfig.getAppInstallationCheckTtl().toMillis();
+    }
+
+    public void invalidateAppInstallation() {
+        appInstallationVerifiedUntil = 0L;
+    }
+
+    public IssueConfig validateIssueConfig(IssueTrackerContext context) throws IssueTrackerException {
+        return validateIssueConfig(context, false);
+    }
+
+    public IssueConfig validateIssueConfig(IssueTrackerContext context, boolean forceRevalidation) throws IssueTrackerException {
+        ensureOpen();
+        return issueConfigCache.getOrValidate(context, getIssueConfigValidator(), forceRevalidation);
+    }
+
+    public void invalidateIssueConfigs() {
+        issueConfigCache.invalidateAll();
+        getIssueMetadataCache().invalidateAll();
+    }
+
+    public void handleRequestFailure(IntegrationRestException restException) {
+        int statusCode = restException.getHttpStatusCode();
+        // A removed or disabled app shows up as a rejected property search or a permission error.
+        if (HTTP_STATUS_BAD_REQUEST == statusCode || HTTP_STATUS_UNAUTHORIZED == statusCode || HTTP_STATUS_FORBIDDEN == statusCode) {
+            logger.debug("Jira responded with status {}. The app installation will be verified again on the next batch.", statusCode);
+            invalidateAppInstallation();
+        }
+    }
+
+    public JiraSessionKey getSessionKey() {
+        return sessionKey;
+    }
+
+    public JiraSessionConfig getSessionConfig() {
+        return sessionConfig;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    public void markUsed() {
+        lastUsed = System.currentTimeMillis();
+    }
+
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    public void ensureOpen() throws IssueTrackerException {
+        if (isClosed()) {
+            throw new IssueTrackerException(String.format("The Jira session for %s has been closed.", sessionKey));
+        }
+    }
+
+    // Without an HTTP client the handlers fall back to the requests offered by the Jira service classes.
+    protected static JiraRestRequestHandler createRestRequestHandler(JiraHttpClient jiraHttpClient, String url, Gson gson) {
+        if (null == jiraHttpClient || null == url) {
+            return null;
+        }
+        return new JiraRestRequestHandler(jiraHttpClient, url, gson);
+    }
+
+    // Looked up reflectively, since virtual threads only exist from Java 21 on.
+    private static ExecutorService createRequestExecutor(int requestConcurrency) {
+        try {
+            Method virtualThreadExecutorFactory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtualThreadExecutorFactory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(requestConcurrency, new JiraDaemonThreadFactory("jira-request"));
+        }
+    }
+
+    protected Executor getValidationExecutor() {
+        return validationExecutor;
+    }
+
+    protected Executor getWorkerExecutor() {
+        return workerExecutor;
+    }
+
+    // Null when the requests of a batch are processed one after the other.
+    protected Executor getRequestExecutor() {
+        return requestExecutor;
+    }
+
+    protected Executor getRefreshExecutor() {
+        return refreshExecutor;
+    }
+
+    // Releases the connections of the HTTP client, when the client holds any.
+    protected void closeHttpClient(JiraHttpClient jiraHttpClient) {
+        if (jiraHttpClient instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) jiraHttpClient).close();
+            } catch (Exception e) {
+                logger.debug("The Jira HTTP client could not be closed.", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed.getAndSet(true)) {
+            return;
+        }
+        invalidateIssueConfigs();
+        releaseHttpClient();
+        if (null != ownedValidationExecutor) {
+            ownedValidationExecutor.shutdown();
+        }
+        if (null != ownedWorkerExecutor) {
+            ownedWorkerExecutor.shutdown();
+        }
+        if (null != ownedRequestExecutor) {
+            ownedRequestExecutor.shutdown();
+        }
+        refreshExecutor.shutdown();
+    }
+
+}
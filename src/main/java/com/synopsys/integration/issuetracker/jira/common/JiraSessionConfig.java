@@ -0,0 +1,236 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraCreatedIssueCache;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueKeyIndex;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueMetadataCache;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraTransitionCache;
+
+public class JiraSessionConfig {
+    public static final Duration DEFAULT_SESSION_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    public static final Duration DEFAULT_APP_INSTALLATION_CHECK_TTL = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_ISSUE_CONFIG_CACHE_TTL = Duration.ofMinutes(10);
+    public static final int DEFAULT_ISSUE_CONFIG_CACHE_MAX_SIZE = 100;
+    public static final Duration DEFAULT_METADATA_CACHE_TTL = JiraIssueMetadataCache.DEFAULT_TIME_TO_LIVE;
+    public static final int DEFAULT_METADATA_CACHE_MAX_SIZE = JiraIssueMetadataCache.DEFAULT_MAXIMUM_SIZE;
+    public static final int DEFAULT_SEARCH_BATCH_SIZE = 50;
+    public static final int DEFAULT_MAX_JQL_LENGTH = 8000;
+    public static final Duration DEFAULT_FINGERPRINT_FILTER_REFRESH_INTERVAL = Duration.ZERO;
+    public static final Duration DEFAULT_ISSUE_SNAPSHOT_FULL_SYNC_INTERVAL = Duration.ZERO;
+    public static final int DEFAULT_BULK_CREATE_BATCH_SIZE = 0;
+    // Jira accepts up to 50 issues per bulk create request.
+    public static final int MAX_BULK_CREATE_BATCH_SIZE = 50;
+    public static final Duration DEFAULT_CREATED_ISSUE_CACHE_TTL = JiraCreatedIssueCache.DEFAULT_TIME_TO_LIVE;
+    public static final int DEFAULT_CREATED_ISSUE_CACHE_MAX_SIZE = JiraCreatedIssueCache.DEFAULT_MAXIMUM_SIZE;
+    public static final Duration DEFAULT_TRANSITION_CACHE_TTL = JiraTransitionCache.DEFAULT_TIME_TO_LIVE;
+    public static final int DEFAULT_TRANSITION_CACHE_MAX_SIZE = JiraTransitionCache.DEFAULT_MAXIMUM_SIZE;
+    public static final int DEFAULT_WORKER_THREAD_COUNT = 8;
+    public static final int DEFAULT_REQUEST_CONCURRENCY = 1;
+    public static final Duration DEFAULT_COALESCING_WINDOW = Duration.ZERO;
+    public static final int DEFAULT_COALESCING_MAX_BATCH_SIZE = 500;
+
+    // Sessions
+    private final Duration sessionIdleTimeout;
+    private final Duration appInstallationCheckTtl;
+
+    // Validation of the issue config
+    private final Duration issueConfigCacheTtl;
+    private final int issueConfigCacheMaxSize;
+    private final Executor validationExecutor;
+    private final Duration metadataCacheTtl;
+    private final int metadataCacheMaxSize;
+
+    // Searching for existing issues
+    private final int searchBatchSize;
+    private final int maxJqlLength;
+    private final boolean legacySearchFallback;
+    private final JiraIssueKeyIndex issueKeyIndex;
+    private final Duration fingerprintFilterRefreshInterval;
+    private final Duration issueSnapshotFullSyncInterval;
+
+    // Creating issues
+    private final int bulkCreateBatchSize;
+    private final Duration createdIssueCacheTtl;
+    private final int createdIssueCacheMaxSize;
+
+    // Transitions
+    private final Duration transitionCacheTtl;
+    private final int transitionCacheMaxSize;
+
+    // Processing the requests of a batch
+    private final Executor workerExecutor;
+    private final int workerThreadCount;
+    private final int requestConcurrency;
+    private final Executor requestExecutor;
+    private final boolean collapseRedundantOperations;
+    private final Duration coalescingWindow;
+    private final int coalescingMaxBatchSize;
+
+    public static JiraSessionConfigBuilder newBuilder() {
+        return new JiraSessionConfigBuilder();
+    }
+
+    public static JiraSessionConfig defaultConfig() {
+        return newBuilder().build();
+    }
+
+    JiraSessionConfig(JiraSessionConfigBuilder builder) {
+        this.sessionIdleTimeout = builder.sessionIdleTimeout;
+        this.appInstallationCheckTtl = builder.appInstallationCheckTtl;
+        this.issueConfigCacheTtl = builder.issueConfigCacheTtl;
+        this.issueConfigCacheMaxSize = builder.issueConfigCacheMaxSize;
+        this.validationExecutor = builder.validationExecutor;
+        this.metadataCacheTtl = builder.metadataCacheTtl;
+        this.metadataCacheMaxSize = builder.metadataCacheMaxSize;
+        this.searchBatchSize = builder.searchBatchSize;
+        this.maxJqlLength = builder.maxJqlLength;
+        this.legacySearchFallback = builder.legacySearchFallback;
+        this.issueKeyIndex = builder.issueKeyIndex;
+        this.fingerprintFilterRefreshInterval = builder.fingerprintFilterRefreshInterval;
+        this.issueSnapshotFullSyncInterval = builder.issueSnapshotFullSyncInterval;
+        this.bulkCreateBatchSize = builder.bulkCreateBatchSize;
+        this.createdIssueCacheTtl = builder.createdIssueCacheTtl;
+        this.createdIssueCacheMaxSize = builder.createdIssueCacheMaxSize;
+        this.transitionCacheTtl = builder.transitionCacheTtl;
+        this.transitionCacheMaxSize = builder.transitionCacheMaxSize;
+        this.workerExecutor = builder.workerExecutor;
+        this.workerThreadCount = builder.workerThreadCount;
+        this.requestConcurrency = builder.requestConcurrency;
+        this.requestExecutor = builder.requestExecutor;
+        this.collapseRedundantOperations = builder.collapseRedundantOperations;
+        this.coalescingWindow = builder.coalescingWindow;
+        this.coalescingMaxBatchSize = builder.coalescingMaxBatchSize;
+    }
+
+    // Sessions
+    public Duration getSessionIdleTimeout() {
+        return sessionIdleTimeout;
+    }
+
+    public Duration getAppInstallationCheckTtl() {
+        return appInstallationCheckTtl;
+    }
+
+    // Validation of the issue config
+    public Duration getIssueConfigCacheTtl() {
+        return issueConfigCacheTtl;
+    }
+
+    public int getIssueConfigCacheMaxSize() {
+        return issueConfigCacheMaxSize;
+    }
+
+    public Optional<Executor> getValidationExecutor() {
+        return Optional.ofNullable(validationExecutor);
+    }
+
+    public Duration getMetadataCacheTtl() {
+        return metadataCacheTtl;
+    }
+
+    public int getMetadataCacheMaxSize() {
+        return metadataCacheMaxSize;
+    }
+
+    // Searching for existing issues
+    public int getSearchBatchSize() {
+        return searchBatchSize;
+    }
+
+    public int getMaxJqlLength() {
+        return maxJqlLength;
+    }
+
+    public boolean isLegacySearchFallback() {
+        return legacySearchFallback;
+    }
+
+    public Optional<JiraIssueKeyIndex> getIssueKeyIndex() {
+        return Optional.ofNullable(issueKeyIndex);
+    }
+
+    public Duration getFingerprintFilterRefreshInterval() {
+        return fingerprintFilterRefreshInterval;
+    }
+
+    public Duration getIssueSnapshotFullSyncInterval() {
+        return issueSnapshotFullSyncInterval;
+    }
+
+    // Creating issues
+    public int getBulkCreateBatchSize() {
+        return bulkCreateBatchSize;
+    }
+
+    public Duration getCreatedIssueCacheTtl() {
+        return createdIssueCacheTtl;
+    }
+
+    public int getCreatedIssueCacheMaxSize() {
+        return createdIssueCacheMaxSize;
+    }
+
+    // Transitions
+    public Duration getTransitionCacheTtl() {
+        return transitionCacheTtl;
+    }
+
+    public int getTransitionCacheMaxSize() {
+        return transitionCacheMaxSize;
+    }
+
+    // Processing the requests of a batch
+    public Optional<Executor> getWorkerExecutor() {
+        return Optional.ofNullable(workerExecutor);
+    }
+
+    public int getWorkerThreadCount() {
+        return workerThreadCount;
+    }
+
+    public int getRequestConcurrency() {
+        return requestConcurrency;
+    }
+
+    public Optional<Executor> getRequestExecutor() {
+        return Optional.ofNullable(requestExecutor);
+    }
+
+    public boolean isCollapseRedundantOperations() {
+        return collapseRedundantOperations;
+    }
+
+    public Duration getCoalescingWindow() {
+        return coalescingWindow;
+    }
+
+    public int getCoalescingMaxBatchSize() {
+        return coalescingMaxBatchSize;
+    }
+
+}
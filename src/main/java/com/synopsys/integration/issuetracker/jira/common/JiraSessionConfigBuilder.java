@@ -0,0 +1,253 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueKeyIndex;
+
+public class JiraSessionConfigBuilder {
+    // Sessions
+    Duration sessionIdleTimeout = JiraSessionConfig.DEFAULT_SESSION_IDLE_TIMEOUT;
+    Duration appInstallationCheckTtl = JiraSessionConfig.DEFAULT_APP_INSTALLATION_CHECK_TTL;
+
+    // Validation of the issue config
+    Duration issueConfigCacheTtl = JiraSessionConfig.DEFAULT_ISSUE_CONFIG_CACHE_TTL;
+    int issueConfigCacheMaxSize = JiraSessionConfig.DEFAULT_ISSUE_CONFIG_CACHE_MAX_SIZE;
+    Executor validationExecutor;
+    Duration metadataCacheTtl = JiraSessionConfig.DEFAULT_METADATA_CACHE_TTL;
+    int metadataCacheMaxSize = JiraSessionConfig.DEFAULT_METADATA_CACHE_MAX_SIZE;
+
+    // Searching for existing issues
+    int searchBatchSize = JiraSessionConfig.DEFAULT_SEARCH_BATCH_SIZE;
+    int maxJqlLength = JiraSessionConfig.DEFAULT_MAX_JQL_LENGTH;
+    boolean legacySearchFallback = true;
+    JiraIssueKeyIndex issueKeyIndex;
+    Duration fingerprintFilterRefreshInterval = JiraSessionConfig.DEFAULT_FINGERPRINT_FILTER_REFRESH_INTERVAL;
+    Duration issueSnapshotFullSyncInterval = JiraSessionConfig.DEFAULT_ISSUE_SNAPSHOT_FULL_SYNC_INTERVAL;
+
+    // Creating issues
+    int bulkCreateBatchSize = JiraSessionConfig.DEFAULT_BULK_CREATE_BATCH_SIZE;
+    Duration createdIssueCacheTtl = JiraSessionConfig.DEFAULT_CREATED_ISSUE_CACHE_TTL;
+    int createdIssueCacheMaxSize = JiraSessionConfig.DEFAULT_CREATED_ISSUE_CACHE_MAX_SIZE;
+
+    // Transitions
+    Duration transitionCacheTtl = JiraSessionConfig.DEFAULT_TRANSITION_CACHE_TTL;
+    int transitionCacheMaxSize = JiraSessionConfig.DEFAULT_TRANSITION_CACHE_MAX_SIZE;
+
+    // Processing the requests of a batch
+    Executor workerExecutor;
+    int workerThreadCount = JiraSessionConfig.DEFAULT_WORKER_THREAD_COUNT;
+    int requestConcurrency = JiraSessionConfig.DEFAULT_REQUEST_CONCURRENCY;
+    Executor requestExecutor;
+    boolean collapseRedundantOperations;
+    Duration coalescingWindow = JiraSessionConfig.DEFAULT_COALESCING_WINDOW;
+    int coalescingMaxBatchSize = JiraSessionConfig.DEFAULT_COALESCING_MAX_BATCH_SIZE;
+
+    public JiraSessionConfig build() {
+        requireNonNegative(sessionIdleTimeout, "session idle timeout");
+        requireNonNegative(appInstallationCheckTtl, "app installation check TTL");
+
+        requireNonNegative(issueConfigCacheTtl, "issue config cache TTL");
+        requirePositive(issueConfigCacheMaxSize, "issue config cache max size");
+        requireNonNegative(metadataCacheTtl, "metadata cache TTL");
+        requirePositive(metadataCacheMaxSize, "metadata cache max size");
+
+        requirePositive(searchBatchSize, "search batch size");
+        requirePositive(maxJqlLength, "max JQL length");
+        requireNonNegative(fingerprintFilterRefreshInterval, "fingerprint filter refresh interval");
+        requireNonNegative(issueSnapshotFullSyncInterval, "issue snapshot full sync interval");
+
+        if (0 != bulkCreateBatchSize && (bulkCreateBatchSize < 2 || bulkCreateBatchSize > JiraSessionConfig.MAX_BULK_CREATE_BATCH_SIZE)) {
+            throw new IllegalArgumentException(String.format("The bulk create batch size must be zero or between 2 and %d.", JiraSessionConfig.MAX_BULK_CREATE_BATCH_SIZE));
+        }
+        requireNonNegative(createdIssueCacheTtl, "created issue cache TTL");
+        requirePositive(createdIssueCacheMaxSize, "created issue cache max size");
+
+        requireNonNegative(transitionCacheTtl, "transition cache TTL");
+        requirePositive(transitionCacheMaxSize, "transition cache max size");
+
+        requirePositive(workerThreadCount, "worker thread count");
+        requirePositive(requestConcurrency, "request concurrency");
+        requireNonNegative(coalescingWindow, "coalescing window");
+        requirePositive(coalescingMaxBatchSize, "coalescing max batch size");
+        return new JiraSessionConfig(this);
+    }
+
+    // Zero keeps idle sessions open until the service is closed.
+    public JiraSessionConfigBuilder setSessionIdleTimeout(Duration sessionIdleTimeout) {
+        this.sessionIdleTimeout = sessionIdleTimeout;
+        return this;
+    }
+
+    // Zero checks for the app before every batch.
+    public JiraSessionConfigBuilder setAppInstallationCheckTtl(Duration appInstallationCheckTtl) {
+        this.appInstallationCheckTtl = appInstallationCheckTtl;
+        return this;
+    }
+
+    // Zero validates the issue config before every batch.
+    public JiraSessionConfigBuilder setIssueConfigCacheTtl(Duration issueConfigCacheTtl) {
+        this.issueConfigCacheTtl = issueConfigCacheTtl;
+        return this;
+    }
+
+    public JiraSessionConfigBuilder setIssueConfigCacheMaxSize(int issueConfigCacheMaxSize) {
+        this.issueConfigCacheMaxSize = issueConfigCacheMaxSize;
+        return this;
+    }
+
+    // Defaults to a small pool of daemon threads per session.
+    public JiraSessionConfigBuilder setValidationExecutor(Executor validationExecutor) {
+        this.validationExecutor = validationExecutor;
+        return this;
+    }
+
+    // Zero fetches the issue types on every validation.
+    public JiraSessionConfigBuilder setMetadataCacheTtl(Duration metadataCacheTtl) {
+        this.metadataCacheTtl = metadataCacheTtl;
+        return this;
+    }
+
+    public JiraSessionConfigBuilder setMetadataCacheMaxSize(int metadataCacheMaxSize) {
+        this.metadataCacheMaxSize = metadataCacheMaxSize;
+        return this;
+    }
+
+    // The number of requests looked up with one combined search.
+    public JiraSessionConfigBuilder setSearchBatchSize(int searchBatchSize) {
+        this.searchBatchSize = searchBatchSize;
+        return this;
+    }
+
+    public JiraSessionConfigBuilder setMaxJqlLength(int maxJqlLength) {
+        this.maxJqlLength = maxJqlLength;
+        return this;
+    }
+
+    // Finds issues stored without a fingerprint. Turn off once every managed issue has one.
+    public JiraSessionConfigBuilder setLegacySearchFallback(boolean legacySearchFallback) {
+        this.legacySearchFallback = legacySearchFallback;
+        return this;
+    }
+
+    // Indexed issues are fetched by key instead of searched for. One index can serve every session.
+    public JiraSessionConfigBuilder setIssueKeyIndex(JiraIssueKeyIndex issueKeyIndex) {
+        this.issueKeyIndex = issueKeyIndex;
+        return this;
+    }
+
+    // Only used without the legacy search fallback. Zero turns the filter off.
+    public JiraSessionConfigBuilder setFingerprintFilterRefreshInterval(Duration fingerprintFilterRefreshInterval) {
+        this.fingerprintFilterRefreshInterval = fingerprintFilterRefreshInterval;
+        return this;
+    }
+
+    // Zero turns the snapshot off.
+    public JiraSessionConfigBuilder setIssueSnapshotFullSyncInterval(Duration issueSnapshotFullSyncInterval) {
+        this.issueSnapshotFullSyncInterval = issueSnapshotFullSyncInterval;
+        return this;
+    }
+
+    // Zero creates every issue on its own.
+    public JiraSessionConfigBuilder setBulkCreateBatchSize(int bulkCreateBatchSize) {
+        this.bulkCreateBatchSize = bulkCreateBatchSize;
+        return this;
+    }
+
+    // How long created issues are added to search results until Jira has indexed them. Zero turns this off.
+    public JiraSessionConfigBuilder setCreatedIssueCacheTtl(Duration createdIssueCacheTtl) {
+        this.createdIssueCacheTtl = createdIssueCacheTtl;
+        return this;
+    }
+
+    public JiraSessionConfigBuilder setCreatedIssueCacheMaxSize(int createdIssueCacheMaxSize) {
+        this.createdIssueCacheMaxSize = createdIssueCacheMaxSize;
+        return this;
+    }
+
+    // Zero retrieves the available transitions before every transition.
+    public JiraSessionConfigBuilder setTransitionCacheTtl(Duration transitionCacheTtl) {
+        this.transitionCacheTtl = transitionCacheTtl;
+        return this;
+    }
+
+    public JiraSessionConfigBuilder setTransitionCacheMaxSize(int transitionCacheMaxSize) {
+        this.transitionCacheMaxSize = transitionCacheMaxSize;
+        return this;
+    }
+
+    // Defaults to a pool of workerThreadCount daemon threads per session.
+    public JiraSessionConfigBuilder setWorkerExecutor(Executor workerExecutor) {
+        this.workerExecutor = workerExecutor;
+        return this;
+    }
+
+    public JiraSessionConfigBuilder setWorkerThreadCount(int workerThreadCount) {
+        this.workerThreadCount = workerThreadCount;
+        return this;
+    }
+
+    // Requests with the same search properties are always processed in order.
+    public JiraSessionConfigBuilder setRequestConcurrency(int requestConcurrency) {
+        this.requestConcurrency = requestConcurrency;
+        return this;
+    }
+
+    // Defaults to virtual threads when available, otherwise a pool of daemon threads per session.
+    public JiraSessionConfigBuilder setRequestExecutor(Executor requestExecutor) {
+        this.requestExecutor = requestExecutor;
+        return this;
+    }
+
+    // Reduces the requests with the same search properties to their final operation, keeping their comments.
+    public JiraSessionConfigBuilder setCollapseRedundantOperations(boolean collapseRedundantOperations) {
+        this.collapseRedundantOperations = collapseRedundantOperations;
+        return this;
+    }
+
+    // How long sendRequestsAsync collects calls for the same project into one batch. Zero sends every call on its own.
+    public JiraSessionConfigBuilder setCoalescingWindow(Duration coalescingWindow) {
+        this.coalescingWindow = coalescingWindow;
+        return this;
+    }
+
+    public JiraSessionConfigBuilder setCoalescingMaxBatchSize(int coalescingMaxBatchSize) {
+        this.coalescingMaxBatchSize = coalescingMaxBatchSize;
+        return this;
+    }
+
+    private void requireNonNegative(Duration duration, String name) {
+        if (null == duration || duration.isNegative()) {
+            throw new IllegalArgumentException(String.format("The %s must be zero or positive.", name));
+        }
+    }
+
+    private void requirePositive(int value, String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(String.format("The %s must be at least 1.", name));
+        }
+    }
+
+}
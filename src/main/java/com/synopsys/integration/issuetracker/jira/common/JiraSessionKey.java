@@ -0,0 +1,76 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common;
+
+import java.util.Objects;
+
+public final class JiraSessionKey {
+    private final String url;
+    private final String username;
+    private final String credential;
+
+    public JiraSessionKey(String url, String username, String credential) {
+        this.url = url;
+        this.username = username;
+        this.credential = credential;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    // True for a key of the same user on the same Jira instance, whose credential may have been replaced.
+    public boolean hasSameUser(JiraSessionKey otherKey) {
+        return null != otherKey && Objects.equals(url, otherKey.url) && Objects.equals(username, otherKey.username);
+    }
+
+    @Override
+    public boolean equals(Object otherObject) {
+        if (this == otherObject) {
+            return true;
+        }
+        if (null == otherObject || getClass() != otherObject.getClass()) {
+            return false;
+        }
+        JiraSessionKey otherKey = (JiraSessionKey) otherObject;
+        return Objects.equals(url, otherKey.url)
+                   && Objects.equals(username, otherKey.username)
+                   && Objects.equals(credential, otherKey.credential);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(url, username, credential);
+    }
+
+    @Override
+    public String toString() {
+        // The credential is intentionally left out so that it never ends up in a log.
+        return String.format("%s@%s", username, url);
+    }
+
+}
@@ -0,0 +1,136 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.synopsys.integration.issuetracker.common.exception.IssueTrackerException;
+
+/**
+ * Keeps one open session for each Jira account. Sessions that have been idle for too long, or whose credential has been replaced,
+ * are closed when another session is requested, once no batch is using them anymore.
+ */
+public class JiraSessionRegistry<S extends JiraSession> implements Closeable {
+    private final Duration idleTimeout;
+    private final Map<JiraSessionKey, S> sessions = new ConcurrentHashMap<>();
+    // The number of batches using each session. A session is only closed while holding this map, so it cannot be acquired and closed at the same time.
+    private final Map<S, Integer> sessionReferences = new IdentityHashMap<>();
+
+    public JiraSessionRegistry(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    // The session stays in use until it is released with releaseSession.
+    public S getSession(JiraSessionKey sessionKey, SessionFactory<S> sessionFactory) throws IssueTrackerException {
+        closeUnusedSessions(sessionKey);
+        S existingSession = sessions.get(sessionKey);
+        if (null != existingSession && acquireSession(existingSession)) {
+            return existingSession;
+        }
+
+        // Another thread can close the session before it is acquired, in which case it is replaced again.
+        while (true) {
+            S newSession = sessionFactory.createSession();
+            S currentSession = sessions.merge(sessionKey, newSession,
+                (oldSession, createdSession) -> oldSession.isClosed() ? createdSession : oldSession);
+            if (currentSession != newSession) {
+                newSession.close();
+            }
+            if (acquireSession(currentSession)) {
+                return currentSession;
+            }
+        }
+    }
+
+    // The idle timeout of the session starts once the last batch using it has released it.
+    public void releaseSession(S session) {
+        synchronized (sessionReferences) {
+            sessionReferences.computeIfPresent(session, (ignored, referenceCount) -> referenceCount > 1 ? referenceCount - 1 : null);
+        }
+        session.markUsed();
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    @Override
+    public void close() {
+        synchronized (sessionReferences) {
+            sessions.values().forEach(JiraSession::close);
+            sessions.clear();
+            sessionReferences.clear();
+        }
+    }
+
+    private boolean acquireSession(S session) {
+        synchronized (sessionReferences) {
+            if (session.isClosed()) {
+                return false;
+            }
+            sessionReferences.merge(session, 1, Integer::sum);
+        }
+        session.markUsed();
+        return true;
+    }
+
+    // The requested session is about to be used, so it is never closed for being idle. Sessions that a batch is still using are left open
+    // until a later request finds them unused.
+    private void closeUnusedSessions(JiraSessionKey requestedKey) {
+        long lastUsedCutoff = System.currentTimeMillis() - idleTimeout.toMillis();
+        for (Map.Entry<JiraSessionKey, S> sessionEntry : sessions.entrySet()) {
+            JiraSessionKey sessionKey = sessionEntry.getKey();
+            S session = sessionEntry.getValue();
+            boolean unused = session.isClosed();
+            if (!sessionKey.equals(requestedKey)) {
+                unused |= sessionKey.hasSameUser(requestedKey);
+                unused |= !idleTimeout.isZero() && session.getLastUsed() < lastUsedCutoff;
+            }
+            if (unused) {
+                closeUnreferencedSession(sessionKey, session);
+            }
+        }
+    }
+
+    private void closeUnreferencedSession(JiraSessionKey sessionKey, S session) {
+        synchronized (sessionReferences) {
+            if (!session.isClosed() && sessionReferences.containsKey(session)) {
+                return;
+            }
+            if (sessions.remove(sessionKey, session)) {
+                sessionReferences.remove(session);
+                session.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface SessionFactory<S extends JiraSession> {
+        S createSession() throws IssueTrackerException;
+    }
+
+}
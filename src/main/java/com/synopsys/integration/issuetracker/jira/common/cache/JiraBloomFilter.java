@@ -0,0 +1,107 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// A set of strings that can only answer whether a string was possibly added or definitely not added. Strings are added and looked up without locking.
+public class JiraBloomFilter {
+    private static final int MINIMUM_BIT_COUNT = Long.SIZE;
+    private static final long MAXIMUM_BIT_COUNT = (long) Integer.MAX_VALUE * Long.SIZE;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public JiraBloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("The expected insertions must be positive.");
+        }
+        if (falsePositiveProbability <= 0.0 || falsePositiveProbability >= 1.0) {
+            throw new IllegalArgumentException("The false positive probability must be between 0 and 1.");
+        }
+        double ln2 = Math.log(2);
+        long optimalBitCount = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (ln2 * ln2));
+        long wordCount = (Math.min(Math.max(optimalBitCount, MINIMUM_BIT_COUNT), MAXIMUM_BIT_COUNT) + Long.SIZE - 1) / Long.SIZE;
+        this.bits = new AtomicLongArray((int) wordCount);
+        this.bitCount = wordCount * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+    }
+
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1) | 1L;
+        for (int hashIndex = 0; hashIndex < hashCount; hashIndex++) {
+            long bitIndex = Long.remainderUnsigned(hash1 + hashIndex * hash2, bitCount);
+            int wordIndex = (int) (bitIndex / Long.SIZE);
+            long mask = 1L << (bitIndex % Long.SIZE);
+            long word = bits.get(wordIndex);
+            while ((word & mask) == 0 && !bits.compareAndSet(wordIndex, word, word | mask)) {
+                word = bits.get(wordIndex);
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1) | 1L;
+        for (int hashIndex = 0; hashIndex < hashCount; hashIndex++) {
+            long bitIndex = Long.remainderUnsigned(hash1 + hashIndex * hash2, bitCount);
+            if ((bits.get((int) (bitIndex / Long.SIZE)) & (1L << (bitIndex % Long.SIZE))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int index = 0; index < value.length(); index++) {
+            hash ^= value.charAt(index);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    // The finalizer of MurmurHash3 spreads every input bit over the whole hash, which the index arithmetic above relies on.
+    private static long mix(long hash) {
+        long mixedHash = hash;
+        mixedHash ^= mixedHash >>> 33;
+        mixedHash *= 0xff51afd7ed558ccdL;
+        mixedHash ^= mixedHash >>> 33;
+        mixedHash *= 0xc4ceb9fe1a85ec53L;
+        mixedHash ^= mixedHash >>> 33;
+        return mixedHash;
+    }
+
+}
@@ -0,0 +1,147 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import com.synopsys.integration.jira.common.model.response.IssueResponseModel;
+
+// Remembers the issues created by this process for a short time. Jira adds new issues to its search index asynchronously, so a search right after
+// the create can miss them. Each issue expires on its own, and is dropped as soon as a search has returned it.
+public class JiraCreatedIssueCache {
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final long timeToLiveMillis;
+    private final LongSupplier currentTimeMillis;
+    private final JiraExpiringCache<CreatedIssueKey, List<CreatedIssue>> createdIssues;
+
+    public JiraCreatedIssueCache() {
+        this(DEFAULT_TIME_TO_LIVE, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public JiraCreatedIssueCache(Duration timeToLive, int maximumSize) {
+        this(timeToLive, maximumSize, System::currentTimeMillis);
+    }
+
+    JiraCreatedIssueCache(Duration timeToLive, int maximumSize, LongSupplier currentTimeMillis) {
+        this.createdIssues = new JiraExpiringCache<>(timeToLive, maximumSize);
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    public List<IssueResponseModel> get(String projectKey, String fingerprint) {
+        return retrieveUnexpired(new CreatedIssueKey(projectKey, fingerprint))
+                   .stream()
+                   .map(CreatedIssue::getIssue)
+                   .collect(Collectors.toList());
+    }
+
+    public synchronized void add(String projectKey, String fingerprint, IssueResponseModel issue) {
+        CreatedIssueKey createdIssueKey = new CreatedIssueKey(projectKey, fingerprint);
+        List<CreatedIssue> issues = retrieveUnexpired(createdIssueKey);
+        issues.add(new CreatedIssue(issue, currentTimeMillis.getAsLong() + timeToLiveMillis));
+        createdIssues.put(createdIssueKey, Collections.unmodifiableList(issues));
+    }
+
+    // Once Jira returns an issue from a search it has been indexed, so the cached issue is no longer needed.
+    public synchronized void removeFound(String projectKey, String fingerprint, Collection<String> foundIssueKeys) {
+        CreatedIssueKey createdIssueKey = new CreatedIssueKey(projectKey, fingerprint);
+        List<CreatedIssue> issues = retrieveUnexpired(createdIssueKey);
+        issues.removeIf(createdIssue -> foundIssueKeys.contains(createdIssue.getIssue().getKey()));
+        if (issues.isEmpty()) {
+            createdIssues.invalidate(createdIssueKey);
+        } else {
+            createdIssues.put(createdIssueKey, Collections.unmodifiableList(issues));
+        }
+    }
+
+    public void invalidateAll() {
+        createdIssues.invalidateAll();
+    }
+
+    private List<CreatedIssue> retrieveUnexpired(CreatedIssueKey createdIssueKey) {
+        long now = currentTimeMillis.getAsLong();
+        List<CreatedIssue> issues = new ArrayList<>();
+        for (CreatedIssue createdIssue : createdIssues.get(createdIssueKey).orElse(Collections.emptyList())) {
+            if (now < createdIssue.getExpiresAt()) {
+                issues.add(createdIssue);
+            }
+        }
+        return issues;
+    }
+
+    private static final class CreatedIssue {
+        private final IssueResponseModel issue;
+        private final long expiresAt;
+
+        public CreatedIssue(IssueResponseModel issue, long expiresAt) {
+            this.issue = issue;
+            this.expiresAt = expiresAt;
+        }
+
+        public IssueResponseModel getIssue() {
+            return issue;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+
+    private static final class CreatedIssueKey {
+        private final String projectKey;
+        private final String fingerprint;
+
+        public CreatedIssueKey(String projectKey, String fingerprint) {
+            this.projectKey = projectKey;
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public boolean equals(Object otherObject) {
+            if (this == otherObject) {
+                return true;
+            }
+            if (null == otherObject || getClass() != otherObject.getClass()) {
+                return false;
+            }
+            CreatedIssueKey otherKey = (CreatedIssueKey) otherObject;
+            return Objects.equals(projectKey, otherKey.projectKey)
+                       && Objects.equals(fingerprint, otherKey.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(projectKey, fingerprint);
+        }
+    }
+
+}
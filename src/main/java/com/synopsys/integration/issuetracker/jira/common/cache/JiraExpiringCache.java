@@ -0,0 +1,119 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class JiraExpiringCache<K, V> {
+    private final long timeToLiveMillis;
+    private final int maximumSize;
+    private final Map<K, CacheEntry<V>> entries;
+    private final AtomicLong hitCount = new AtomicLong(0L);
+    private final AtomicLong missCount = new AtomicLong(0L);
+
+    public JiraExpiringCache(Duration timeToLive, int maximumSize) {
+        if (null == timeToLive || timeToLive.isNegative()) {
+            throw new IllegalArgumentException("The time to live must be zero or positive.");
+        }
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum size must be at least 1.");
+        }
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.maximumSize = maximumSize;
+        // An access-ordered map evicts the least recently used entry first.
+        this.entries = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 7512618325488105562L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                return size() > JiraExpiringCache.this.maximumSize;
+            }
+        };
+    }
+
+    public synchronized Optional<V> get(K key) {
+        CacheEntry<V> entry = entries.get(key);
+        if (null == entry) {
+            missCount.incrementAndGet();
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            missCount.incrementAndGet();
+            return Optional.empty();
+        }
+        hitCount.incrementAndGet();
+        return Optional.of(entry.getValue());
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new CacheEntry<>(value, System.currentTimeMillis() + timeToLiveMillis));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private static class CacheEntry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        public CacheEntry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        public boolean isExpired(long currentTimeMillis) {
+            return currentTimeMillis >= expiresAt;
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Keeps the index in memory and appends every change to a file, so the index survives a restart. The file is compacted when it is loaded and once the
+// appended lines outnumber the entries by the compaction factor. Each line holds an index key and its issue keys. A later line replaces an earlier one,
+// and a line without issue keys removes the index key. Once the file cannot be written anymore, the index is only kept in memory.
+public class JiraFileIssueKeyIndex implements JiraIssueKeyIndex, Closeable {
+    private static final String KEY_SEPARATOR = "\t";
+    private static final String ISSUE_KEY_SEPARATOR = ",";
+    private static final int DEFAULT_MINIMUM_COMPACTION_LINES = 1024;
+    private static final int COMPACTION_FACTOR = 2;
+
+    private final Logger logger = LoggerFactory.getLogger(JiraFileIssueKeyIndex.class);
+    private final Path indexFile;
+    private final int minimumCompactionLines;
+    private final JiraInMemoryIssueKeyIndex memoryIndex = new JiraInMemoryIssueKeyIndex();
+    private final Object writeLock = new Object();
+    private BufferedWriter indexWriter;
+    private int appendedLines = 0;
+    private boolean writeFailed = false;
+
+    public JiraFileIssueKeyIndex(Path indexFile) throws IOException {
+        this(indexFile, DEFAULT_MINIMUM_COMPACTION_LINES);
+    }
+
+    JiraFileIssueKeyIndex(Path indexFile, int minimumCompactionLines) throws IOException {
+        this.indexFile = indexFile;
+        this.minimumCompactionLines = minimumCompactionLines;
+        load();
+    }
+
+    @Override
+    public Set<String> getIssueKeys(String indexKey) {
+        return memoryIndex.getIssueKeys(indexKey);
+    }
+
+    @Override
+    public void putIssueKeys(String indexKey, Set<String> issueKeys) {
+        synchronized (writeLock) {
+            if (issueKeys.equals(memoryIndex.getIssueKeys(indexKey))) {
+                return;
+            }
+            memoryIndex.putIssueKeys(indexKey, issueKeys);
+            append(indexKey, issueKeys);
+        }
+    }
+
+    @Override
+    public void addIssueKey(String indexKey, String issueKey) {
+        synchronized (writeLock) {
+            if (memoryIndex.getIssueKeys(indexKey).contains(issueKey)) {
+                return;
+            }
+            memoryIndex.addIssueKey(indexKey, issueKey);
+            append(indexKey, memoryIndex.getIssueKeys(indexKey));
+        }
+    }
+
+    @Override
+    public void removeIssueKey(String indexKey, String issueKey) {
+        synchronized (writeLock) {
+            if (!memoryIndex.getIssueKeys(indexKey).contains(issueKey)) {
+                return;
+            }
+            memoryIndex.removeIssueKey(indexKey, issueKey);
+            append(indexKey, memoryIndex.getIssueKeys(indexKey));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            indexWriter.close();
+        }
+    }
+
+    private void load() throws IOException {
+        if (Files.exists(indexFile)) {
+            List<String> lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                String indexKey = StringUtils.substringBefore(line, KEY_SEPARATOR);
+                String issueKeys = StringUtils.substringAfter(line, KEY_SEPARATOR);
+                if (StringUtils.isNotBlank(indexKey)) {
+                    memoryIndex.putIssueKeys(indexKey, parseIssueKeys(issueKeys));
+                }
+            }
+        }
+        compact();
+    }
+
+    // The entries are written to a new file first, so a failure leaves the previous file in place. The writer of the previous file is closed before it is
+    // replaced, since an open file cannot be replaced on every platform.
+    private void compact() throws IOException {
+        Path parent = indexFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path compactedFile = Files.createTempFile(parent, indexFile.getFileName().toString(), ".tmp");
+        try (BufferedWriter compactedWriter = Files.newBufferedWriter(compactedFile, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Set<String>> entry : memoryIndex.entries().entrySet()) {
+                compactedWriter.write(formatLine(entry.getKey(), entry.getValue()));
+            }
+        }
+        if (null != indexWriter) {
+            indexWriter.close();
+        }
+        try {
+            Files.move(compactedFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            indexWriter = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+            appendedLines = 0;
+        }
+    }
+
+    private void append(String indexKey, Set<String> issueKeys) {
+        if (writeFailed) {
+            return;
+        }
+        try {
+            indexWriter.write(formatLine(indexKey, issueKeys));
+            indexWriter.flush();
+            appendedLines++;
+            if (appendedLines > Math.max(minimumCompactionLines, memoryIndex.entries().size() * COMPACTION_FACTOR)) {
+                compact();
+            }
+        } catch (IOException e) {
+            // A line written partially would corrupt the lines appended after it, so nothing is written to the file anymore.
+            writeFailed = true;
+            logger.warn("The issue key index could not be written to {}. Changes to the index are only kept in memory until the next restart.", indexFile, e);
+        }
+    }
+
+    private String formatLine(String indexKey, Set<String> issueKeys) {
+        return indexKey + KEY_SEPARATOR + StringUtils.join(issueKeys, ISSUE_KEY_SEPARATOR) + System.lineSeparator();
+    }
+
+    private Set<String> parseIssueKeys(String issueKeys) {
+        Set<String> parsedKeys = new LinkedHashSet<>();
+        Arrays.stream(StringUtils.split(issueKeys, ISSUE_KEY_SEPARATOR))
+            .map(String::trim)
+            .filter(StringUtils::isNotBlank)
+            .forEach(parsedKeys::add);
+        return parsedKeys;
+    }
+
+}
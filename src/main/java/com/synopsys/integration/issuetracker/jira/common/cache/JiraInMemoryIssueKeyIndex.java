@@ -0,0 +1,71 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class JiraInMemoryIssueKeyIndex implements JiraIssueKeyIndex {
+    private final Map<String, Set<String>> issueKeys = new ConcurrentHashMap<>();
+
+    @Override
+    public Set<String> getIssueKeys(String indexKey) {
+        Set<String> indexedKeys = issueKeys.get(indexKey);
+        return null != indexedKeys ? indexedKeys : Collections.emptySet();
+    }
+
+    @Override
+    public void putIssueKeys(String indexKey, Set<String> newIssueKeys) {
+        if (newIssueKeys.isEmpty()) {
+            issueKeys.remove(indexKey);
+        } else {
+            issueKeys.put(indexKey, Collections.unmodifiableSet(new LinkedHashSet<>(newIssueKeys)));
+        }
+    }
+
+    @Override
+    public void addIssueKey(String indexKey, String issueKey) {
+        issueKeys.compute(indexKey, (ignored, indexedKeys) -> {
+            Set<String> updatedKeys = null != indexedKeys ? new LinkedHashSet<>(indexedKeys) : new LinkedHashSet<>();
+            updatedKeys.add(issueKey);
+            return Collections.unmodifiableSet(updatedKeys);
+        });
+    }
+
+    @Override
+    public void removeIssueKey(String indexKey, String issueKey) {
+        issueKeys.computeIfPresent(indexKey, (ignored, indexedKeys) -> {
+            Set<String> updatedKeys = new LinkedHashSet<>(indexedKeys);
+            updatedKeys.remove(issueKey);
+            return updatedKeys.isEmpty() ? null : Collections.unmodifiableSet(updatedKeys);
+        });
+    }
+
+    public Map<String, Set<String>> entries() {
+        return Collections.unmodifiableMap(issueKeys);
+    }
+
+}
@@ -0,0 +1,77 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import com.synopsys.integration.issuetracker.common.config.IssueConfig;
+import com.synopsys.integration.issuetracker.common.config.IssueTrackerContext;
+import com.synopsys.integration.issuetracker.common.exception.IssueTrackerFieldException;
+import com.synopsys.integration.issuetracker.jira.common.JiraIssueConfigValidator;
+
+public class JiraIssueConfigCache {
+    private final String jiraUrl;
+    private final JiraExpiringCache<JiraIssueConfigKey, IssueConfig> validatedConfigs;
+
+    public JiraIssueConfigCache(String jiraUrl, Duration timeToLive, int maximumSize) {
+        this.jiraUrl = jiraUrl;
+        this.validatedConfigs = new JiraExpiringCache<>(timeToLive, maximumSize);
+    }
+
+    public IssueConfig getOrValidate(IssueTrackerContext context, JiraIssueConfigValidator validator, boolean forceRevalidation) throws IssueTrackerFieldException {
+        JiraIssueConfigKey configKey = new JiraIssueConfigKey(jiraUrl, context.getIssueConfig());
+        if (forceRevalidation) {
+            validatedConfigs.invalidate(configKey);
+        } else {
+            Optional<IssueConfig> cachedConfig = validatedConfigs.get(configKey);
+            if (cachedConfig.isPresent()) {
+                return copyIssueConfig(cachedConfig.get());
+            }
+        }
+
+        // Failed validations are not cached so that a corrected configuration in Jira is picked up right away.
+        IssueConfig validIssueConfig = validator.createValidIssueConfig(context);
+        validatedConfigs.put(configKey, copyIssueConfig(validIssueConfig));
+        return validIssueConfig;
+    }
+
+    public void invalidateAll() {
+        validatedConfigs.invalidateAll();
+    }
+
+    // IssueConfig is mutable, so callers never receive the cached instance itself.
+    private IssueConfig copyIssueConfig(IssueConfig issueConfig) {
+        IssueConfig copy = new IssueConfig();
+        copy.setProjectId(issueConfig.getProjectId());
+        copy.setProjectKey(issueConfig.getProjectKey());
+        copy.setProjectName(issueConfig.getProjectName());
+        copy.setIssueCreator(issueConfig.getIssueCreator());
+        copy.setIssueType(issueConfig.getIssueType());
+        copy.setCommentOnIssues(issueConfig.getCommentOnIssues());
+        copy.setOpenTransition(issueConfig.getOpenTransition().orElse(null));
+        copy.setResolveTransition(issueConfig.getResolveTransition().orElse(null));
+        return copy;
+    }
+
+}
@@ -0,0 +1,72 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import java.util.Objects;
+
+import com.synopsys.integration.issuetracker.common.config.IssueConfig;
+
+// Identifies an issue config by the values that its validation depends on.
+public final class JiraIssueConfigKey {
+    private final String jiraUrl;
+    private final String projectName;
+    private final String issueType;
+    private final String issueCreator;
+    private final String openTransition;
+    private final String resolveTransition;
+    private final Boolean commentOnIssues;
+
+    public JiraIssueConfigKey(String jiraUrl, IssueConfig issueConfig) {
+        this.jiraUrl = jiraUrl;
+        this.projectName = issueConfig.getProjectName();
+        this.issueType = issueConfig.getIssueType();
+        this.issueCreator = issueConfig.getIssueCreator();
+        this.openTransition = issueConfig.getOpenTransition().orElse(null);
+        this.resolveTransition = issueConfig.getResolveTransition().orElse(null);
+        this.commentOnIssues = issueConfig.getCommentOnIssues();
+    }
+
+    @Override
+    public boolean equals(Object otherObject) {
+        if (this == otherObject) {
+            return true;
+        }
+        if (null == otherObject || getClass() != otherObject.getClass()) {
+            return false;
+        }
+        JiraIssueConfigKey otherKey = (JiraIssueConfigKey) otherObject;
+        return Objects.equals(jiraUrl, otherKey.jiraUrl)
+                   && Objects.equals(projectName, otherKey.projectName)
+                   && Objects.equals(issueType, otherKey.issueType)
+                   && Objects.equals(issueCreator, otherKey.issueCreator)
+                   && Objects.equals(openTransition, otherKey.openTransition)
+                   && Objects.equals(resolveTransition, otherKey.resolveTransition)
+                   && Objects.equals(commentOnIssues, otherKey.commentOnIssues);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jiraUrl, projectName, issueType, issueCreator, openTransition, resolveTransition, commentOnIssues);
+    }
+
+}
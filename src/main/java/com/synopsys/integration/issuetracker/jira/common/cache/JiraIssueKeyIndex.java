@@ -0,0 +1,39 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import java.util.Set;
+
+// Remembers which issues carry a set of search properties, so they can be looked up by key instead of with a property search.
+// The index is only a hint. Every key it returns is checked against Jira before it is used, and removed when it turns out to be wrong.
+public interface JiraIssueKeyIndex {
+    Set<String> getIssueKeys(String indexKey);
+
+    // Replaces the issue keys of the index key. An empty set removes the index key.
+    void putIssueKeys(String indexKey, Set<String> issueKeys);
+
+    void addIssueKey(String indexKey, String issueKey);
+
+    void removeIssueKey(String indexKey, String issueKey);
+
+}
@@ -0,0 +1,129 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.jira.common.model.response.IssueTypeResponseModel;
+import com.synopsys.integration.jira.common.rest.service.IssueMetaDataService;
+import com.synopsys.integration.jira.common.rest.service.IssueTypeService;
+
+public class JiraIssueMetadataCache {
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(30);
+    public static final int DEFAULT_MAXIMUM_SIZE = 500;
+
+    private static final String ALL_ISSUE_TYPES_KEY = "allIssueTypes";
+
+    private final IssueTypeService issueTypeService;
+    private final IssueMetaDataService issueMetaDataService;
+    private final JiraExpiringCache<String, Set<String>> issueTypeNames;
+    private final JiraExpiringCache<ProjectIssueTypeKey, Boolean> projectIssueTypes;
+
+    public JiraIssueMetadataCache(IssueTypeService issueTypeService, IssueMetaDataService issueMetaDataService) {
+        this(issueTypeService, issueMetaDataService, DEFAULT_TIME_TO_LIVE, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public JiraIssueMetadataCache(IssueTypeService issueTypeService, IssueMetaDataService issueMetaDataService, Duration timeToLive, int maximumSize) {
+        this.issueTypeService = issueTypeService;
+        this.issueMetaDataService = issueMetaDataService;
+        this.issueTypeNames = new JiraExpiringCache<>(timeToLive, 1);
+        this.projectIssueTypes = new JiraExpiringCache<>(timeToLive, maximumSize);
+    }
+
+    public boolean doesIssueTypeExist(String issueType) throws IntegrationException {
+        Optional<Set<String>> cachedIssueTypeNames = issueTypeNames.get(ALL_ISSUE_TYPES_KEY);
+        if (cachedIssueTypeNames.isPresent()) {
+            if (cachedIssueTypeNames.get().contains(issueType)) {
+                return true;
+            }
+            // The issue type may have been added since the list was cached, so an unknown name is always checked against Jira again.
+            issueTypeNames.invalidate(ALL_ISSUE_TYPES_KEY);
+        }
+        Set<String> retrievedIssueTypeNames = issueTypeService.getAllIssueTypes()
+                                                  .stream()
+                                                  .map(IssueTypeResponseModel::getName)
+                                                  .collect(Collectors.toSet());
+        issueTypeNames.put(ALL_ISSUE_TYPES_KEY, retrievedIssueTypeNames);
+        return retrievedIssueTypeNames.contains(issueType);
+    }
+
+    public boolean doesProjectContainIssueType(String projectName, String issueType) throws IntegrationException {
+        ProjectIssueTypeKey projectIssueTypeKey = new ProjectIssueTypeKey(projectName, issueType);
+        if (projectIssueTypes.get(projectIssueTypeKey).isPresent()) {
+            return true;
+        }
+        boolean isValidForProject = issueMetaDataService.doesProjectContainIssueType(projectName, issueType);
+        // Only positive answers are kept so that fixing the project's issue type scheme takes effect right away.
+        if (isValidForProject) {
+            projectIssueTypes.put(projectIssueTypeKey, Boolean.TRUE);
+        }
+        return isValidForProject;
+    }
+
+    public void invalidateAll() {
+        issueTypeNames.invalidateAll();
+        projectIssueTypes.invalidateAll();
+    }
+
+    public long getHitCount() {
+        return issueTypeNames.getHitCount() + projectIssueTypes.getHitCount();
+    }
+
+    public long getMissCount() {
+        return issueTypeNames.getMissCount() + projectIssueTypes.getMissCount();
+    }
+
+    private static final class ProjectIssueTypeKey {
+        private final String projectName;
+        private final String issueType;
+
+        public ProjectIssueTypeKey(String projectName, String issueType) {
+            this.projectName = projectName;
+            this.issueType = issueType;
+        }
+
+        @Override
+        public boolean equals(Object otherObject) {
+            if (this == otherObject) {
+                return true;
+            }
+            if (null == otherObject || getClass() != otherObject.getClass()) {
+                return false;
+            }
+            ProjectIssueTypeKey otherKey = (ProjectIssueTypeKey) otherObject;
+            return Objects.equals(projectName, otherKey.projectName)
+                       && Objects.equals(issueType, otherKey.issueType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(projectName, issueType);
+        }
+    }
+
+}
@@ -0,0 +1,534 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Keeps the index in a memory-mapped file, so millions of entries take neither heap nor a load on startup, and the index survives a restart.
+// The file is an open-addressing hash table of fixed-size slots. A slot holds a 128-bit hash of the index key and one issue key, packed into a long
+// as the position of its project key in a small side file and the issue number. An index key with several issues takes several slots.
+// Issue keys that do not have the form PROJECT-NUMBER cannot be packed and are not indexed, so their issues are searched for as before.
+// When the files cannot be written, the index becomes unavailable. It then finds nothing, so every issue is searched for.
+public class JiraMappedIssueKeyIndex implements JiraIssueKeyIndex, Closeable {
+    public static final int DEFAULT_INITIAL_CAPACITY = 1 << 16;
+    // A single mapping cannot be larger than 2 GB.
+    public static final int MAXIMUM_CAPACITY = 1 << 26;
+    private static final int MAGIC = 0x4A494B49;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 3 * Long.BYTES;
+    private static final int HASH_HIGH_OFFSET = 0;
+    private static final int HASH_LOW_OFFSET = Long.BYTES;
+    private static final int VALUE_OFFSET = 2 * Long.BYTES;
+    private static final double MAXIMUM_LOAD_FACTOR = 0.7;
+    private static final int ISSUE_NUMBER_BITS = 48;
+    private static final long ISSUE_NUMBER_MASK = (1L << ISSUE_NUMBER_BITS) - 1;
+    // The highest project position is left out, so that no packed issue key equals the tombstone.
+    private static final int MAXIMUM_PROJECT_COUNT = (1 << (Long.SIZE - ISSUE_NUMBER_BITS)) - 1;
+    private static final long TOMBSTONE = -1L;
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String ISSUE_KEY_SEPARATOR = "-";
+
+    private final Logger logger = LoggerFactory.getLogger(JiraMappedIssueKeyIndex.class);
+    private final Path indexFile;
+    private final Path projectFile;
+    private final List<String> projectKeys = new ArrayList<>();
+    private final Map<String, Integer> projectPositions = new HashMap<>();
+    // Lookups only read the mapping, so they run concurrently. Changes, and the resize that replaces the mapping, run alone.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private MappedByteBuffer slots;
+    private int capacity;
+    // Used slots include the tombstones, which keep the probe sequences of the other entries intact until the next resize.
+    private int usedSlotCount;
+    private int entryCount;
+    private boolean available = true;
+    private boolean projectFileWritable = true;
+
+    public JiraMappedIssueKeyIndex(Path indexFile) throws IOException {
+        this(indexFile, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public JiraMappedIssueKeyIndex(Path indexFile, int initialCapacity) throws IOException {
+        if (initialCapacity < 1 || initialCapacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException(String.format("The initial capacity must be between 1 and %d.", MAXIMUM_CAPACITY));
+        }
+        this.indexFile = indexFile;
+        this.projectFile = indexFile.resolveSibling(indexFile.getFileName().toString() + ".projects");
+        Path parent = indexFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        loadProjectKeys();
+        if (Files.exists(indexFile)) {
+            load();
+        } else {
+            Path createdFile = Files.createTempFile(parent, indexFile.getFileName().toString(), ".tmp");
+            slots = createSlots(createdFile, roundUpToPowerOfTwo(initialCapacity));
+            Files.move(createdFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            capacity = readCapacity(slots);
+        }
+    }
+
+    @Override
+    public Set<String> getIssueKeys(String indexKey) {
+        lock.readLock().lock();
+        try {
+            if (!available) {
+                return Collections.emptySet();
+            }
+            long[] hash = hash(indexKey);
+            Set<String> issueKeys = new LinkedHashSet<>();
+            for (int slot = firstSlot(hash); !isEmpty(slot); slot = nextSlot(slot)) {
+                long value = readValue(slot);
+                if (TOMBSTONE != value && hasHash(slot, hash) && isProjectKnown(value)) {
+                    issueKeys.add(unpackIssueKey(value));
+                }
+            }
+            return Collections.unmodifiableSet(issueKeys);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void putIssueKeys(String indexKey, Set<String> issueKeys) {
+        lock.writeLock().lock();
+        try {
+            if (!available || issueKeys.equals(getIssueKeys(indexKey))) {
+                return;
+            }
+            long[] hash = hash(indexKey);
+            for (int slot = firstSlot(hash); !isEmpty(slot); slot = nextSlot(slot)) {
+                if (TOMBSTONE != readValue(slot) && hasHash(slot, hash)) {
+                    removeSlot(slot);
+                }
+            }
+            for (String issueKey : issueKeys) {
+                addIssueKey(indexKey, issueKey);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addIssueKey(String indexKey, String issueKey) {
+        lock.writeLock().lock();
+        try {
+            if (!available) {
+                return;
+            }
+            long value = packIssueKey(issueKey, true);
+            if (TOMBSTONE == value) {
+                return;
+            }
+            long[] hash = hash(indexKey);
+            int tombstoneSlot = -1;
+            int slot = firstSlot(hash);
+            for (; !isEmpty(slot); slot = nextSlot(slot)) {
+                long slotValue = readValue(slot);
+                if (TOMBSTONE == slotValue) {
+                    if (tombstoneSlot < 0) {
+                        tombstoneSlot = slot;
+                    }
+                } else if (slotValue == value && hasHash(slot, hash)) {
+                    return;
+                }
+            }
+            if (tombstoneSlot >= 0) {
+                // The hash is written before the value, so a slot that is only partly written stays a tombstone.
+                writeHash(tombstoneSlot, hash);
+                writeValue(tombstoneSlot, value);
+            } else {
+                if (usedSlotCount + 1 > capacity * MAXIMUM_LOAD_FACTOR) {
+                    if (resize()) {
+                        addIssueKey(indexKey, issueKey);
+                    }
+                    return;
+                }
+                // The value is written before the hash, so a slot is never found with the value of an earlier entry.
+                writeValue(slot, value);
+                writeHash(slot, hash);
+                usedSlotCount++;
+            }
+            entryCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeIssueKey(String indexKey, String issueKey) {
+        lock.writeLock().lock();
+        try {
+            if (!available) {
+                return;
+            }
+            long value = packIssueKey(issueKey, false);
+            if (TOMBSTONE == value) {
+                return;
+            }
+            long[] hash = hash(indexKey);
+            for (int slot = firstSlot(hash); !isEmpty(slot); slot = nextSlot(slot)) {
+                if (readValue(slot) == value && hasHash(slot, hash)) {
+                    removeSlot(slot);
+                    return;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entryCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getCapacity() {
+        lock.readLock().lock();
+        try {
+            return capacity;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The operating system writes the mapped pages back on its own, even when the process ends without closing the index. Closing also flushes them to disk.
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (null != slots) {
+                slots.force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > HEADER_SIZE + (long) MAXIMUM_CAPACITY * SLOT_SIZE) {
+                throw new IOException(String.format("%s is not an issue key index.", indexFile));
+            }
+            slots = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        if (MAGIC != slots.getInt(0) || VERSION != slots.getInt(Integer.BYTES)) {
+            throw new IOException(String.format("%s is not an issue key index of version %d.", indexFile, VERSION));
+        }
+        capacity = readCapacity(slots);
+        if (Integer.bitCount(capacity) != 1 || slots.capacity() != HEADER_SIZE + (long) capacity * SLOT_SIZE) {
+            throw new IOException(String.format("The issue key index %s is damaged.", indexFile));
+        }
+        // The counts are not stored, so an index that was not closed cleanly still starts with the right ones.
+        for (int slot = 0; slot < capacity; slot++) {
+            if (!isEmpty(slot)) {
+                usedSlotCount++;
+                if (TOMBSTONE != readValue(slot)) {
+                    entryCount++;
+                }
+            }
+        }
+    }
+
+    // The entries are rehashed into a new file, which then replaces the index file. The tombstones are dropped on the way. The previous mapping is kept
+    // until the resized file is in place, so a failure before leaves the index as it was. Returns false when the index became unavailable instead.
+    private boolean resize() {
+        int resizedCapacity = entryCount + 1 > capacity * MAXIMUM_LOAD_FACTOR / 2 ? capacity * 2 : capacity;
+        if (resizedCapacity > MAXIMUM_CAPACITY) {
+            throw new IllegalStateException(String.format("The issue key index %s cannot hold more than %d entries.", indexFile, (int) (MAXIMUM_CAPACITY * MAXIMUM_LOAD_FACTOR)));
+        }
+        Path resizedFile = null;
+        MappedByteBuffer resizedSlots;
+        try {
+            resizedFile = Files.createTempFile(indexFile.toAbsolutePath().getParent(), indexFile.getFileName().toString(), ".tmp");
+            resizedSlots = createSlots(resizedFile, resizedCapacity);
+        } catch (IOException e) {
+            deleteQuietly(resizedFile);
+            markUnavailable(String.format("The issue key index %s could not be resized.", indexFile), e);
+            return false;
+        }
+
+        MappedByteBuffer previousSlots = slots;
+        int previousCapacity = capacity;
+        int previousUsedSlotCount = usedSlotCount;
+        slots = resizedSlots;
+        capacity = resizedCapacity;
+        usedSlotCount = 0;
+        for (int previousSlot = 0; previousSlot < previousCapacity; previousSlot++) {
+            int previousOffset = HEADER_SIZE + previousSlot * SLOT_SIZE;
+            long[] hash = { previousSlots.getLong(previousOffset + HASH_HIGH_OFFSET), previousSlots.getLong(previousOffset + HASH_LOW_OFFSET) };
+            long value = previousSlots.getLong(previousOffset + VALUE_OFFSET);
+            if ((0L != hash[0] || 0L != hash[1]) && TOMBSTONE != value) {
+                int slot = firstSlot(hash);
+                while (!isEmpty(slot)) {
+                    slot = nextSlot(slot);
+                }
+                writeValue(slot, value);
+                writeHash(slot, hash);
+                usedSlotCount++;
+            }
+        }
+        slots.force();
+
+        try {
+            // The mapping of the resized file then maps the index file.
+            Files.move(resizedFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            unmap(previousSlots);
+            return true;
+        } catch (IOException e) {
+            // Windows cannot replace a mapped file, so both mappings are released and the index file is mapped again afterwards.
+            return replaceUnmapped(resizedFile, previousSlots, resizedSlots, previousUsedSlotCount);
+        }
+    }
+
+    // A released buffer must not be read again, so nothing refers to either of them until the index file is mapped again.
+    private boolean replaceUnmapped(Path resizedFile, MappedByteBuffer previousSlots, MappedByteBuffer resizedSlots, int previousUsedSlotCount) {
+        slots = null;
+        unmap(previousSlots);
+        unmap(resizedSlots);
+        IOException moveFailure = null;
+        try {
+            Files.move(resizedFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            moveFailure = e;
+            deleteQuietly(resizedFile);
+        }
+        try {
+            // Either the resized entries or, when the move failed, the previous ones.
+            slots = mapSlots(indexFile);
+            capacity = readCapacity(slots);
+        } catch (IOException e) {
+            slots = null;
+            markUnavailable(String.format("The issue key index %s could not be mapped again.", indexFile), e);
+            return false;
+        }
+        if (null != moveFailure) {
+            usedSlotCount = previousUsedSlotCount;
+            markUnavailable(String.format("The issue key index %s could not be resized.", indexFile), moveFailure);
+            return false;
+        }
+        return true;
+    }
+
+    private void markUnavailable(String message, IOException failure) {
+        available = false;
+        logger.warn("{} The index is unavailable until the next restart, so every issue is searched for.", message, failure);
+    }
+
+    private void deleteQuietly(Path file) {
+        if (null == file) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.debug("{} could not be deleted.", file, e);
+        }
+    }
+
+    private MappedByteBuffer mapSlots(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+    }
+
+    // There is no API to release a mapping before its buffer is garbage collected, so the cleaner of the buffer is called where the runtime allows it.
+    // Otherwise the mapping is released later by the garbage collector. The buffer must not be used afterwards.
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            try {
+                Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+                unsafeField.setAccessible(true);
+                invokeCleaner.invoke(unsafeField.get(null), buffer);
+            } catch (NoSuchMethodException e) {
+                // Before Java 9 the buffer hands out its cleaner itself.
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (null != cleaner) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // The mapping stays valid until the buffer is collected.
+        }
+    }
+
+    private MappedByteBuffer createSlots(Path file, int slotCount) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer createdSlots = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slotCount * SLOT_SIZE);
+            createdSlots.putInt(0, MAGIC);
+            createdSlots.putInt(Integer.BYTES, VERSION);
+            createdSlots.putInt(2 * Integer.BYTES, slotCount);
+            createdSlots.force();
+            return createdSlots;
+        }
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        return Integer.highestOneBit(Math.max(1, value - 1)) << 1;
+    }
+
+    private int readCapacity(ByteBuffer buffer) {
+        return buffer.getInt(2 * Integer.BYTES);
+    }
+
+    private void removeSlot(int slot) {
+        writeValue(slot, TOMBSTONE);
+        entryCount--;
+    }
+
+    private int firstSlot(long[] hash) {
+        return (int) (hash[1] & (capacity - 1));
+    }
+
+    private int nextSlot(int slot) {
+        return (slot + 1) & (capacity - 1);
+    }
+
+    private boolean isEmpty(int slot) {
+        int offset = HEADER_SIZE + slot * SLOT_SIZE;
+        return 0L == slots.getLong(offset + HASH_HIGH_OFFSET) && 0L == slots.getLong(offset + HASH_LOW_OFFSET);
+    }
+
+    private boolean hasHash(int slot, long[] hash) {
+        int offset = HEADER_SIZE + slot * SLOT_SIZE;
+        return hash[0] == slots.getLong(offset + HASH_HIGH_OFFSET) && hash[1] == slots.getLong(offset + HASH_LOW_OFFSET);
+    }
+
+    private long readValue(int slot) {
+        return slots.getLong(HEADER_SIZE + slot * SLOT_SIZE + VALUE_OFFSET);
+    }
+
+    private void writeValue(int slot, long value) {
+        slots.putLong(HEADER_SIZE + slot * SLOT_SIZE + VALUE_OFFSET, value);
+    }
+
+    private void writeHash(int slot, long[] hash) {
+        int offset = HEADER_SIZE + slot * SLOT_SIZE;
+        slots.putLong(offset + HASH_LOW_OFFSET, hash[1]);
+        slots.putLong(offset + HASH_HIGH_OFFSET, hash[0]);
+    }
+
+    // A hash of zero marks an empty slot, so it is never used for an index key.
+    private long[] hash(String indexKey) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+            ByteBuffer digest = ByteBuffer.wrap(messageDigest.digest(indexKey.getBytes(StandardCharsets.UTF_8)));
+            long[] hash = { digest.getLong(), digest.getLong() };
+            if (0L == hash[0] && 0L == hash[1]) {
+                hash[1] = 1L;
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(String.format("The %s algorithm is not available.", HASH_ALGORITHM), e);
+        }
+    }
+
+    // Returns the tombstone when the issue key cannot be packed, or when its project key is unknown and must not be added.
+    private long packIssueKey(String issueKey, boolean addProjectKey) {
+        String projectKey = StringUtils.substringBeforeLast(issueKey, ISSUE_KEY_SEPARATOR);
+        String issueNumber = StringUtils.substringAfterLast(issueKey, ISSUE_KEY_SEPARATOR);
+        if (StringUtils.isBlank(projectKey) || !StringUtils.isNumeric(issueNumber) || issueNumber.length() > 15) {
+            return TOMBSTONE;
+        }
+        long number = Long.parseLong(issueNumber);
+        Integer projectPosition = addProjectKey ? findOrAddProjectPosition(projectKey) : projectPositions.get(projectKey);
+        if (null == projectPosition || number > ISSUE_NUMBER_MASK) {
+            return TOMBSTONE;
+        }
+        return ((long) projectPosition << ISSUE_NUMBER_BITS) | number;
+    }
+
+    // Only a slot that was partly written when the process ended can refer to a project key that was never written.
+    private boolean isProjectKnown(long value) {
+        return (value >>> ISSUE_NUMBER_BITS) < projectKeys.size();
+    }
+
+    private String unpackIssueKey(long value) {
+        int projectPosition = (int) (value >>> ISSUE_NUMBER_BITS);
+        return projectKeys.get(projectPosition) + ISSUE_KEY_SEPARATOR + (value & ISSUE_NUMBER_MASK);
+    }
+
+    private void loadProjectKeys() throws IOException {
+        if (Files.exists(projectFile)) {
+            for (String projectKey : Files.readAllLines(projectFile, StandardCharsets.UTF_8)) {
+                projectPositions.put(projectKey, projectKeys.size());
+                projectKeys.add(projectKey);
+            }
+        }
+    }
+
+    // A project key is written to disk before any slot refers to it. Null once the positions are used up, or once the side file cannot be written,
+    // so the issues of new projects are not indexed.
+    private Integer findOrAddProjectPosition(String projectKey) {
+        Integer projectPosition = projectPositions.get(projectKey);
+        if (null != projectPosition || projectKeys.size() >= MAXIMUM_PROJECT_COUNT || !projectFileWritable) {
+            return projectPosition;
+        }
+        try {
+            Files.write(projectFile, (projectKey + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+        } catch (IOException e) {
+            projectFileWritable = false;
+            logger.warn("The project keys of the issue key index could not be written to {}. Issues of projects that are not indexed yet will be searched for.", projectFile, e);
+            return null;
+        }
+        projectPosition = projectKeys.size();
+        projectPositions.put(projectKey, projectPosition);
+        projectKeys.add(projectKey);
+        return projectPosition;
+    }
+
+}
@@ -0,0 +1,164 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.exception.IntegrationException;
+
+// Knows for each project which fingerprints definitely have no issue, so the search for them can be skipped. The filter of a project is built from a
+// snapshot of all its tracked issues and is rebuilt on the refresh executor once the refresh interval has passed. Issues created in the meantime must be
+// added, otherwise they would be reported as missing until the next snapshot.
+public class JiraTrackedFingerprintFilter {
+    public static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+    // Room for the issues created until the next snapshot, since a filter that holds more than expected only gets less selective.
+    private static final int MINIMUM_EXPECTED_INSERTIONS = 1024;
+    private static final int EXPECTED_INSERTIONS_FACTOR = 2;
+
+    private final Logger logger = LoggerFactory.getLogger(JiraTrackedFingerprintFilter.class);
+
+    private final FingerprintLoader fingerprintLoader;
+    private final long refreshIntervalMillis;
+    private final double falsePositiveProbability;
+    private final Executor refreshExecutor;
+    private final Map<String, ProjectFilter> projectFilters = new ConcurrentHashMap<>();
+
+    // Without a refresh executor the snapshot is loaded by the lookup that finds the filter expired.
+    public JiraTrackedFingerprintFilter(FingerprintLoader fingerprintLoader, Duration refreshInterval) {
+        this(fingerprintLoader, refreshInterval, null);
+    }
+
+    public JiraTrackedFingerprintFilter(FingerprintLoader fingerprintLoader, Duration refreshInterval, Executor refreshExecutor) {
+        this(fingerprintLoader, refreshInterval, DEFAULT_FALSE_POSITIVE_PROBABILITY, refreshExecutor);
+    }
+
+    public JiraTrackedFingerprintFilter(FingerprintLoader fingerprintLoader, Duration refreshInterval, double falsePositiveProbability, Executor refreshExecutor) {
+        this.fingerprintLoader = fingerprintLoader;
+        this.refreshIntervalMillis = refreshInterval.toMillis();
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.refreshExecutor = null != refreshExecutor ? refreshExecutor : Runnable::run;
+    }
+
+    // False whenever the project could not be loaded yet, so a missing snapshot only costs the searches it was meant to save.
+    public boolean isDefinitelyUntracked(String projectKey, String fingerprint) {
+        if (null == projectKey || null == fingerprint) {
+            return false;
+        }
+        JiraBloomFilter filter = projectFilters.computeIfAbsent(projectKey, ignored -> new ProjectFilter()).getOrRefresh(projectKey);
+        return null != filter && !filter.mightContain(fingerprint);
+    }
+
+    public void add(String projectKey, String fingerprint) {
+        if (null == projectKey || null == fingerprint) {
+            return;
+        }
+        projectFilters.computeIfAbsent(projectKey, ignored -> new ProjectFilter()).add(fingerprint);
+    }
+
+    public void invalidateAll() {
+        projectFilters.clear();
+    }
+
+    @FunctionalInterface
+    public interface FingerprintLoader {
+        // Empty when the tracked issues of the project cannot be listed.
+        Optional<Collection<String>> loadFingerprints(String projectKey) throws IntegrationException;
+    }
+
+    private final class ProjectFilter {
+        // Only one snapshot of a project is loaded at a time. Lookups keep using the previous filter in the meantime.
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile JiraBloomFilter filter;
+        private volatile long refreshAt = 0L;
+        // The fingerprints added since the last snapshot was started. They are carried over into the next filter as well, because Jira adds new issues to
+        // its search index asynchronously and the next snapshot can still miss them.
+        private List<String> recentlyAdded = new ArrayList<>();
+
+        public JiraBloomFilter getOrRefresh(String projectKey) {
+            if (System.currentTimeMillis() >= refreshAt && refreshing.compareAndSet(false, true)) {
+                try {
+                    refreshExecutor.execute(() -> {
+                        try {
+                            refresh(projectKey);
+                        } finally {
+                            refreshing.set(false);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    refreshing.set(false);
+                    logger.debug("The tracked issues of project {} could not be loaded: {}", projectKey, e.getMessage());
+                }
+            }
+            return filter;
+        }
+
+        public synchronized void add(String fingerprint) {
+            if (null != filter) {
+                filter.put(fingerprint);
+            }
+            recentlyAdded.add(fingerprint);
+        }
+
+        private void refresh(String projectKey) {
+            List<String> previouslyAdded;
+            synchronized (this) {
+                previouslyAdded = recentlyAdded;
+                recentlyAdded = new ArrayList<>();
+            }
+            JiraBloomFilter refreshedFilter = null;
+            try {
+                Optional<Collection<String>> fingerprints = fingerprintLoader.loadFingerprints(projectKey);
+                if (fingerprints.isPresent()) {
+                    long expectedInsertions = Math.max((long) fingerprints.get().size() * EXPECTED_INSERTIONS_FACTOR, MINIMUM_EXPECTED_INSERTIONS);
+                    refreshedFilter = new JiraBloomFilter(expectedInsertions, falsePositiveProbability);
+                    fingerprints.get().forEach(refreshedFilter::put);
+                    logger.debug("Loaded the fingerprints of {} tracked issues in project {}.", fingerprints.get().size(), projectKey);
+                }
+            } catch (IntegrationException e) {
+                logger.debug("The tracked issues of project {} could not be loaded. Every issue will be searched for until the next refresh.", projectKey, e);
+            }
+            synchronized (this) {
+                // After a failed snapshot the fingerprints added before it are dropped, since Jira has indexed them by the time of the next one.
+                if (null != refreshedFilter) {
+                    previouslyAdded.forEach(refreshedFilter::put);
+                    recentlyAdded.forEach(refreshedFilter::put);
+                }
+                filter = refreshedFilter;
+                refreshAt = System.currentTimeMillis() + refreshIntervalMillis;
+            }
+        }
+    }
+
+}
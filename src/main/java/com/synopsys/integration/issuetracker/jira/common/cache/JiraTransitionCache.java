@@ -0,0 +1,104 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.synopsys.integration.jira.common.model.components.TransitionComponent;
+
+public class JiraTransitionCache {
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofHours(1);
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final JiraExpiringCache<TransitionKey, TransitionComponent> transitions;
+
+    public JiraTransitionCache() {
+        this(DEFAULT_TIME_TO_LIVE, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public JiraTransitionCache(Duration timeToLive, int maximumSize) {
+        this.transitions = new JiraExpiringCache<>(timeToLive, maximumSize);
+    }
+
+    public Optional<TransitionComponent> get(String projectKey, String issueType, String statusId, String transitionName) {
+        return transitions.get(new TransitionKey(projectKey, issueType, statusId, transitionName));
+    }
+
+    public void put(String projectKey, String issueType, String statusId, String transitionName, TransitionComponent transition) {
+        transitions.put(new TransitionKey(projectKey, issueType, statusId, transitionName), transition);
+    }
+
+    public void invalidate(String projectKey, String issueType, String statusId, String transitionName) {
+        transitions.invalidate(new TransitionKey(projectKey, issueType, statusId, transitionName));
+    }
+
+    public void invalidateAll() {
+        transitions.invalidateAll();
+    }
+
+    public long getHitCount() {
+        return transitions.getHitCount();
+    }
+
+    public long getMissCount() {
+        return transitions.getMissCount();
+    }
+
+    // Jira workflows are assigned per project and issue type, so together with the current status they determine the available transitions.
+    private static final class TransitionKey {
+        private final String projectKey;
+        private final String issueType;
+        private final String statusId;
+        private final String transitionName;
+
+        public TransitionKey(String projectKey, String issueType, String statusId, String transitionName) {
+            this.projectKey = projectKey;
+            this.issueType = issueType;
+            this.statusId = statusId;
+            this.transitionName = transitionName;
+        }
+
+        @Override
+        public boolean equals(Object otherObject) {
+            if (this == otherObject) {
+                return true;
+            }
+            if (null == otherObject || getClass() != otherObject.getClass()) {
+                return false;
+            }
+            TransitionKey otherKey = (TransitionKey) otherObject;
+            return Objects.equals(projectKey, otherKey.projectKey)
+                       && Objects.equals(issueType, otherKey.issueType)
+                       && Objects.equals(statusId, otherKey.statusId)
+                       && Objects.equals(transitionName, otherKey.transitionName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(projectKey, issueType, statusId, transitionName);
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.issuetracker.common.exception.IssueTrackerException;
+import com.synopsys.integration.issuetracker.common.message.IssueTrackerResponse;
+
+// The results of a batch that is processed in partitions, by the position in the batch of the first request of each partition.
+// Failures are kept by the position of the request that failed. They can also happen after the last request of a partition was processed, e.g. while its comments are written.
+public class JiraBatchOutcomes {
+    private final NavigableMap<Integer, IssueTrackerResponse> partitionResponses = new ConcurrentSkipListMap<>();
+    private final NavigableMap<Integer, Exception> partitionFailures = new ConcurrentSkipListMap<>();
+
+    public void recordPartitionResponse(int firstPosition, IssueTrackerResponse response) {
+        partitionResponses.put(firstPosition, response);
+    }
+
+    public void recordPartitionFailure(int position, Exception failure) {
+        partitionFailures.putIfAbsent(position, failure);
+    }
+
+    public boolean hasFailed() {
+        return !partitionFailures.isEmpty();
+    }
+
+    // Fails like the sequential processing would have, at the failure of the earliest request. Otherwise the updated issue keys of the partitions are
+    // combined in the order of the partitions.
+    public IssueTrackerResponse createResponse() throws IntegrationException {
+        rethrowFirstFailure();
+        Set<String> statusMessages = new LinkedHashSet<>();
+        List<String> updatedIssueKeys = new ArrayList<>();
+        for (IssueTrackerResponse partitionResponse : partitionResponses.values()) {
+            if (StringUtils.isNotBlank(partitionResponse.getStatusMessage())) {
+                statusMessages.add(partitionResponse.getStatusMessage());
+            }
+            Collection<String> partitionIssueKeys = partitionResponse.getUpdatedIssueKeys();
+            if (null != partitionIssueKeys) {
+                partitionIssueKeys
+                    .stream()
+                    .filter(issueKey -> !updatedIssueKeys.contains(issueKey))
+                    .forEach(updatedIssueKeys::add);
+            }
+        }
+        return new IssueTrackerResponse(StringUtils.join(statusMessages, " "), updatedIssueKeys);
+    }
+
+    private void rethrowFirstFailure() throws IntegrationException {
+        Map.Entry<Integer, Exception> firstFailure = partitionFailures.firstEntry();
+        if (null == firstFailure) {
+            return;
+        }
+        Exception failure = firstFailure.getValue();
+        if (failure instanceof IntegrationException) {
+            throw (IntegrationException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        throw new IssueTrackerException("The batch was not processed completely.", failure);
+    }
+
+}
@@ -0,0 +1,53 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import java.util.Optional;
+
+// The outcome of the requests of one call that was processed together with the requests of other calls.
+public class JiraCallResult {
+    private final JiraIssueBatchResponse batchResponse;
+    private final Exception failure;
+
+    public static JiraCallResult success(JiraIssueBatchResponse batchResponse) {
+        return new JiraCallResult(batchResponse, null);
+    }
+
+    public static JiraCallResult failure(Exception failure) {
+        return new JiraCallResult(null, failure);
+    }
+
+    private JiraCallResult(JiraIssueBatchResponse batchResponse, Exception failure) {
+        this.batchResponse = batchResponse;
+        this.failure = failure;
+    }
+
+    public Optional<JiraIssueBatchResponse> getBatchResponse() {
+        return Optional.ofNullable(batchResponse);
+    }
+
+    public Optional<Exception> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+
+}
@@ -0,0 +1,63 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Merges consecutive comments for the same issue into as few comments as fit in the comment length that Jira accepts.
+public class JiraCommentPacker {
+    public static final String COMMENT_SEPARATOR = "\n\n";
+
+    private final int maxCommentLength;
+
+    public JiraCommentPacker() {
+        this(JiraContentValidator.CONTENT_LENGTH);
+    }
+
+    public JiraCommentPacker(int maxCommentLength) {
+        this.maxCommentLength = maxCommentLength;
+    }
+
+    // The comments keep their order and their text, including the description continued markers, so the merged comments read like the separate ones did.
+    // A comment that is too long on its own is left as it is.
+    public List<String> packComments(List<String> comments) {
+        List<String> packedComments = new ArrayList<>();
+        StringBuilder packedComment = null;
+        for (String comment : comments) {
+            if (null != packedComment && packedComment.length() + COMMENT_SEPARATOR.length() + comment.length() <= maxCommentLength) {
+                packedComment.append(COMMENT_SEPARATOR).append(comment);
+                continue;
+            }
+            if (null != packedComment) {
+                packedComments.add(packedComment.toString());
+            }
+            packedComment = new StringBuilder(comment);
+        }
+        if (null != packedComment) {
+            packedComments.add(packedComment.toString());
+        }
+        return packedComments;
+    }
+
+}
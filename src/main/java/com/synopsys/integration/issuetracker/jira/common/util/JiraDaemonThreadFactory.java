@@ -0,0 +1,44 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JiraDaemonThreadFactory implements ThreadFactory {
+    private final String threadNamePrefix;
+    private final AtomicInteger threadCount = new AtomicInteger(0);
+
+    public JiraDaemonThreadFactory(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, String.format("%s-%d", threadNamePrefix, threadCount.incrementAndGet()));
+        // Worker threads must never keep the host application from shutting down.
+        thread.setDaemon(true);
+        return thread;
+    }
+
+}
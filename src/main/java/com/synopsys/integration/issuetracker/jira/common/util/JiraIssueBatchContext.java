@@ -0,0 +1,226 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.synopsys.integration.issuetracker.common.message.IssueTrackerRequest;
+import com.synopsys.integration.issuetracker.common.message.IssueTrackerResponse;
+import com.synopsys.integration.issuetracker.jira.common.JiraIssueSearchProperties;
+import com.synopsys.integration.jira.common.model.response.IssueResponseModel;
+
+// Holds what is known about the issues of a single batch of requests. It is only used by the thread processing the batch.
+public class JiraIssueBatchContext {
+    private List<IssueTrackerRequest> requests;
+    private final Map<String, List<JiraIssueSearchResult>> prefetchedIssues;
+    private final Set<String> prefetchedProjects;
+    private final Set<String> transitionedIssueKeys;
+    private final Map<String, List<String>> commentsAwaitingTransition = new LinkedHashMap<>();
+    private final Map<String, List<String>> pendingComments = new LinkedHashMap<>();
+    private final Map<IssueTrackerRequest, JiraBulkCreatedIssue> bulkCreatedIssues = new IdentityHashMap<>();
+    // Shared with the partitions of the batch, which record their issue keys from other threads.
+    private final Map<String, Set<String>> issueKeysByFingerprint;
+    private final JiraBatchOutcomes batchOutcomes;
+    // The positions in the batch of the requests this context processes, in order. Null when it processes all of them.
+    private final List<Integer> requestPositions;
+    private int startedRequestCount = 0;
+    private int currentPosition = -1;
+
+    public JiraIssueBatchContext(List<IssueTrackerRequest> requests) {
+        this(requests, null, null, new ConcurrentHashMap<>(), new HashMap<>(), new HashSet<>(), new HashSet<>());
+    }
+
+    private JiraIssueBatchContext(List<IssueTrackerRequest> requests, JiraBatchOutcomes batchOutcomes, List<Integer> requestPositions, Map<String, Set<String>> issueKeysByFingerprint,
+        Map<String, List<JiraIssueSearchResult>> prefetchedIssues, Set<String> prefetchedProjects, Set<String> transitionedIssueKeys) {
+        this.requests = requests;
+        this.batchOutcomes = batchOutcomes;
+        this.requestPositions = requestPositions;
+        this.issueKeysByFingerprint = issueKeysByFingerprint;
+        this.prefetchedIssues = prefetchedIssues;
+        this.prefetchedProjects = prefetchedProjects;
+        this.transitionedIssueKeys = transitionedIssueKeys;
+    }
+
+    // The context of a part of the batch that is processed on another thread starts with what is known about the whole batch.
+    public JiraIssueBatchContext createPartitionContext(List<Integer> partitionPositions, JiraBatchOutcomes partitionBatchOutcomes) {
+        Map<String, List<JiraIssueSearchResult>> partitionPrefetchedIssues = new HashMap<>();
+        prefetchedIssues.forEach((projectSearchIdentifier, searchResults) -> partitionPrefetchedIssues.put(projectSearchIdentifier, new ArrayList<>(searchResults)));
+        JiraIssueBatchContext partitionContext = new JiraIssueBatchContext(requests, partitionBatchOutcomes, partitionPositions, issueKeysByFingerprint, partitionPrefetchedIssues,
+            new HashSet<>(prefetchedProjects), new HashSet<>());
+        for (Integer partitionPosition : partitionPositions) {
+            IssueTrackerRequest partitionRequest = requests.get(partitionPosition);
+            JiraBulkCreatedIssue bulkCreatedIssue = bulkCreatedIssues.get(partitionRequest);
+            if (null != bulkCreatedIssue) {
+                partitionContext.bulkCreatedIssues.put(partitionRequest, bulkCreatedIssue);
+            }
+        }
+        return partitionContext;
+    }
+
+    // The context of one of several calls that are processed one after the other on the same thread. The calls share what was prefetched for all of them,
+    // including the issues that earlier calls created, and which issues earlier calls transitioned.
+    public JiraIssueBatchContext createCallContext(List<IssueTrackerRequest> callRequests) {
+        return new JiraIssueBatchContext(callRequests, null, null, new ConcurrentHashMap<>(), prefetchedIssues, prefetchedProjects, transitionedIssueKeys);
+    }
+
+    public List<IssueTrackerRequest> getRequests() {
+        return requests;
+    }
+
+    // The planned requests refer to the same issues as the requests of the batch, so what was prefetched for them still applies.
+    public void setRequests(List<IssueTrackerRequest> requests) {
+        this.requests = requests;
+    }
+
+    // The requests are started in the order they were handed to the context, which tells the position of each request in the batch.
+    public void startRequest() {
+        if (null != requestPositions) {
+            currentPosition = requestPositions.get(startedRequestCount);
+            startedRequestCount++;
+        }
+    }
+
+    public void recordPartitionResponse(IssueTrackerResponse response) {
+        batchOutcomes.recordPartitionResponse(requestPositions.get(0), response);
+    }
+
+    // The failure is kept with the request that was being processed, or with the first request of the partition when none was started yet.
+    public void recordPartitionFailure(Exception failure) {
+        int failedPosition = 0 < startedRequestCount ? currentPosition : requestPositions.get(0);
+        batchOutcomes.recordPartitionFailure(failedPosition, failure);
+    }
+
+    public boolean isBatchFailed() {
+        return null != batchOutcomes && batchOutcomes.hasFailed();
+    }
+
+    public boolean isPrefetchAttempted(String projectSearchIdentifier) {
+        return prefetchedProjects.contains(projectSearchIdentifier);
+    }
+
+    // A null list records that the prefetch failed or was not possible, so each request is searched on its own.
+    public void setPrefetchedIssues(String projectSearchIdentifier, List<JiraIssueSearchResult> searchResults) {
+        prefetchedProjects.add(projectSearchIdentifier);
+        if (null != searchResults) {
+            prefetchedIssues.put(projectSearchIdentifier, new ArrayList<>(searchResults));
+        }
+    }
+
+    public Optional<List<JiraIssueSearchResult>> getPrefetchedIssues(String projectSearchIdentifier) {
+        return Optional.ofNullable(prefetchedIssues.get(projectSearchIdentifier));
+    }
+
+    // Issues created during the batch were not part of the prefetch, but later requests in the batch must still find them.
+    public void addCreatedIssue(IssueResponseModel issue, JiraIssueSearchProperties searchProperties) {
+        JiraIssueSearchResult searchResult = new JiraIssueSearchResult(issue, searchProperties);
+        prefetchedIssues.values().forEach(searchResults -> searchResults.add(searchResult));
+    }
+
+    public void addBulkCreatedIssue(IssueTrackerRequest request, JiraBulkCreatedIssue bulkCreatedIssue) {
+        bulkCreatedIssues.put(request, bulkCreatedIssue);
+    }
+
+    // The issue stays hidden from the other requests until its own request takes it, like an issue created by that request.
+    public Optional<JiraBulkCreatedIssue> takeBulkCreatedIssue(IssueTrackerRequest request) {
+        return Optional.ofNullable(bulkCreatedIssues.remove(request));
+    }
+
+    public boolean isBulkCreatedIssuePending(String issueKey) {
+        return bulkCreatedIssues.values()
+                   .stream()
+                   .anyMatch(bulkCreatedIssue -> issueKey.equals(bulkCreatedIssue.getIssue().getKey()));
+    }
+
+    public void recordIssueKey(IssueTrackerRequest request, String issueKey) {
+        JiraIssueSearchProperties searchProperties = request.getIssueSearchProperties();
+        String fingerprint = null != searchProperties ? searchProperties.getFingerprint() : "";
+        issueKeysByFingerprint.computeIfAbsent(fingerprint, ignored -> ConcurrentHashMap.newKeySet()).add(issueKey);
+    }
+
+    // The issue keys that the requests of the batch found or created, by the fingerprint of their search properties.
+    public Map<String, Set<String>> getIssueKeysByFingerprint() {
+        return issueKeysByFingerprint;
+    }
+
+    public void markTransitioned(String issueKey) {
+        transitionedIssueKeys.add(issueKey);
+    }
+
+    // The status from the prefetch is stale once the issue has been transitioned in this batch.
+    public boolean wasTransitioned(String issueKey) {
+        return transitionedIssueKeys.contains(issueKey);
+    }
+
+    // Comments that are still pending for the issue are held back as well, so they are sent before the comments of the transition.
+    public void markAwaitingTransition(String issueKey) {
+        commentsAwaitingTransition.computeIfAbsent(issueKey, ignored -> takePendingComments(issueKey));
+    }
+
+    public boolean isAwaitingTransition(String issueKey) {
+        return commentsAwaitingTransition.containsKey(issueKey);
+    }
+
+    public void addCommentAwaitingTransition(String issueKey, String comment) {
+        commentsAwaitingTransition.computeIfAbsent(issueKey, ignored -> new ArrayList<>()).add(comment);
+    }
+
+    // Removes the issue from the issues awaiting a transition and returns the comments held back for it.
+    public List<String> takeCommentsAwaitingTransition(String issueKey) {
+        List<String> comments = commentsAwaitingTransition.remove(issueKey);
+        return null != comments ? comments : new ArrayList<>();
+    }
+
+    public Map<String, List<String>> takeAllCommentsAwaitingTransition() {
+        Map<String, List<String>> comments = new LinkedHashMap<>(commentsAwaitingTransition);
+        commentsAwaitingTransition.clear();
+        return comments;
+    }
+
+    // Comments are collected per issue until the end of the batch, so that they can be written with as few requests as possible.
+    public void addPendingComments(String issueKey, List<String> comments) {
+        if (!comments.isEmpty()) {
+            pendingComments.computeIfAbsent(issueKey, ignored -> new ArrayList<>()).addAll(comments);
+        }
+    }
+
+    public List<String> takePendingComments(String issueKey) {
+        List<String> comments = pendingComments.remove(issueKey);
+        return null != comments ? comments : new ArrayList<>();
+    }
+
+    public Map<String, List<String>> takeAllPendingComments() {
+        Map<String, List<String>> comments = new LinkedHashMap<>(pendingComments);
+        pendingComments.clear();
+        return comments;
+    }
+
+}
@@ -0,0 +1,48 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.synopsys.integration.issuetracker.common.message.IssueTrackerResponse;
+
+public class JiraIssueBatchResponse {
+    private final IssueTrackerResponse response;
+    private final Map<String, Set<String>> issueKeysByFingerprint;
+
+    public JiraIssueBatchResponse(IssueTrackerResponse response, Map<String, Set<String>> issueKeysByFingerprint) {
+        this.response = response;
+        this.issueKeysByFingerprint = issueKeysByFingerprint;
+    }
+
+    public IssueTrackerResponse getResponse() {
+        return response;
+    }
+
+    // The issue keys that the requests of the batch found or created, by the fingerprint of their search properties.
+    public Map<String, Set<String>> getIssueKeysByFingerprint() {
+        return issueKeysByFingerprint;
+    }
+
+}
@@ -22,12 +22,18 @@
  */
 package com.synopsys.integration.issuetracker.jira.common.util;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -38,6 +44,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.issuetracker.common.IssueOperation;
 import com.synopsys.integration.issuetracker.common.config.IssueConfig;
@@ -45,9 +52,16 @@ import com.synopsys.integration.issuetracker.common.exception.IssueTrackerExcept
 import com.synopsys.integration.issuetracker.common.exception.IssueTrackerFieldException;
 import com.synopsys.integration.issuetracker.common.message.IssueContentModel;
 import com.synopsys.integration.issuetracker.common.message.IssueTrackerRequest;
+import com.synopsys.integration.issuetracker.common.message.IssueTrackerResponse;
 import com.synopsys.integration.issuetracker.common.service.IssueHandler;
+import com.synopsys.integration.issuetracker.jira.common.JiraConstants;
 import com.synopsys.integration.issuetracker.jira.common.JiraIssueSearchProperties;
+import com.synopsys.integration.issuetracker.jira.common.JiraSessionConfig;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraCreatedIssueCache;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraTrackedFingerprintFilter;
 import com.synopsys.integration.jira.common.cloud.builder.IssueRequestModelFieldsBuilder;
+import com.synopsys.integration.jira.common.model.components.IssueFieldsComponent;
+import com.synopsys.integration.jira.common.model.components.StatusDetailsComponent;
 import com.synopsys.integration.jira.common.model.request.builder.IssueRequestModelFieldsMapBuilder;
 import com.synopsys.integration.jira.common.model.response.IssueResponseModel;
 import com.synopsys.integration.rest.exception.IntegrationRestException;
@@ -55,51 +69,451 @@ import com.synopsys.integration.rest.exception.IntegrationRestException;
 public abstract class JiraIssueHandler extends IssueHandler<IssueResponseModel> {
     public static final String DESCRIPTION_CONTINUED_TEXT = "(description continued...)";
     public static final String DESCRIPTION_TRUNCATED_TEXT = "... (Comments are disabled.  Description data will be lost. See project information for more data.)";
+    public static final String ISSUE_CREATED_COMMENT = "This issue was automatically created by Alert.";
+    private static final int HTTP_STATUS_BAD_REQUEST = 400;
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final Gson gson;
     private final JiraTransitionHandler jiraTransitionHelper;
-    private final JiraIssuePropertyHandler jiraIssuePropertyHelper;
+    private final JiraIssuePropertyHandler<?> jiraIssuePropertyHelper;
+    private final JiraContentValidator contentValidator;
+    private final JiraSessionConfig sessionConfig;
+    private final JiraRestRequestHandler restRequestHandler;
+    private final JiraKeyedExecutor requestExecutor;
+    private final JiraCommentPacker commentPacker = new JiraCommentPacker();
+    private final JiraCreatedIssueCache createdIssueCache;
+    private final JiraTrackedFingerprintFilter trackedFingerprintFilter;
+    private final JiraProjectIssueSnapshot issueSnapshot;
+    private final ThreadLocal<JiraIssueBatchContext> batchContext = new ThreadLocal<>();
+    // Set when Jira rejects the comment field of a create request, e.g. because it is not on the create screen. The field is tried again once the metadata
+    // cache TTL has passed, since the screen may have been fixed in the meantime.
+    private volatile long inlineCommentsRejectedUntil = 0L;
 
     public JiraIssueHandler(Gson gson, JiraTransitionHandler jiraTransitionHandler, JiraIssuePropertyHandler<?> jiraIssuePropertyHandler, JiraContentValidator contentValidator) {
+        this(gson, jiraTransitionHandler, jiraIssuePropertyHandler, contentValidator, JiraSessionConfig.defaultConfig());
+    }
+
+    public JiraIssueHandler(Gson gson, JiraTransitionHandler jiraTransitionHandler, JiraIssuePropertyHandler<?> jiraIssuePropertyHandler, JiraContentValidator contentValidator, JiraSessionConfig sessionConfig) {
+        this(gson, jiraTransitionHandler, jiraIssuePropertyHandler, contentValidator, sessionConfig, null, null);
+    }
+
+    // Without a request executor the requests of a batch are processed one after the other.
+    public JiraIssueHandler(Gson gson, JiraTransitionHandler jiraTransitionHandler, JiraIssuePropertyHandler<?> jiraIssuePropertyHandler, JiraContentValidator contentValidator, JiraSessionConfig sessionConfig,
+        JiraRestRequestHandler restRequestHandler, Executor requestExecutor) {
+        this(gson, jiraTransitionHandler, jiraIssuePropertyHandler, contentValidator, sessionConfig, restRequestHandler, requestExecutor, null);
+    }
+
+    // Without a refresh executor the tracked fingerprints are loaded by the lookup that finds them expired.
+    public JiraIssueHandler(Gson gson, JiraTransitionHandler jiraTransitionHandler, JiraIssuePropertyHandler<?> jiraIssuePropertyHandler, JiraContentValidator contentValidator, JiraSessionConfig sessionConfig,
+        JiraRestRequestHandler restRequestHandler, Executor requestExecutor, Executor refreshExecutor) {
         super(contentValidator);
         this.gson = gson;
         this.jiraTransitionHelper = jiraTransitionHandler;
         this.jiraIssuePropertyHelper = jiraIssuePropertyHandler;
+        this.contentValidator = contentValidator;
+        this.sessionConfig = sessionConfig;
+        this.restRequestHandler = restRequestHandler;
+        this.requestExecutor = null != requestExecutor ? new JiraKeyedExecutor(requestExecutor, sessionConfig.getRequestConcurrency()) : null;
+        this.createdIssueCache = new JiraCreatedIssueCache(sessionConfig.getCreatedIssueCacheTtl(), sessionConfig.getCreatedIssueCacheMaxSize());
+        this.trackedFingerprintFilter = createTrackedFingerprintFilter(jiraIssuePropertyHandler, sessionConfig, refreshExecutor);
+        Duration issueSnapshotFullSyncInterval = sessionConfig.getIssueSnapshotFullSyncInterval();
+        this.issueSnapshot = issueSnapshotFullSyncInterval.isZero() ? null : new JiraProjectIssueSnapshot(jiraIssuePropertyHandler, issueSnapshotFullSyncInterval);
+    }
+
+    // The legacy search can find issues with another fingerprint, so only the fingerprint search can be skipped for a fingerprint that no issue carries.
+    // The snapshots are loaded on the refresh executor, so that no request waits for a search over the whole project.
+    private static JiraTrackedFingerprintFilter createTrackedFingerprintFilter(JiraIssuePropertyHandler<?> jiraIssuePropertyHandler, JiraSessionConfig sessionConfig,
+        Executor refreshExecutor) {
+        Duration refreshInterval = sessionConfig.getFingerprintFilterRefreshInterval();
+        if (refreshInterval.isZero() || sessionConfig.isLegacySearchFallback()) {
+            return null;
+        }
+        return new JiraTrackedFingerprintFilter(jiraIssuePropertyHandler::findTrackedFingerprints, refreshInterval, refreshExecutor);
     }
 
     public abstract IssueResponseModel createIssue(String issueCreator, String issueType, String projectName, IssueRequestModelFieldsMapBuilder fieldsBuilder) throws IntegrationException;
 
     public abstract String getIssueCreatorFieldKey();
 
+    // Implementations that can send the search properties with the create request override this, so the issue is never searchable without them.
+    protected IssueResponseModel createIssue(String issueCreator, String issueType, String projectName, IssueRequestModelFieldsMapBuilder fieldsBuilder, JiraIssueSearchProperties issueProperties)
+        throws IntegrationException {
+        IssueResponseModel issue = createIssue(issueCreator, issueType, projectName, fieldsBuilder);
+        addIssueProperties(issue.getKey(), issueProperties);
+        return issue;
+    }
+
+    // Returns the reporter as the create request expects it, or empty when the issue creator cannot be resolved for a REST create request.
+    protected abstract Optional<JsonObject> createReporterReference(String issueCreator) throws IntegrationException;
+
+    protected abstract List<IssueResponseModel> searchExistingIssues(String projectSearchIdentifier, IssueTrackerRequest request) throws IntegrationException;
+
+    // Processes the requests like createOrUpdateIssues, but looks up the existing issues of the whole batch with a few combined searches.
+    public IssueTrackerResponse processRequests(IssueConfig issueConfig, List<IssueTrackerRequest> requests) throws IntegrationException {
+        return processRequestBatch(issueConfig, requests).getResponse();
+    }
+
+    // Like processRequests, but the response also tells which issues each request ended up with.
+    public JiraIssueBatchResponse processRequestBatch(IssueConfig issueConfig, List<IssueTrackerRequest> requests) throws IntegrationException {
+        return processRequestBatch(issueConfig, new JiraIssueBatchContext(requests));
+    }
+
+    // Processes the requests of several calls one call after the other, so that a failing call does not fail the calls sent with it.
+    // The existing issues of all calls are still looked up with the combined searches of a single batch.
+    public List<JiraCallResult> processRequestCalls(IssueConfig issueConfig, List<List<IssueTrackerRequest>> callRequests) {
+        List<IssueTrackerRequest> requests = callRequests
+                                                 .stream()
+                                                 .flatMap(List::stream)
+                                                 .collect(Collectors.toList());
+        JiraIssueBatchContext sharedBatchContext = new JiraIssueBatchContext(requests);
+        if (StringUtils.isNotBlank(issueConfig.getProjectKey())) {
+            prefetchIssues(sharedBatchContext, issueConfig.getProjectKey());
+        }
+        List<JiraCallResult> callResults = new ArrayList<>(callRequests.size());
+        for (List<IssueTrackerRequest> requestsOfCall : callRequests) {
+            try {
+                callResults.add(JiraCallResult.success(processRequestBatch(issueConfig, sharedBatchContext.createCallContext(requestsOfCall))));
+            } catch (IntegrationException | RuntimeException e) {
+                callResults.add(JiraCallResult.failure(e));
+            }
+        }
+        return callResults;
+    }
+
+    private JiraIssueBatchResponse processRequestBatch(IssueConfig issueConfig, JiraIssueBatchContext currentBatchContext) throws IntegrationException {
+        List<IssueTrackerRequest> requests = currentBatchContext.getRequests();
+        batchContext.set(currentBatchContext);
+        try {
+            if (sessionConfig.isCollapseRedundantOperations()) {
+                requests = planRequests(issueConfig, currentBatchContext);
+            }
+            createIssuesInBulk(issueConfig, currentBatchContext);
+            Map<String, List<Integer>> partitions = partitionRequests(requests);
+            IssueTrackerResponse response;
+            if (null != requestExecutor && sessionConfig.getRequestConcurrency() > 1 && partitions.size() > 1) {
+                response = processPartitionsConcurrently(issueConfig, requests, partitions, currentBatchContext);
+            } else {
+                response = createOrUpdateIssuesAndComment(issueConfig, requests, currentBatchContext);
+            }
+            return new JiraIssueBatchResponse(response, currentBatchContext.getIssueKeysByFingerprint());
+        } finally {
+            batchContext.remove();
+        }
+    }
+
+    private List<IssueTrackerRequest> planRequests(IssueConfig issueConfig, JiraIssueBatchContext currentBatchContext) {
+        List<JiraIssueSearchResult> knownIssues = null;
+        if (StringUtils.isNotBlank(issueConfig.getProjectKey())) {
+            knownIssues = prefetchIssues(currentBatchContext, issueConfig.getProjectKey()).orElse(null);
+        }
+        JiraRequestPlanner requestPlanner = new JiraRequestPlanner(createIssueStateLookup(issueConfig.getProjectKey(), knownIssues));
+        List<IssueTrackerRequest> requests = currentBatchContext.getRequests();
+        List<IssueTrackerRequest> plannedRequests = requestPlanner.planRequests(requests);
+        if (plannedRequests.size() < requests.size()) {
+            logger.debug("Collapsed {} requests into {}.", requests.size(), plannedRequests.size());
+        }
+        currentBatchContext.setRequests(plannedRequests);
+        return plannedRequests;
+    }
+
+    // Without the prefetched issues nothing is known about whether an issue exists. Issues created shortly before may not be searchable yet.
+    private Function<JiraIssueSearchProperties, JiraRequestPlanner.IssueState> createIssueStateLookup(String projectKey, List<JiraIssueSearchResult> knownIssues) {
+        return searchProperties -> {
+            if (null == knownIssues) {
+                return JiraRequestPlanner.IssueState.UNKNOWN;
+            }
+            boolean existing = !jiraIssuePropertyHelper.selectMatchingIssues(searchProperties, knownIssues).isEmpty()
+                                   || !createdIssueCache.get(projectKey, searchProperties.getFingerprint()).isEmpty();
+            return existing ? JiraRequestPlanner.IssueState.EXISTING : JiraRequestPlanner.IssueState.MISSING;
+        };
+    }
+
+    // Requests with the same search properties end up in the same partition, which lists their positions in the batch in order.
+    private Map<String, List<Integer>> partitionRequests(List<IssueTrackerRequest> requests) {
+        Map<String, List<Integer>> partitions = new LinkedHashMap<>();
+        for (int position = 0; position < requests.size(); position++) {
+            JiraIssueSearchProperties searchProperties = requests.get(position).getIssueSearchProperties();
+            String partitionKey = null != searchProperties ? String.valueOf(searchProperties.getFingerprint()) : "";
+            partitions.computeIfAbsent(partitionKey, ignored -> new ArrayList<>()).add(position);
+        }
+        return partitions;
+    }
+
+    // Each partition runs on the lane of the request executor that its search properties map to, so work on the same key never overlaps, even across batches.
+    // The response combines the responses of the partitions, or rethrows the failure of the earliest request that failed.
+    private IssueTrackerResponse processPartitionsConcurrently(IssueConfig issueConfig, List<IssueTrackerRequest> requests, Map<String, List<Integer>> partitions,
+        JiraIssueBatchContext currentBatchContext) throws IntegrationException {
+        if (StringUtils.isNotBlank(issueConfig.getProjectKey())) {
+            // The partitions start from the combined search of the whole batch instead of each running their own.
+            prefetchIssues(currentBatchContext, issueConfig.getProjectKey());
+        }
+        JiraBatchOutcomes batchOutcomes = new JiraBatchOutcomes();
+        List<CompletableFuture<Void>> partitionFutures = new ArrayList<>(partitions.size());
+        for (Map.Entry<String, List<Integer>> partition : partitions.entrySet()) {
+            List<IssueTrackerRequest> partitionRequests = partition.getValue()
+                                                              .stream()
+                                                              .map(requests::get)
+                                                              .collect(Collectors.toList());
+            JiraIssueBatchContext partitionContext = currentBatchContext.createPartitionContext(partition.getValue(), batchOutcomes);
+            partitionFutures.add(requestExecutor.execute(partition.getKey(), () -> processPartition(issueConfig, partitionRequests, partitionContext)));
+        }
+        CompletableFuture.allOf(partitionFutures.toArray(new CompletableFuture[0])).join();
+        return batchOutcomes.createResponse();
+    }
+
+    private void processPartition(IssueConfig issueConfig, List<IssueTrackerRequest> partitionRequests, JiraIssueBatchContext partitionContext) {
+        if (partitionContext.isBatchFailed()) {
+            // The sequential processing would have stopped at the failure, so partitions that have not started yet are skipped.
+            return;
+        }
+        batchContext.set(partitionContext);
+        try {
+            partitionContext.recordPartitionResponse(createOrUpdateIssuesAndComment(issueConfig, partitionRequests, partitionContext));
+        } catch (IntegrationException | RuntimeException e) {
+            partitionContext.recordPartitionFailure(e);
+        } finally {
+            batchContext.remove();
+        }
+    }
+
+    // The comments collected while the requests were handled are written even when a later request fails.
+    private IssueTrackerResponse createOrUpdateIssuesAndComment(IssueConfig issueConfig, List<IssueTrackerRequest> requests, JiraIssueBatchContext currentBatchContext)
+        throws IntegrationException {
+        IssueTrackerResponse response;
+        try {
+            response = createOrUpdateIssues(issueConfig, requests);
+        } catch (IntegrationException | RuntimeException e) {
+            try {
+                postPendingComments(currentBatchContext);
+            } catch (IntegrationException | RuntimeException commentException) {
+                e.addSuppressed(commentException);
+            }
+            throw e;
+        }
+        postPendingComments(currentBatchContext);
+        return response;
+    }
+
+    protected abstract void postComment(String issueKey, String comment) throws IntegrationException;
+
+    // While a transition of the issue is still to come in this batch, the comment is held back so that it can be sent with the transition.
+    // Otherwise it waits for the end of the batch, where the comments of each issue are merged into as few comments as possible.
+    @Override
+    protected void addComment(String issueKey, String comment) throws IntegrationException {
+        JiraIssueBatchContext currentBatchContext = batchContext.get();
+        if (null == currentBatchContext) {
+            postComment(issueKey, comment);
+        } else if (currentBatchContext.isAwaitingTransition(issueKey)) {
+            currentBatchContext.addCommentAwaitingTransition(issueKey, comment);
+        } else {
+            currentBatchContext.addPendingComments(issueKey, Collections.singletonList(comment));
+        }
+    }
+
+    private void releaseCommentsAwaitingTransition(JiraIssueBatchContext currentBatchContext) {
+        currentBatchContext.takeAllCommentsAwaitingTransition().forEach(currentBatchContext::addPendingComments);
+    }
+
+    private void postPendingComments(JiraIssueBatchContext currentBatchContext) throws IntegrationException {
+        releaseCommentsAwaitingTransition(currentBatchContext);
+        for (Map.Entry<String, List<String>> issueComments : currentBatchContext.takeAllPendingComments().entrySet()) {
+            // The continued description only reads correctly in order, so the comments of an issue are written one after the other.
+            for (String comment : commentPacker.packComments(issueComments.getValue())) {
+                postComment(issueComments.getKey(), comment);
+            }
+        }
+    }
+
+    @Override
+    protected List<IssueResponseModel> retrieveExistingIssues(String projectSearchIdentifier, IssueTrackerRequest request) throws IntegrationException {
+        JiraIssueBatchContext currentBatchContext = batchContext.get();
+        if (null == currentBatchContext) {
+            return addRecentlyCreatedIssues(projectSearchIdentifier, request, searchOrSkipExistingIssues(projectSearchIdentifier, request));
+        }
+        currentBatchContext.startRequest();
+        // Comments of the previous request that did not end up in a transition are written with the other comments of the batch.
+        releaseCommentsAwaitingTransition(currentBatchContext);
+
+        List<IssueResponseModel> existingIssues;
+        Optional<List<JiraIssueSearchResult>> prefetchedIssues = prefetchIssues(currentBatchContext, projectSearchIdentifier);
+        if (prefetchedIssues.isPresent()) {
+            JiraIssueSearchProperties searchProperties = request.getIssueSearchProperties();
+            existingIssues = jiraIssuePropertyHelper.selectMatchingIssues(searchProperties, prefetchedIssues.get())
+                                 .stream()
+                                 .map(JiraIssueSearchResult::getIssue)
+                                 .collect(Collectors.toList());
+        } else {
+            existingIssues = searchOrSkipExistingIssues(projectSearchIdentifier, request);
+        }
+        existingIssues = addRecentlyCreatedIssues(projectSearchIdentifier, request, existingIssues);
+
+        IssueOperation operation = request.getOperation();
+        if (jiraTransitionHelper.canTransitionWithComments() && (IssueOperation.OPEN == operation || IssueOperation.RESOLVE == operation)) {
+            existingIssues.forEach(issue -> currentBatchContext.markAwaitingTransition(issue.getKey()));
+        }
+        for (IssueResponseModel existingIssue : existingIssues) {
+            currentBatchContext.recordIssueKey(request, existingIssue.getKey());
+        }
+        return existingIssues;
+    }
+
+    private List<IssueResponseModel> searchOrSkipExistingIssues(String projectSearchIdentifier, IssueTrackerRequest request) throws IntegrationException {
+        if (isDefinitelyUntracked(projectSearchIdentifier, request.getIssueSearchProperties())) {
+            return new ArrayList<>();
+        }
+        return searchExistingIssues(projectSearchIdentifier, request);
+    }
+
+    // Search properties with blank values also match issues with other fingerprints, so they are always searched for.
+    private boolean isDefinitelyUntracked(String projectSearchIdentifier, JiraIssueSearchProperties searchProperties) {
+        return null != trackedFingerprintFilter && null != searchProperties && jiraIssuePropertyHelper.isFingerprintSearchable(searchProperties)
+                   && trackedFingerprintFilter.isDefinitelyUntracked(projectSearchIdentifier, searchProperties.getFingerprint());
+    }
+
+    // Jira adds new issues to its search index asynchronously, so the issues created shortly before are added to the search results for a while.
+    private List<IssueResponseModel> addRecentlyCreatedIssues(String projectSearchIdentifier, IssueTrackerRequest request, List<IssueResponseModel> foundIssues) {
+        JiraIssueSearchProperties searchProperties = request.getIssueSearchProperties();
+        if (null == searchProperties) {
+            return foundIssues;
+        }
+        List<IssueResponseModel> createdIssues = createdIssueCache.get(projectSearchIdentifier, searchProperties.getFingerprint());
+        if (createdIssues.isEmpty()) {
+            return foundIssues;
+        }
+        Set<String> foundIssueKeys = foundIssues
+                                         .stream()
+                                         .map(IssueResponseModel::getKey)
+                                         .collect(Collectors.toSet());
+        List<IssueResponseModel> issues = new ArrayList<>(foundIssues);
+        JiraIssueBatchContext currentBatchContext = batchContext.get();
+        boolean createdIssueFound = false;
+        for (IssueResponseModel createdIssue : createdIssues) {
+            if (null != currentBatchContext && currentBatchContext.isBulkCreatedIssuePending(createdIssue.getKey())) {
+                // Left to the request it was created for, which picks it up in createIssue.
+                continue;
+            }
+            if (foundIssueKeys.contains(createdIssue.getKey())) {
+                createdIssueFound = true;
+            } else {
+                logger.debug("Issue {} is not searchable yet. Using the issue created by an earlier request.", createdIssue.getKey());
+                issues.add(createdIssue);
+            }
+        }
+        if (createdIssueFound) {
+            createdIssueCache.removeFound(projectSearchIdentifier, searchProperties.getFingerprint(), foundIssueKeys);
+        }
+        return issues;
+    }
+
+    // Only the identity of the issue is kept, because its status may change before the issue is found again.
+    private IssueResponseModel createIssueReference(IssueResponseModel issue) {
+        JsonObject issueJson = gson.toJsonTree(issue).getAsJsonObject();
+        issueJson.remove("fields");
+        return gson.fromJson(issueJson, IssueResponseModel.class);
+    }
+
+    private Optional<List<JiraIssueSearchResult>> prefetchIssues(JiraIssueBatchContext currentBatchContext, String projectSearchIdentifier) {
+        if (!currentBatchContext.isPrefetchAttempted(projectSearchIdentifier)) {
+            List<JiraIssueSearchProperties> searchPropertiesList = new ArrayList<>();
+            for (IssueTrackerRequest request : currentBatchContext.getRequests()) {
+                JiraIssueSearchProperties searchProperties = request.getIssueSearchProperties();
+                if (!isDefinitelyUntracked(projectSearchIdentifier, searchProperties)) {
+                    searchPropertiesList.add(searchProperties);
+                }
+            }
+            List<JiraIssueSearchResult> searchResults = findIssuesInSnapshot(projectSearchIdentifier, searchPropertiesList);
+            if (null == searchResults) {
+                try {
+                    searchResults = jiraIssuePropertyHelper
+                                        .findIssuesForBatch(projectSearchIdentifier, searchPropertiesList, sessionConfig.getSearchBatchSize(), sessionConfig.getMaxJqlLength())
+                                        .orElse(null);
+                } catch (IntegrationException e) {
+                    logger.debug("The combined issue search failed. Each request will be searched on its own.", e);
+                }
+            }
+            currentBatchContext.setPrefetchedIssues(projectSearchIdentifier, searchResults);
+        }
+        return currentBatchContext.getPrefetchedIssues(projectSearchIdentifier);
+    }
+
+    // Null when there is no snapshot or it could not be synced, so the issues are searched for instead.
+    private List<JiraIssueSearchResult> findIssuesInSnapshot(String projectSearchIdentifier, List<JiraIssueSearchProperties> searchPropertiesList) {
+        if (null == issueSnapshot) {
+            return null;
+        }
+        try {
+            return issueSnapshot.findIssues(projectSearchIdentifier, searchPropertiesList).orElse(null);
+        } catch (IntegrationException e) {
+            logger.debug("The issue snapshot of project {} could not be synced. The issues will be searched for.", projectSearchIdentifier, e);
+            return null;
+        }
+    }
+
     @Override
     protected Optional<IssueResponseModel> createIssue(IssueConfig issueConfig, IssueTrackerRequest request)
         throws IntegrationException {
+        JiraIssueBatchContext currentBatchContext = batchContext.get();
+        if (null == currentBatchContext) {
+            return createNewIssue(issueConfig, request);
+        }
+        Optional<IssueResponseModel> createdIssue = createNewIssue(issueConfig, request);
+        createdIssue.ifPresent(issue -> currentBatchContext.recordIssueKey(request, issue.getKey()));
+        return createdIssue;
+    }
+
+    private Optional<IssueResponseModel> createNewIssue(IssueConfig issueConfig, IssueTrackerRequest request) throws IntegrationException {
         JiraIssueSearchProperties issueProperties = request.getIssueSearchProperties();
         IssueContentModel contentModel = request.getRequestContent();
 
-        IssueContentModel issueContentModel = contentModel;
-        if (!contentModel.getDescriptionComments().isEmpty() && !issueConfig.getCommentOnIssues()) {
-            String description = createDescriptionText(contentModel.getDescription());
-            issueContentModel = IssueContentModel.of(contentModel.getTitle(), description, Collections.emptyList());
-        }
-
-        IssueRequestModelFieldsBuilder fieldsBuilder = createFieldsBuilder(issueContentModel);
-        fieldsBuilder.setProject(issueConfig.getProjectId());
-        fieldsBuilder.setIssueType(issueConfig.getIssueType());
+        IssueContentModel issueContentModel = createIssueContent(issueConfig, contentModel);
+        IssueRequestModelFieldsBuilder fieldsBuilder = createFieldsBuilder(issueConfig, issueContentModel);
         String issueCreator = issueConfig.getIssueCreator();
 
+        List<String> initialComments = issueConfig.getCommentOnIssues() ? createInitialComments(issueContentModel) : Collections.emptyList();
+        JiraIssueBatchContext currentBatchContext = batchContext.get();
+        Optional<JiraBulkCreatedIssue> bulkCreatedIssue = null != currentBatchContext ? currentBatchContext.takeBulkCreatedIssue(request) : Optional.empty();
         try {
-            IssueResponseModel issue = createIssue(issueCreator, issueConfig.getIssueType(), issueConfig.getProjectName(), fieldsBuilder);
+            IssueResponseModel issue = null;
+            List<String> remainingComments = initialComments;
+            if (bulkCreatedIssue.isPresent()) {
+                issue = bulkCreatedIssue.get().getIssue();
+                if (bulkCreatedIssue.get().isCommentsIncluded()) {
+                    remainingComments = Collections.emptyList();
+                }
+            } else if (!initialComments.isEmpty() && isInlineCommentsSupported()) {
+                try {
+                    Optional<IssueResponseModel> createdIssue = createIssueThroughRestRequest(issueCreator, issueConfig.getIssueType(), fieldsBuilder, issueProperties, initialComments);
+                    if (createdIssue.isPresent()) {
+                        issue = createdIssue.get();
+                        remainingComments = Collections.emptyList();
+                    }
+                } catch (IntegrationRestException e) {
+                    if (!isCommentFieldRejected(e)) {
+                        throw e;
+                    }
+                    logger.debug("Jira rejected the comment field of the create request. The issue will be created without comments.", e);
+                    inlineCommentsRejectedUntil = System.currentTimeMillis() + sessionConfig.getMetadataCacheTtl().toMillis();
+                }
+            }
+            if (null == issue) {
+                issue = createIssueThroughRestRequest(issueCreator, issueConfig.getIssueType(), fieldsBuilder, issueProperties, Collections.emptyList()).orElse(null);
+                if (null == issue) {
+                    issue = createIssue(issueCreator, issueConfig.getIssueType(), issueConfig.getProjectName(), fieldsBuilder, issueProperties);
+                }
+            }
             logger.debug("Created new Jira Cloud issue: {}", issue.getKey());
             String issueKey = issue.getKey();
-            addIssueProperties(issueKey, issueProperties);
-            if (issueConfig.getCommentOnIssues()) {
-                addComment(issueKey, "This issue was automatically created by Alert.");
-                for (String additionalComment : issueContentModel.getDescriptionComments()) {
-                    String comment = String.format("%s \n %s", DESCRIPTION_CONTINUED_TEXT, additionalComment);
-                    addComment(issueKey, comment);
+            if (!bulkCreatedIssue.isPresent()) {
+                recordCreatedIssue(issueConfig.getProjectKey(), issueProperties, issue);
+            }
+            if (null != currentBatchContext) {
+                currentBatchContext.addCreatedIssue(issue, issueProperties);
+                currentBatchContext.addPendingComments(issueKey, remainingComments);
+            } else {
+                // The continued description only reads correctly in order, so these are written one after the other.
+                for (String comment : remainingComments) {
+                    postComment(issueKey, comment);
                 }
             }
             return Optional.ofNullable(issue);
@@ -109,14 +523,246 @@ public abstract class JiraIssueHandler extends IssueHandler<IssueResponseModel>
         return Optional.empty();
     }
 
+    // Keeps a new issue findable for later batches, before Jira has added it to its search index.
+    private void recordCreatedIssue(String projectKey, JiraIssueSearchProperties issueProperties, IssueResponseModel issue) {
+        jiraIssuePropertyHelper.indexIssue(projectKey, issueProperties, issue.getKey());
+        createdIssueCache.add(projectKey, issueProperties.getFingerprint(), createIssueReference(issue));
+        if (null != trackedFingerprintFilter) {
+            trackedFingerprintFilter.add(projectKey, issueProperties.getFingerprint());
+        }
+        if (null != issueSnapshot) {
+            issueSnapshot.addIssue(projectKey, new JiraIssueSearchResult(createIssueReference(issue), issueProperties));
+        }
+    }
+
+    private boolean isInlineCommentsSupported() {
+        return System.currentTimeMillis() >= inlineCommentsRejectedUntil;
+    }
+
+    // Only a rejected comment field is worth a second create request. Any other error would be rejected again.
+    private boolean isCommentFieldRejected(IntegrationRestException restException) {
+        if (HTTP_STATUS_BAD_REQUEST != restException.getHttpStatusCode()) {
+            return false;
+        }
+        try {
+            JsonObject responseContent = gson.fromJson(restException.getHttpResponseContent(), JsonObject.class);
+            JsonElement errors = null != responseContent ? responseContent.get("errors") : null;
+            return null != errors && errors.isJsonObject() && errors.getAsJsonObject().has("comment");
+        } catch (JsonParseException e) {
+            return false;
+        }
+    }
+
+    private List<String> createInitialComments(IssueContentModel issueContentModel) {
+        List<String> initialComments = new ArrayList<>();
+        initialComments.add(ISSUE_CREATED_COMMENT);
+        for (String additionalComment : issueContentModel.getDescriptionComments()) {
+            initialComments.add(String.format("%s \n %s", DESCRIPTION_CONTINUED_TEXT, additionalComment));
+        }
+        return initialComments;
+    }
+
+    private Optional<IssueResponseModel> createIssueThroughRestRequest(String issueCreator, String issueType, IssueRequestModelFieldsMapBuilder fieldsBuilder, JiraIssueSearchProperties issueProperties,
+        List<String> comments) throws IntegrationException {
+        Optional<JsonObject> createRequest = createIssueRequestJson(issueCreator, issueType, fieldsBuilder, issueProperties, comments);
+        if (!createRequest.isPresent()) {
+            return Optional.empty();
+        }
+        // Jira answers with the id, key and self link of the new issue, which is all the caller reads from it.
+        JsonObject createResponse = restRequestHandler.post("/issue", createRequest.get());
+        return Optional.of(gson.fromJson(createResponse, IssueResponseModel.class));
+    }
+
+    // Returns empty when the issue cannot be created through the REST request handler.
+    private Optional<JsonObject> createIssueRequestJson(String issueCreator, String issueType, IssueRequestModelFieldsMapBuilder fieldsBuilder, JiraIssueSearchProperties issueProperties,
+        List<String> comments) throws IntegrationException {
+        if (null == restRequestHandler) {
+            return Optional.empty();
+        }
+        JsonObject fields = gson.toJsonTree(fieldsBuilder.build()).getAsJsonObject();
+        fields.add("issuetype", createNameReference(issueType));
+        if (StringUtils.isNotBlank(issueCreator)) {
+            Optional<JsonObject> reporter = createReporterReference(issueCreator);
+            if (!reporter.isPresent()) {
+                return Optional.empty();
+            }
+            fields.add("reporter", reporter.get());
+        }
+
+        JsonObject searchProperty = new JsonObject();
+        searchProperty.addProperty("key", JiraConstants.JIRA_ISSUE_PROPERTY_KEY);
+        searchProperty.add("value", createIssuePropertyValue(issueProperties));
+        JsonArray properties = new JsonArray();
+        properties.add(searchProperty);
+
+        JsonObject createRequest = new JsonObject();
+        createRequest.add("fields", fields);
+        createRequest.add("properties", properties);
+        if (!comments.isEmpty()) {
+            createRequest.add("update", createCommentUpdate(comments));
+        }
+        return Optional.of(createRequest);
+    }
+
+    // Creates the issues of the OPEN requests that the batch search proved to have no issue yet. Their requests pick the issues up in createIssue.
+    private void createIssuesInBulk(IssueConfig issueConfig, JiraIssueBatchContext currentBatchContext) {
+        int bulkCreateBatchSize = sessionConfig.getBulkCreateBatchSize();
+        if (null == restRequestHandler || 0 == bulkCreateBatchSize || StringUtils.isBlank(issueConfig.getProjectKey())) {
+            return;
+        }
+        Optional<List<JiraIssueSearchResult>> prefetchedIssues = prefetchIssues(currentBatchContext, issueConfig.getProjectKey());
+        if (!prefetchedIssues.isPresent()) {
+            return;
+        }
+
+        // The same lookup as the planner's, so an issue that Jira has not indexed yet is not created a second time.
+        Function<JiraIssueSearchProperties, JiraRequestPlanner.IssueState> issueStateLookup = createIssueStateLookup(issueConfig.getProjectKey(), prefetchedIssues.get());
+        boolean includeComments = issueConfig.getCommentOnIssues() && isInlineCommentsSupported();
+        Set<String> plannedFingerprints = new HashSet<>();
+        List<IssueTrackerRequest> pendingRequests = new ArrayList<>();
+        List<JsonObject> pendingIssueUpdates = new ArrayList<>();
+        for (IssueTrackerRequest request : currentBatchContext.getRequests()) {
+            JiraIssueSearchProperties searchProperties = request.getIssueSearchProperties();
+            if (IssueOperation.OPEN != request.getOperation()
+                    || plannedFingerprints.contains(searchProperties.getFingerprint())
+                    || JiraRequestPlanner.IssueState.MISSING != issueStateLookup.apply(searchProperties)) {
+                continue;
+            }
+            try {
+                // Requests that would fail the content validation are left to the regular flow, which reports the failure.
+                contentValidator.validateContentLength(request.getRequestContent());
+                IssueContentModel issueContentModel = createIssueContent(issueConfig, request.getRequestContent());
+                List<String> comments = includeComments ? createInitialComments(issueContentModel) : Collections.emptyList();
+                Optional<JsonObject> issueUpdate = createIssueRequestJson(issueConfig.getIssueCreator(), issueConfig.getIssueType(), createFieldsBuilder(issueConfig, issueContentModel), searchProperties, comments);
+                if (!issueUpdate.isPresent()) {
+                    continue;
+                }
+                plannedFingerprints.add(searchProperties.getFingerprint());
+                pendingRequests.add(request);
+                pendingIssueUpdates.add(issueUpdate.get());
+            } catch (IntegrationException e) {
+                logger.debug("The issue of a request will be created on its own.", e);
+            }
+        }
+
+        for (int fromIndex = 0; fromIndex < pendingRequests.size(); fromIndex += bulkCreateBatchSize) {
+            int toIndex = Math.min(fromIndex + bulkCreateBatchSize, pendingRequests.size());
+            createIssuesInBulk(issueConfig.getProjectKey(), currentBatchContext, pendingRequests.subList(fromIndex, toIndex), pendingIssueUpdates.subList(fromIndex, toIndex),
+                includeComments);
+        }
+    }
+
+    // Issues that Jira rejected are not recorded, so their requests create them on their own and report the error as before.
+    // The created issues are recorded right away, so a batch that fails before their requests are reached does not create them again later.
+    private void createIssuesInBulk(String projectKey, JiraIssueBatchContext currentBatchContext, List<IssueTrackerRequest> requests, List<JsonObject> issueUpdates,
+        boolean commentsIncluded) {
+        JsonArray issueUpdatesJson = new JsonArray();
+        issueUpdates.forEach(issueUpdatesJson::add);
+        JsonObject bulkRequest = new JsonObject();
+        bulkRequest.add("issueUpdates", issueUpdatesJson);
+
+        JsonObject bulkResponse;
+        try {
+            bulkResponse = restRequestHandler.post("/issue/bulk", bulkRequest);
+        } catch (IntegrationException e) {
+            logger.debug("The bulk creation of {} issues failed. Each issue will be created on its own.", requests.size(), e);
+            return;
+        }
+
+        Set<Integer> failedElementNumbers = new HashSet<>();
+        JsonArray errors = bulkResponse.getAsJsonArray("errors");
+        if (null != errors) {
+            for (JsonElement error : errors) {
+                JsonElement failedElementNumber = error.getAsJsonObject().get("failedElementNumber");
+                if (null != failedElementNumber && !failedElementNumber.isJsonNull()) {
+                    failedElementNumbers.add(failedElementNumber.getAsInt());
+                }
+            }
+        }
+        JsonArray createdIssues = bulkResponse.getAsJsonArray("issues");
+        if (null == createdIssues) {
+            return;
+        }
+        // The created issues are listed in request order, skipping the elements that failed.
+        int createdIssueIndex = 0;
+        for (int elementNumber = 0; elementNumber < requests.size() && createdIssueIndex < createdIssues.size(); elementNumber++) {
+            if (!failedElementNumbers.contains(elementNumber)) {
+                IssueTrackerRequest request = requests.get(elementNumber);
+                IssueResponseModel issue = gson.fromJson(createdIssues.get(createdIssueIndex), IssueResponseModel.class);
+                recordCreatedIssue(projectKey, request.getIssueSearchProperties(), issue);
+                currentBatchContext.addBulkCreatedIssue(request, new JiraBulkCreatedIssue(issue, commentsIncluded));
+                createdIssueIndex++;
+            }
+        }
+    }
+
+    private JsonObject createCommentUpdate(List<String> comments) {
+        JsonArray commentOperations = new JsonArray();
+        for (String comment : comments) {
+            JsonObject commentBody = new JsonObject();
+            commentBody.addProperty("body", comment);
+            JsonObject addOperation = new JsonObject();
+            addOperation.add("add", commentBody);
+            commentOperations.add(addOperation);
+        }
+        JsonObject update = new JsonObject();
+        update.add("comment", commentOperations);
+        return update;
+    }
+
+    private JsonObject createNameReference(String name) {
+        JsonObject nameReference = new JsonObject();
+        nameReference.addProperty("name", name);
+        return nameReference;
+    }
+
     private String createDescriptionText(String description) {
         String truncatedDescription = StringUtils.substring(description, 0, description.length() - DESCRIPTION_TRUNCATED_TEXT.length());
         return StringUtils.join(truncatedDescription, DESCRIPTION_TRUNCATED_TEXT);
     }
 
+    private String readIssueTypeId(IssueFieldsComponent fields) {
+        if (null == fields) {
+            return null;
+        }
+        JsonElement fieldsJson = gson.toJsonTree(fields);
+        return fieldsJson.isJsonObject() ? JiraTransitionHandler.readIssueTypeId(fieldsJson.getAsJsonObject()) : null;
+    }
+
     @Override
     protected boolean transitionIssue(IssueResponseModel issueModel, IssueConfig issueConfig, IssueOperation operation) throws IntegrationException {
-        return jiraTransitionHelper.transitionIssueIfNecessary(issueModel.getKey(), issueConfig, operation);
+        String issueKey = issueModel.getKey();
+        JiraIssueBatchContext currentBatchContext = batchContext.get();
+        StatusDetailsComponent knownStatus = null;
+        String knownIssueTypeId = null;
+        if (null == currentBatchContext || !currentBatchContext.wasTransitioned(issueKey)) {
+            knownStatus = Optional.ofNullable(issueModel.getFields())
+                              .map(IssueFieldsComponent::getStatus)
+                              .orElse(null);
+            knownIssueTypeId = readIssueTypeId(issueModel.getFields());
+        }
+        List<String> comments = null != currentBatchContext ? currentBatchContext.takeCommentsAwaitingTransition(issueKey) : Collections.emptyList();
+        boolean transitioned;
+        try {
+            transitioned = jiraTransitionHelper.transitionIssueIfNecessary(issueKey, knownStatus, knownIssueTypeId, issueConfig, operation, commentPacker.packComments(comments));
+        } catch (IntegrationException e) {
+            if (null != currentBatchContext) {
+                currentBatchContext.addPendingComments(issueKey, comments);
+            }
+            throw e;
+        }
+        if (transitioned && null != issueSnapshot) {
+            // The next sync reads the new status, unless Jira has not indexed the transition yet.
+            issueSnapshot.updateIssue(issueConfig.getProjectKey(), issueKey, this::createIssueReference);
+        }
+        if (null != currentBatchContext) {
+            if (transitioned) {
+                currentBatchContext.markTransitioned(issueKey);
+            } else {
+                currentBatchContext.addPendingComments(issueKey, comments);
+            }
+        }
+        return transitioned;
     }
 
     private IssueTrackerException improveRestException(IntegrationRestException restException, String issueCreatorEmail) {
@@ -162,10 +808,24 @@ public abstract class JiraIssueHandler extends IssueHandler<IssueResponseModel>
         jiraIssuePropertyHelper.addPropertiesToIssue(issueKey, issueProperties);
     }
 
-    private IssueRequestModelFieldsBuilder createFieldsBuilder(IssueContentModel contentModel) {
+    protected JsonObject createIssuePropertyValue(JiraIssueSearchProperties issueProperties) {
+        return gson.toJsonTree(issueProperties.withFingerprint()).getAsJsonObject();
+    }
+
+    private IssueContentModel createIssueContent(IssueConfig issueConfig, IssueContentModel contentModel) {
+        if (!contentModel.getDescriptionComments().isEmpty() && !issueConfig.getCommentOnIssues()) {
+            String description = createDescriptionText(contentModel.getDescription());
+            return IssueContentModel.of(contentModel.getTitle(), description, Collections.emptyList());
+        }
+        return contentModel;
+    }
+
+    private IssueRequestModelFieldsBuilder createFieldsBuilder(IssueConfig issueConfig, IssueContentModel contentModel) {
         IssueRequestModelFieldsBuilder fieldsBuilder = new IssueRequestModelFieldsBuilder();
         fieldsBuilder.setSummary(contentModel.getTitle());
         fieldsBuilder.setDescription(contentModel.getDescription());
+        fieldsBuilder.setProject(issueConfig.getProjectId());
+        fieldsBuilder.setIssueType(issueConfig.getIssueType());
 
         return fieldsBuilder;
     }
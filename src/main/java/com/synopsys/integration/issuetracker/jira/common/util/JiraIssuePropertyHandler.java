@@ -22,36 +22,454 @@
  */
 package com.synopsys.integration.issuetracker.jira.common.util;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.issuetracker.jira.common.JiraConstants;
 import com.synopsys.integration.issuetracker.jira.common.JiraIssueSearchProperties;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueKeyIndex;
+import com.synopsys.integration.jira.common.model.response.IssueResponseModel;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
 
 public abstract class JiraIssuePropertyHandler<T> {
+    // The status lets a transition be skipped without fetching the issue again, and the issue type selects the cached transitions of its workflow.
+    public static final List<String> SEARCH_FIELDS = Collections.unmodifiableList(Arrays.asList("status", "issuetype"));
     private static final String SEARCH_CONJUNCTION = "AND";
+    private static final String SEARCH_DISJUNCTION = "OR";
+    private static final int SEARCH_PAGE_SIZE = 100;
+    private static final int HTTP_STATUS_NOT_FOUND = 404;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final long LEGACY_ISSUE_CHECK_INTERVAL_MILLIS = 10 * MILLIS_PER_MINUTE;
+    private static final String LEGACY_INDEX_KEY_SEPARATOR = "\u001F";
+    private final Logger logger = LoggerFactory.getLogger(getClass());
     private final Set<Character> characters_to_escape;
+    private final JiraRestRequestHandler restRequestHandler;
+    private final boolean legacySearchFallback;
+    private final JiraIssueKeyIndex issueKeyIndex;
+    private final Map<String, LegacyIssueCheck> legacyIssueChecks = new ConcurrentHashMap<>();
 
     public JiraIssuePropertyHandler() {
+        this(null, true);
+    }
+
+    // Without the legacy search fallback only issues that carry the fingerprint of their search properties can be found.
+    public JiraIssuePropertyHandler(JiraRestRequestHandler restRequestHandler, boolean legacySearchFallback) {
+        this(restRequestHandler, legacySearchFallback, null);
+    }
+
+    // The issue key index is only used with the REST request handler, which is needed to check the indexed issues.
+    public JiraIssuePropertyHandler(JiraRestRequestHandler restRequestHandler, boolean legacySearchFallback, JiraIssueKeyIndex issueKeyIndex) {
         characters_to_escape = new HashSet<>();
         characters_to_escape.add('\'');
+        this.restRequestHandler = restRequestHandler;
+        this.legacySearchFallback = legacySearchFallback;
+        this.issueKeyIndex = null != restRequestHandler ? issueKeyIndex : null;
     }
 
     public abstract T queryForIssues(String query) throws IntegrationException;
 
     public abstract void addPropertiesToIssue(String issueKey, JiraIssueSearchProperties properties) throws IntegrationException;
 
+    protected abstract boolean containsIssues(T searchResponse);
+
     public Optional<T> findIssues(String jiraProjectKey, JiraIssueSearchProperties jiraIssueProperties) throws IntegrationException {
+        if (isFingerprintSearchable(jiraIssueProperties)) {
+            T fingerprintSearchResponse = queryForIssues(createFingerprintSearchJql(jiraProjectKey, jiraIssueProperties));
+            if (containsIssues(fingerprintSearchResponse) || !isLegacySearchRequired(jiraProjectKey)) {
+                return Optional.of(fingerprintSearchResponse);
+            }
+        }
+
+        String jql = createSearchJql(jiraProjectKey, jiraIssueProperties);
+        if (StringUtils.isNotBlank(jql)) {
+            return Optional.of(queryForIssues(jql));
+        }
+        return Optional.empty();
+    }
+
+    // Returns the matching issues including the SEARCH_FIELDS, or empty when the search cannot be sent through the REST request handler.
+    public Optional<List<IssueResponseModel>> findIssueModels(String jiraProjectKey, JiraIssueSearchProperties jiraIssueProperties) throws IntegrationException {
+        if (null == restRequestHandler) {
+            return Optional.empty();
+        }
+        Optional<List<IssueResponseModel>> indexedIssues = retrieveIndexedIssues(jiraProjectKey, jiraIssueProperties);
+        if (indexedIssues.isPresent()) {
+            return indexedIssues;
+        }
+        boolean fingerprintSearchable = isFingerprintSearchable(jiraIssueProperties);
+        List<JiraIssueSearchResult> searchResults = new ArrayList<>();
+        if (fingerprintSearchable) {
+            searchResults = searchIssues(createFingerprintSearchJql(jiraProjectKey, jiraIssueProperties), false, false);
+        }
+        if (!fingerprintSearchable || (searchResults.isEmpty() && isLegacySearchRequired(jiraProjectKey))) {
+            searchResults = searchIssues(createSearchJql(jiraProjectKey, jiraIssueProperties), true, false);
+            searchResults.forEach(this::storeMissingFingerprint);
+        }
+        List<IssueResponseModel> issues = searchResults
+                                              .stream()
+                                              .map(JiraIssueSearchResult::getIssue)
+                                              .collect(Collectors.toList());
+        if (null != issueKeyIndex && fingerprintSearchable) {
+            Set<String> issueKeys = issues.stream().map(IssueResponseModel::getKey).collect(Collectors.toCollection(LinkedHashSet::new));
+            issueKeyIndex.putIssueKeys(createIndexKey(jiraProjectKey, jiraIssueProperties), issueKeys);
+        }
+        return Optional.of(issues);
+    }
+
+    public void indexIssue(String jiraProjectKey, JiraIssueSearchProperties jiraIssueProperties, String issueKey) {
+        if (null != issueKeyIndex && StringUtils.isNotBlank(jiraProjectKey)) {
+            issueKeyIndex.addIssueKey(createIndexKey(jiraProjectKey, jiraIssueProperties), issueKey);
+        }
+    }
+
+    // Lists the fingerprints of every tracked issue in the project, or empty when the search cannot be sent through the REST request handler.
+    public Optional<Collection<String>> findTrackedFingerprints(String jiraProjectKey) throws IntegrationException {
+        Set<String> fingerprints = new HashSet<>();
+        boolean searched = searchTrackedIssues(jiraProjectKey, null, searchResult -> {
+            JiraIssueSearchProperties issueProperties = searchResult.getSearchProperties();
+            if (null != issueProperties) {
+                fingerprints.add(issueProperties.getFingerprint());
+            }
+        });
+        return searched ? Optional.of(fingerprints) : Optional.empty();
+    }
+
+    // Hands over every issue in the project that carries the Alert property, or only those updated within the given time when it is not null. Returns false
+    // when the search cannot be sent through the REST request handler. Without the legacy search fallback only the issues with a fingerprint are of interest.
+    public boolean searchTrackedIssues(String jiraProjectKey, Duration updatedWithin, Consumer<JiraIssueSearchResult> searchResultConsumer) throws IntegrationException {
+        if (null == restRequestHandler) {
+            return false;
+        }
+        String trackedPropertyKey = legacySearchFallback ? JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_PROVIDER : JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_FINGERPRINT;
         StringBuilder jqlBuilder = new StringBuilder();
-        jqlBuilder.append(JiraConstants.JIRA_SEARCH_KEY_JIRA_PROJECT);
-        jqlBuilder.append(" = '");
-        jqlBuilder.append(escapeSearchString(jiraProjectKey));
-        jqlBuilder.append("' ");
+        jqlBuilder.append(String.format("%s %s issue.property[%s].%s IS NOT EMPTY", createProjectClause(jiraProjectKey), SEARCH_CONJUNCTION, JiraConstants.JIRA_ISSUE_PROPERTY_KEY,
+            trackedPropertyKey));
+        if (null != updatedWithin) {
+            // A relative date is evaluated by Jira itself, so neither the clock nor the time zone of this process matter.
+            long updatedWithinMinutes = Math.max(1L, (updatedWithin.toMillis() + MILLIS_PER_MINUTE - 1) / MILLIS_PER_MINUTE);
+            jqlBuilder.append(String.format(" %s %s >= -%dm", SEARCH_CONJUNCTION, JiraConstants.JIRA_SEARCH_KEY_UPDATED, updatedWithinMinutes));
+        }
+        searchIssues(jqlBuilder.toString(), true, false, searchResultConsumer);
+        return true;
+    }
+
+    public boolean isLegacySearchFallback() {
+        return legacySearchFallback;
+    }
+
+    // Finds the issues for many search properties with as few queries as possible. Each hit carries its issue property so that matchesSearchProperties can assign it to the requests locally.
+    public Optional<List<JiraIssueSearchResult>> findIssuesForBatch(String jiraProjectKey, Collection<JiraIssueSearchProperties> searchPropertiesList, int maxClausesPerQuery, int maxQueryLength)
+        throws IntegrationException {
+        if (null == restRequestHandler) {
+            return Optional.empty();
+        }
+        Map<String, JiraIssueSearchResult> searchResults = new LinkedHashMap<>();
+        List<JiraIssueSearchProperties> unindexedSearchProperties = findIndexedIssuesForBatch(jiraProjectKey, searchPropertiesList, maxClausesPerQuery, maxQueryLength, searchResults);
+
+        List<JiraIssueSearchProperties> fingerprintSearchProperties = new ArrayList<>();
+        List<JiraIssueSearchProperties> legacySearchProperties = new ArrayList<>();
+        Set<String> fingerprintClauses = new LinkedHashSet<>();
+        for (JiraIssueSearchProperties searchProperties : unindexedSearchProperties) {
+            if (isFingerprintSearchable(searchProperties)) {
+                fingerprintSearchProperties.add(searchProperties);
+                fingerprintClauses.add(createPropertyClause(Collections.singletonMap(JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_FINGERPRINT, searchProperties.getFingerprint())));
+            } else {
+                legacySearchProperties.add(searchProperties);
+            }
+        }
+        for (String jql : createBatchSearchJql(jiraProjectKey, fingerprintClauses, maxClausesPerQuery, maxQueryLength)) {
+            searchIssues(jql, true, false).forEach(searchResult -> searchResults.putIfAbsent(searchResult.getIssue().getKey(), searchResult));
+        }
+
+        List<JiraIssueSearchProperties> unmatchedSearchProperties = fingerprintSearchProperties
+                                                                        .stream()
+                                                                        .filter(searchProperties -> !containsFingerprint(searchResults.values(), searchProperties))
+                                                                        .collect(Collectors.toList());
+        if (!unmatchedSearchProperties.isEmpty() && isLegacySearchRequired(jiraProjectKey)) {
+            legacySearchProperties.addAll(unmatchedSearchProperties);
+        }
+        if (!legacySearchProperties.isEmpty()) {
+            Set<String> legacyPropertyClauses = new LinkedHashSet<>();
+            for (JiraIssueSearchProperties searchProperties : legacySearchProperties) {
+                Map<String, String> propertyPredicates = createPropertyPredicates(searchProperties);
+                if (propertyPredicates.isEmpty()) {
+                    // Without any predicate every issue in the project matches, which is not worth prefetching.
+                    return Optional.empty();
+                }
+                legacyPropertyClauses.add(createPropertyClause(propertyPredicates));
+            }
+            for (String jql : createBatchSearchJql(jiraProjectKey, legacyPropertyClauses, maxClausesPerQuery, maxQueryLength)) {
+                for (JiraIssueSearchResult searchResult : searchIssues(jql, true, false)) {
+                    storeMissingFingerprint(searchResult);
+                    searchResults.putIfAbsent(searchResult.getIssue().getKey(), searchResult);
+                }
+            }
+        }
+
+        if (null != issueKeyIndex) {
+            for (JiraIssueSearchProperties searchProperties : fingerprintSearchProperties) {
+                Set<String> issueKeys = selectMatchingIssues(searchProperties, searchResults.values())
+                                            .stream()
+                                            .map(searchResult -> searchResult.getIssue().getKey())
+                                            .collect(Collectors.toCollection(LinkedHashSet::new));
+                issueKeyIndex.putIssueKeys(createIndexKey(jiraProjectKey, searchProperties), issueKeys);
+            }
+        }
+        return Optional.of(new ArrayList<>(searchResults.values()));
+    }
+
+    // The legacy search is only needed while the project still has tracked issues that were stored without a fingerprint. The result is checked again
+    // after a while, since another process may still store properties without one.
+    private boolean isLegacySearchRequired(String jiraProjectKey) throws IntegrationException {
+        if (!legacySearchFallback) {
+            return false;
+        }
+        long currentTimeMillis = System.currentTimeMillis();
+        LegacyIssueCheck lastCheck = legacyIssueChecks.get(jiraProjectKey);
+        if (null != lastCheck && currentTimeMillis - lastCheck.getCheckedAt() < LEGACY_ISSUE_CHECK_INTERVAL_MILLIS) {
+            return lastCheck.isLegacyIssuesFound();
+        }
+        // Until the check completes, concurrent lookups keep using the legacy search.
+        legacyIssueChecks.put(jiraProjectKey, new LegacyIssueCheck(currentTimeMillis, true));
+        String jql = String.format("%s %s issue.property[%s].%s IS NOT EMPTY %s issue.property[%s].%s IS EMPTY", createProjectClause(jiraProjectKey), SEARCH_CONJUNCTION,
+            JiraConstants.JIRA_ISSUE_PROPERTY_KEY, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_PROVIDER, SEARCH_CONJUNCTION, JiraConstants.JIRA_ISSUE_PROPERTY_KEY,
+            JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_FINGERPRINT);
+        boolean legacyIssuesFound = containsIssues(queryForIssues(jql));
+        legacyIssueChecks.put(jiraProjectKey, new LegacyIssueCheck(currentTimeMillis, legacyIssuesFound));
+        return legacyIssuesFound;
+    }
+
+    // Issues found by the legacy search are stored with their fingerprint, so that the project stops needing it.
+    private void storeMissingFingerprint(JiraIssueSearchResult searchResult) {
+        JiraIssueSearchProperties issueProperties = searchResult.getSearchProperties();
+        if (null == issueProperties || issueProperties.isFingerprintStored()) {
+            return;
+        }
+        String issueKey = searchResult.getIssue().getKey();
+        try {
+            addPropertiesToIssue(issueKey, issueProperties);
+        } catch (IntegrationException e) {
+            logger.debug("Could not store the fingerprint of issue {}: {}", issueKey, e.getMessage());
+        }
+    }
 
+    // Looks up the indexed issues of the batch by key, which is much cheaper for Jira than a property search. Returns the search properties that still
+    // have to be searched for, because the index knows nothing about them or one of their indexed issues no longer matches.
+    private List<JiraIssueSearchProperties> findIndexedIssuesForBatch(String jiraProjectKey, Collection<JiraIssueSearchProperties> searchPropertiesList, int maxClausesPerQuery,
+        int maxQueryLength, Map<String, JiraIssueSearchResult> searchResults) throws IntegrationException {
+        if (null == issueKeyIndex) {
+            return new ArrayList<>(searchPropertiesList);
+        }
+        List<JiraIssueSearchProperties> unindexedSearchProperties = new ArrayList<>();
+        Map<JiraIssueSearchProperties, Set<String>> indexedIssueKeys = new LinkedHashMap<>();
+        Set<String> keyClauses = new LinkedHashSet<>();
+        for (JiraIssueSearchProperties searchProperties : searchPropertiesList) {
+            if (!isFingerprintSearchable(searchProperties)) {
+                unindexedSearchProperties.add(searchProperties);
+                continue;
+            }
+            Set<String> issueKeys = issueKeyIndex.getIssueKeys(createIndexKey(jiraProjectKey, searchProperties));
+            if (issueKeys.isEmpty()) {
+                unindexedSearchProperties.add(searchProperties);
+            } else {
+                indexedIssueKeys.put(searchProperties, issueKeys);
+                issueKeys.forEach(issueKey -> keyClauses.add(String.format("%s = '%s'", JiraConstants.JIRA_SEARCH_KEY_ISSUE_KEY, escapeSearchString(issueKey))));
+            }
+        }
+
+        Map<String, JiraIssueSearchResult> indexedIssues = new HashMap<>();
+        for (String jql : createBatchSearchJql(jiraProjectKey, keyClauses, maxClausesPerQuery, maxQueryLength)) {
+            searchIssues(jql, true, true).forEach(searchResult -> indexedIssues.put(searchResult.getIssue().getKey(), searchResult));
+        }
+        for (Map.Entry<JiraIssueSearchProperties, Set<String>> indexedEntry : indexedIssueKeys.entrySet()) {
+            JiraIssueSearchProperties searchProperties = indexedEntry.getKey();
+            List<JiraIssueSearchResult> validIssues = new ArrayList<>();
+            for (String issueKey : indexedEntry.getValue()) {
+                JiraIssueSearchResult indexedIssue = indexedIssues.get(issueKey);
+                if (null != indexedIssue && isIndexedIssueValid(issueKey, searchProperties, indexedIssue)) {
+                    validIssues.add(indexedIssue);
+                } else {
+                    issueKeyIndex.removeIssueKey(createIndexKey(jiraProjectKey, searchProperties), issueKey);
+                }
+            }
+            if (validIssues.size() == indexedEntry.getValue().size()) {
+                validIssues.forEach(validIssue -> searchResults.putIfAbsent(validIssue.getIssue().getKey(), validIssue));
+            } else {
+                unindexedSearchProperties.add(searchProperties);
+            }
+        }
+        return unindexedSearchProperties;
+    }
+
+    // Empty when the index knows nothing about the search properties or one of the indexed issues no longer matches them, so the issues are searched for again.
+    private Optional<List<IssueResponseModel>> retrieveIndexedIssues(String jiraProjectKey, JiraIssueSearchProperties searchProperties) throws IntegrationException {
+        if (null == issueKeyIndex || !isFingerprintSearchable(searchProperties)) {
+            return Optional.empty();
+        }
+        String indexKey = createIndexKey(jiraProjectKey, searchProperties);
+        Set<String> issueKeys = issueKeyIndex.getIssueKeys(indexKey);
+        if (issueKeys.isEmpty()) {
+            return Optional.empty();
+        }
+        List<IssueResponseModel> issues = new ArrayList<>(issueKeys.size());
+        for (String issueKey : issueKeys) {
+            Optional<JiraIssueSearchResult> indexedIssue = retrieveIssue(issueKey);
+            if (!indexedIssue.isPresent() || !isIndexedIssueValid(issueKey, searchProperties, indexedIssue.get())) {
+                issueKeyIndex.removeIssueKey(indexKey, issueKey);
+                return Optional.empty();
+            }
+            issues.add(indexedIssue.get().getIssue());
+        }
+        return Optional.of(issues);
+    }
+
+    private Optional<JiraIssueSearchResult> retrieveIssue(String issueKey) throws IntegrationException {
+        Map<String, String> queryParameters = new HashMap<>();
+        queryParameters.put("fields", StringUtils.join(SEARCH_FIELDS, ","));
+        queryParameters.put("properties", JiraConstants.JIRA_ISSUE_PROPERTY_KEY);
+        try {
+            return Optional.of(readSearchResult(restRequestHandler.get("/issue/" + issueKey, queryParameters)));
+        } catch (IntegrationRestException e) {
+            if (HTTP_STATUS_NOT_FOUND == e.getHttpStatusCode()) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    // A moved issue comes back under its new key, and an issue whose property was changed no longer belongs to the search properties.
+    private boolean isIndexedIssueValid(String issueKey, JiraIssueSearchProperties searchProperties, JiraIssueSearchResult indexedIssue) {
+        return issueKey.equals(indexedIssue.getIssue().getKey()) && !selectMatchingIssues(searchProperties, Collections.singletonList(indexedIssue)).isEmpty();
+    }
+
+    // The key of an index entry names the Jira instance and project, so one index can be shared by every session.
+    private String createIndexKey(String jiraProjectKey, JiraIssueSearchProperties searchProperties) {
+        return String.format("%s %s %s", restRequestHandler.getBaseUrl(), jiraProjectKey, searchProperties.getFingerprint());
+    }
+
+    // Selects the same issues for a request that findIssues would have returned.
+    public List<JiraIssueSearchResult> selectMatchingIssues(JiraIssueSearchProperties searchProperties, Collection<JiraIssueSearchResult> searchResults) {
+        if (!isFingerprintSearchable(searchProperties)) {
+            return searchResults
+                       .stream()
+                       .filter(searchResult -> matchesSearchProperties(searchProperties, searchResult.getSearchProperties()))
+                       .collect(Collectors.toList());
+        }
+        List<JiraIssueSearchResult> fingerprintMatches = searchResults
+                                                             .stream()
+                                                             .filter(searchResult -> matchesFingerprint(searchProperties, searchResult.getSearchProperties()))
+                                                             .collect(Collectors.toList());
+        if (!legacySearchFallback || !fingerprintMatches.isEmpty()) {
+            return fingerprintMatches;
+        }
+        return searchResults
+                   .stream()
+                   .filter(searchResult -> matchesSearchProperties(searchProperties, searchResult.getSearchProperties()))
+                   .collect(Collectors.toList());
+    }
+
+    // This must select exactly the issues that the JQL from createSearchJql would return for the same search properties.
+    public boolean matchesSearchProperties(JiraIssueSearchProperties searchProperties, JiraIssueSearchProperties issueProperties) {
+        if (null == issueProperties) {
+            return false;
+        }
+        Map<String, String> issuePropertyValues = createPropertyValues(issueProperties);
+        return createPropertyPredicates(searchProperties)
+                   .entrySet()
+                   .stream()
+                   .allMatch(predicate -> StringUtils.equals(predicate.getValue(), issuePropertyValues.get(predicate.getKey())));
+    }
+
+    // The legacy search treats a blank value, and the sub-topic or sub-component of a search without their name, as matching any value. The fingerprint
+    // only finds the same issues when none of that applies.
+    public boolean isFingerprintSearchable(JiraIssueSearchProperties searchProperties) {
+        return createPropertyPredicates(searchProperties).size() == createPropertyValues(searchProperties).size();
+    }
+
+    // Every issue that matchesSearchProperties selects has the same legacy index key as the search properties. Empty when one of the values is blank,
+    // because a blank search value matches any value.
+    public Optional<String> createLegacyIndexKey(JiraIssueSearchProperties properties) {
+        List<String> keyValues = Arrays.asList(properties.getProvider(), properties.getProviderUrl(), properties.getTopicName(), properties.getTopicValue());
+        if (keyValues.stream().anyMatch(StringUtils::isBlank)) {
+            return Optional.empty();
+        }
+        return Optional.of(StringUtils.join(keyValues, LEGACY_INDEX_KEY_SEPARATOR));
+    }
+
+    public String createFingerprintSearchJql(String jiraProjectKey, JiraIssueSearchProperties jiraIssueProperties) {
+        return String.format("%s %s %s", createProjectClause(jiraProjectKey), SEARCH_CONJUNCTION,
+            createPropertySearchString(JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_FINGERPRINT, jiraIssueProperties.getFingerprint()));
+    }
+
+    public String createSearchJql(String jiraProjectKey, JiraIssueSearchProperties jiraIssueProperties) {
+        StringBuilder jqlBuilder = new StringBuilder();
+        jqlBuilder.append(createProjectClause(jiraProjectKey));
+        jqlBuilder.append(StringUtils.SPACE);
+        for (Map.Entry<String, String> propertyPredicate : createPropertyPredicates(jiraIssueProperties).entrySet()) {
+            jqlBuilder.append(SEARCH_CONJUNCTION);
+            jqlBuilder.append(StringUtils.SPACE);
+            jqlBuilder.append(createPropertySearchString(propertyPredicate.getKey(), propertyPredicate.getValue()));
+            jqlBuilder.append(StringUtils.SPACE);
+        }
+        return jqlBuilder.toString();
+    }
+
+    public List<String> createBatchSearchJql(String jiraProjectKey, Collection<String> propertyClauses, int maxClausesPerQuery, int maxQueryLength) {
+        String queryPrefix = String.format("%s %s (", createProjectClause(jiraProjectKey), SEARCH_CONJUNCTION);
+        String separator = String.format(" %s ", SEARCH_DISJUNCTION);
+        List<String> queries = new ArrayList<>();
+        List<String> currentClauses = new ArrayList<>();
+        int currentLength = queryPrefix.length() + 1;
+        for (String propertyClause : propertyClauses) {
+            int additionalLength = propertyClause.length() + (currentClauses.isEmpty() ? 0 : separator.length());
+            boolean queryFull = currentClauses.size() >= maxClausesPerQuery || currentLength + additionalLength > maxQueryLength;
+            if (!currentClauses.isEmpty() && queryFull) {
+                queries.add(queryPrefix + StringUtils.join(currentClauses, separator) + ")");
+                currentClauses.clear();
+                currentLength = queryPrefix.length() + 1;
+                additionalLength = propertyClause.length();
+            }
+            currentClauses.add(propertyClause);
+            currentLength += additionalLength;
+        }
+        if (!currentClauses.isEmpty()) {
+            queries.add(queryPrefix + StringUtils.join(currentClauses, separator) + ")");
+        }
+        return queries;
+    }
+
+    private boolean containsFingerprint(Collection<JiraIssueSearchResult> searchResults, JiraIssueSearchProperties searchProperties) {
+        return searchResults.stream().anyMatch(searchResult -> matchesFingerprint(searchProperties, searchResult.getSearchProperties()));
+    }
+
+    private boolean matchesFingerprint(JiraIssueSearchProperties searchProperties, JiraIssueSearchProperties issueProperties) {
+        return null != issueProperties && StringUtils.equals(searchProperties.getFingerprint(), issueProperties.getFingerprint());
+    }
+
+    private Map<String, String> createPropertyPredicates(JiraIssueSearchProperties jiraIssueProperties) {
         String subTopicName = null;
         String subTopicValue = null;
         String subComponentName = null;
@@ -65,35 +483,114 @@ public abstract class JiraIssuePropertyHandler<T> {
             subComponentName = jiraIssueProperties.getSubComponentName();
             subComponentValue = jiraIssueProperties.getSubComponentValue();
         }
-        appendPropertySearchString(jqlBuilder, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_PROVIDER, jiraIssueProperties.getProvider());
-        appendPropertySearchString(jqlBuilder, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_PROVIDER_URL, jiraIssueProperties.getProviderUrl());
-        appendPropertySearchString(jqlBuilder, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_TOPIC_NAME, jiraIssueProperties.getTopicName());
-        appendPropertySearchString(jqlBuilder, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_TOPIC_VALUE, jiraIssueProperties.getTopicValue());
-        appendPropertySearchString(jqlBuilder, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_SUB_TOPIC_NAME, subTopicName);
-        appendPropertySearchString(jqlBuilder, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_SUB_TOPIC_VALUE, subTopicValue);
+        Map<String, String> propertyPredicates = new LinkedHashMap<>();
+        addPropertyPredicate(propertyPredicates, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_PROVIDER, jiraIssueProperties.getProvider());
+        addPropertyPredicate(propertyPredicates, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_PROVIDER_URL, jiraIssueProperties.getProviderUrl());
+        addPropertyPredicate(propertyPredicates, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_TOPIC_NAME, jiraIssueProperties.getTopicName());
+        addPropertyPredicate(propertyPredicates, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_TOPIC_VALUE, jiraIssueProperties.getTopicValue());
+        addPropertyPredicate(propertyPredicates, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_SUB_TOPIC_NAME, subTopicName);
+        addPropertyPredicate(propertyPredicates, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_SUB_TOPIC_VALUE, subTopicValue);
 
-        appendPropertySearchString(jqlBuilder, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_CATEGORY, jiraIssueProperties.getCategory());
-        appendPropertySearchString(jqlBuilder, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_COMPONENT_NAME, jiraIssueProperties.getComponentName());
-        appendPropertySearchString(jqlBuilder, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_COMPONENT_VALUE, jiraIssueProperties.getComponentValue());
-        appendPropertySearchString(jqlBuilder, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_SUB_COMPONENT_NAME, subComponentName);
-        appendPropertySearchString(jqlBuilder, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_SUB_COMPONENT_VALUE, subComponentValue);
+        addPropertyPredicate(propertyPredicates, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_CATEGORY, jiraIssueProperties.getCategory());
+        addPropertyPredicate(propertyPredicates, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_COMPONENT_NAME, jiraIssueProperties.getComponentName());
+        addPropertyPredicate(propertyPredicates, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_COMPONENT_VALUE, jiraIssueProperties.getComponentValue());
+        addPropertyPredicate(propertyPredicates, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_SUB_COMPONENT_NAME, subComponentName);
+        addPropertyPredicate(propertyPredicates, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_SUB_COMPONENT_VALUE, subComponentValue);
 
-        appendPropertySearchString(jqlBuilder, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_ADDITIONAL_KEY, jiraIssueProperties.getAdditionalKey());
+        addPropertyPredicate(propertyPredicates, JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_ADDITIONAL_KEY, jiraIssueProperties.getAdditionalKey());
+        return propertyPredicates;
+    }
 
-        String jql = jqlBuilder.toString();
-        if (StringUtils.isNotBlank(jql)) {
-            return Optional.of(queryForIssues(jql));
-        }
-        return Optional.empty();
+    private Map<String, String> createPropertyValues(JiraIssueSearchProperties jiraIssueProperties) {
+        Map<String, String> propertyValues = new LinkedHashMap<>();
+        propertyValues.put(JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_PROVIDER, jiraIssueProperties.getProvider());
+        propertyValues.put(JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_PROVIDER_URL, jiraIssueProperties.getProviderUrl());
+        propertyValues.put(JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_TOPIC_NAME, jiraIssueProperties.getTopicName());
+        propertyValues.put(JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_TOPIC_VALUE, jiraIssueProperties.getTopicValue());
+        propertyValues.put(JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_SUB_TOPIC_NAME, jiraIssueProperties.getSubTopicName());
+        propertyValues.put(JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_SUB_TOPIC_VALUE, jiraIssueProperties.getSubTopicValue());
+        propertyValues.put(JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_CATEGORY, jiraIssueProperties.getCategory());
+        propertyValues.put(JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_COMPONENT_NAME, jiraIssueProperties.getComponentName());
+        propertyValues.put(JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_COMPONENT_VALUE, jiraIssueProperties.getComponentValue());
+        propertyValues.put(JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_SUB_COMPONENT_NAME, jiraIssueProperties.getSubComponentName());
+        propertyValues.put(JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_SUB_COMPONENT_VALUE, jiraIssueProperties.getSubComponentValue());
+        propertyValues.put(JiraConstants.JIRA_ISSUE_PROPERTY_OBJECT_KEY_ADDITIONAL_KEY, jiraIssueProperties.getAdditionalKey());
+        return propertyValues;
     }
 
-    private void appendPropertySearchString(StringBuilder jqlBuilder, String key, String value) {
+    private void addPropertyPredicate(Map<String, String> propertyPredicates, String key, String value) {
         if (StringUtils.isNotBlank(value)) {
-            jqlBuilder.append(SEARCH_CONJUNCTION);
-            jqlBuilder.append(StringUtils.SPACE);
-            jqlBuilder.append(createPropertySearchString(key, value));
-            jqlBuilder.append(StringUtils.SPACE);
+            propertyPredicates.put(key, value);
+        }
+    }
+
+    private String createProjectClause(String jiraProjectKey) {
+        return String.format("%s = '%s'", JiraConstants.JIRA_SEARCH_KEY_JIRA_PROJECT, escapeSearchString(jiraProjectKey));
+    }
+
+    private String createPropertyClause(Map<String, String> propertyPredicates) {
+        List<String> propertySearchStrings = propertyPredicates
+                                                 .entrySet()
+                                                 .stream()
+                                                 .map(predicate -> createPropertySearchString(predicate.getKey(), predicate.getValue()))
+                                                 .collect(Collectors.toList());
+        return String.format("(%s)", StringUtils.join(propertySearchStrings, String.format(" %s ", SEARCH_CONJUNCTION)));
+    }
+
+    // Issue keys that no longer exist only produce a warning with the lenient validation, instead of failing the whole search.
+    private List<JiraIssueSearchResult> searchIssues(String jql, boolean includeIssueProperty, boolean lenientValidation) throws IntegrationException {
+        List<JiraIssueSearchResult> searchResults = new ArrayList<>();
+        searchIssues(jql, includeIssueProperty, lenientValidation, searchResults::add);
+        return searchResults;
+    }
+
+    // Hands over the results page by page, so searches over a whole project do not have to be held in memory.
+    private void searchIssues(String jql, boolean includeIssueProperty, boolean lenientValidation, Consumer<JiraIssueSearchResult> searchResultConsumer) throws IntegrationException {
+        JsonArray fields = new JsonArray();
+        SEARCH_FIELDS.forEach(fields::add);
+        JsonArray properties = new JsonArray();
+        if (includeIssueProperty) {
+            properties.add(JiraConstants.JIRA_ISSUE_PROPERTY_KEY);
+        }
+
+        int resultCount = 0;
+        int total;
+        do {
+            JsonObject searchRequest = new JsonObject();
+            searchRequest.addProperty("jql", jql);
+            searchRequest.addProperty("startAt", resultCount);
+            searchRequest.addProperty("maxResults", SEARCH_PAGE_SIZE);
+            searchRequest.add("fields", fields);
+            searchRequest.add("properties", properties);
+            if (lenientValidation) {
+                searchRequest.addProperty("validateQuery", "warn");
+            }
+            JsonObject searchResponse = restRequestHandler.post("/search", searchRequest);
+
+            JsonArray issuesJson = searchResponse.getAsJsonArray("issues");
+            if (null == issuesJson || 0 == issuesJson.size()) {
+                break;
+            }
+            for (JsonElement issueElement : issuesJson) {
+                searchResultConsumer.accept(readSearchResult(issueElement.getAsJsonObject()));
+                resultCount++;
+            }
+            total = searchResponse.has("total") ? searchResponse.get("total").getAsInt() : resultCount;
+        } while (resultCount < total);
+    }
+
+    private JiraIssueSearchResult readSearchResult(JsonObject issueJson) {
+        Gson gson = restRequestHandler.getGson();
+        // The properties are removed before the model is read because the model does not describe their structure.
+        JsonElement issuePropertiesJson = issueJson.remove("properties");
+        JiraIssueSearchProperties issueProperties = null;
+        if (null != issuePropertiesJson && issuePropertiesJson.isJsonObject()) {
+            JsonElement alertPropertyJson = issuePropertiesJson.getAsJsonObject().get(JiraConstants.JIRA_ISSUE_PROPERTY_KEY);
+            if (null != alertPropertyJson && alertPropertyJson.isJsonObject()) {
+                issueProperties = gson.fromJson(alertPropertyJson, JiraIssueSearchProperties.class);
+            }
         }
+        return new JiraIssueSearchResult(gson.fromJson(issueJson, IssueResponseModel.class), issueProperties);
     }
 
     private String createPropertySearchString(String key, String value) {
@@ -122,4 +619,22 @@ public abstract class JiraIssuePropertyHandler<T> {
         return stringBuilder.toString();
     }
 
+    private static class LegacyIssueCheck {
+        private final long checkedAt;
+        private final boolean legacyIssuesFound;
+
+        LegacyIssueCheck(long checkedAt, boolean legacyIssuesFound) {
+            this.checkedAt = checkedAt;
+            this.legacyIssuesFound = legacyIssuesFound;
+        }
+
+        long getCheckedAt() {
+            return checkedAt;
+        }
+
+        boolean isLegacyIssuesFound() {
+            return legacyIssuesFound;
+        }
+    }
+
 }
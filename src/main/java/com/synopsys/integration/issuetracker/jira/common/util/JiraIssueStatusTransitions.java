@@ -0,0 +1,63 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.synopsys.integration.jira.common.model.components.StatusDetailsComponent;
+import com.synopsys.integration.jira.common.model.components.TransitionComponent;
+
+public class JiraIssueStatusTransitions {
+    private final StatusDetailsComponent status;
+    private final String issueTypeId;
+    private final List<TransitionComponent> transitions;
+
+    public JiraIssueStatusTransitions(StatusDetailsComponent status, String issueTypeId, List<TransitionComponent> transitions) {
+        this.status = status;
+        this.issueTypeId = issueTypeId;
+        this.transitions = transitions;
+    }
+
+    public StatusDetailsComponent getStatus() {
+        return status;
+    }
+
+    public Optional<String> getIssueTypeId() {
+        return Optional.ofNullable(issueTypeId);
+    }
+
+    public List<TransitionComponent> getTransitions() {
+        return transitions;
+    }
+
+    public Optional<TransitionComponent> findFirstTransitionByName(String transitionName) {
+        return transitions
+                   .stream()
+                   .filter(transition -> StringUtils.equals(transitionName, transition.getName()))
+                   .findFirst();
+    }
+
+}
@@ -0,0 +1,66 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// Runs tasks with the same key one after the other in submission order, while tasks of other keys run in parallel.
+// Keys are spread over a fixed number of lanes, which also bounds how many tasks run at the same time.
+public class JiraKeyedExecutor {
+    private final Executor executor;
+    private final CompletableFuture<?>[] laneTails;
+
+    public JiraKeyedExecutor(Executor executor, int laneCount) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("The lane count must be at least 1.");
+        }
+        this.executor = executor;
+        this.laneTails = new CompletableFuture<?>[laneCount];
+        Arrays.fill(laneTails, CompletableFuture.completedFuture(null));
+    }
+
+    public CompletableFuture<Void> execute(Object key, Runnable task) {
+        int lane = getLane(key);
+        synchronized (laneTails) {
+            // A failed task must not stop the tasks queued behind it.
+            CompletableFuture<Void> laneTail = laneTails[lane]
+                                                   .handle((ignoredResult, ignoredFailure) -> null)
+                                                   .thenRunAsync(task, executor);
+            laneTails[lane] = laneTail;
+            return laneTail;
+        }
+    }
+
+    public int getLane(Object key) {
+        int keyHash = null != key ? key.hashCode() : 0;
+        // Spreads the higher bits, like HashMap does, before the hash is reduced to a lane.
+        return Math.floorMod(keyHash ^ (keyHash >>> 16), laneTails.length);
+    }
+
+    public int getLaneCount() {
+        return laneTails.length;
+    }
+
+}
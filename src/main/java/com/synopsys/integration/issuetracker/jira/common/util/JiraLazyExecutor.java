@@ -0,0 +1,68 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Creates its executor service on the first task, so that a session that never needs the threads never starts them.
+ */
+public class JiraLazyExecutor implements Executor {
+    private final Supplier<ExecutorService> executorServiceFactory;
+    private ExecutorService executorService;
+    private boolean shutdown;
+
+    public JiraLazyExecutor(Supplier<ExecutorService> executorServiceFactory) {
+        this.executorServiceFactory = executorServiceFactory;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        getExecutorService().execute(command);
+    }
+
+    public synchronized boolean isStarted() {
+        return null != executorService;
+    }
+
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (null != executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (shutdown) {
+            throw new RejectedExecutionException("The executor has been shut down.");
+        }
+        if (null == executorService) {
+            executorService = executorServiceFactory.get();
+        }
+        return executorService;
+    }
+
+}
@@ -0,0 +1,244 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.issuetracker.jira.common.JiraIssueSearchProperties;
+import com.synopsys.integration.jira.common.model.response.IssueResponseModel;
+
+// Keeps every tracked issue of a project in memory. The first lookup loads all of them, later lookups only ask Jira for the issues updated since the
+// previous sync. Deleted and moved issues do not show up in that search, so the snapshot is loaded completely again once the full sync interval has passed.
+public class JiraProjectIssueSnapshot {
+    // Jira adds changes to its search index asynchronously, so every sync also looks at the changes shortly before the previous one started.
+    public static final Duration SYNC_OVERLAP = Duration.ofMinutes(2);
+
+    private final Logger logger = LoggerFactory.getLogger(JiraProjectIssueSnapshot.class);
+
+    private final JiraIssuePropertyHandler<?> jiraIssuePropertyHandler;
+    private final long fullSyncIntervalMillis;
+    private final Map<String, ProjectIssues> projects = new ConcurrentHashMap<>();
+
+    public JiraProjectIssueSnapshot(JiraIssuePropertyHandler<?> jiraIssuePropertyHandler, Duration fullSyncInterval) {
+        this.jiraIssuePropertyHandler = jiraIssuePropertyHandler;
+        this.fullSyncIntervalMillis = fullSyncInterval.toMillis();
+    }
+
+    // Brings the snapshot of the project up to date and selects the issues that the searches for the search properties would return. Empty when the
+    // tracked issues cannot be searched through the REST request handler.
+    public Optional<List<JiraIssueSearchResult>> findIssues(String projectKey, Collection<JiraIssueSearchProperties> searchPropertiesList) throws IntegrationException {
+        ProjectIssues projectIssues = projects.computeIfAbsent(projectKey, ignored -> new ProjectIssues());
+        if (!projectIssues.sync(projectKey)) {
+            return Optional.empty();
+        }
+        Map<String, JiraIssueSearchResult> matchingIssues = new LinkedHashMap<>();
+        for (JiraIssueSearchProperties searchProperties : searchPropertiesList) {
+            if (null != searchProperties) {
+                for (JiraIssueSearchResult matchingIssue : projectIssues.selectMatchingIssues(searchProperties)) {
+                    matchingIssues.putIfAbsent(matchingIssue.getIssue().getKey(), matchingIssue);
+                }
+            }
+        }
+        return Optional.of(new ArrayList<>(matchingIssues.values()));
+    }
+
+    // Issues created by this process are added right away, because the next sync can still miss them.
+    public void addIssue(String projectKey, JiraIssueSearchResult searchResult) {
+        ProjectIssues projectIssues = projects.get(projectKey);
+        if (null != projectIssues) {
+            projectIssues.putIssue(searchResult);
+        }
+    }
+
+    // Replaces what is known about an issue, e.g. to forget a status that a transition made stale.
+    public void updateIssue(String projectKey, String issueKey, UnaryOperator<IssueResponseModel> issueUpdate) {
+        ProjectIssues projectIssues = projects.get(projectKey);
+        if (null != projectIssues) {
+            projectIssues.updateIssue(issueKey, issueUpdate);
+        }
+    }
+
+    public void invalidateAll() {
+        projects.clear();
+    }
+
+    private final class ProjectIssues {
+        private final Map<String, JiraIssueSearchResult> issuesByKey = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> issueKeysByFingerprint = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> issueKeysByLegacyKey = new ConcurrentHashMap<>();
+        // When the issues added by this process were created. A full sync keeps them while the search may still miss them.
+        private final Map<String, Long> createdIssueKeys = new HashMap<>();
+        // When the issues were last updated by this process. A sync keeps them as they are while the search may still return the previous state.
+        private final Map<String, Long> updatedIssueKeys = new HashMap<>();
+        // Guards the changes to the issues. Lookups read them without it.
+        private final Object issueLock = new Object();
+        private long lastSyncStartedAt = 0L;
+        private long lastFullSyncStartedAt = 0L;
+
+        // Syncs of the same project run one after the other, while the issues can still be looked up and added.
+        public synchronized boolean sync(String projectKey) throws IntegrationException {
+            long syncStartedAt = System.currentTimeMillis();
+            boolean fullSync = 0L == lastFullSyncStartedAt || syncStartedAt - lastFullSyncStartedAt >= fullSyncIntervalMillis;
+            if (fullSync) {
+                Map<String, JiraIssueSearchResult> loadedIssues = new LinkedHashMap<>();
+                if (!jiraIssuePropertyHandler.searchTrackedIssues(projectKey, null, searchResult -> loadedIssues.put(searchResult.getIssue().getKey(), searchResult))) {
+                    return false;
+                }
+                replaceIssues(loadedIssues, syncStartedAt - SYNC_OVERLAP.toMillis());
+                logger.debug("Loaded {} tracked issues of project {}.", loadedIssues.size(), projectKey);
+                lastFullSyncStartedAt = syncStartedAt;
+            } else {
+                Duration updatedWithin = Duration.ofMillis(syncStartedAt - lastSyncStartedAt).plus(SYNC_OVERLAP);
+                List<JiraIssueSearchResult> updatedIssues = new ArrayList<>();
+                if (!jiraIssuePropertyHandler.searchTrackedIssues(projectKey, updatedWithin, updatedIssues::add)) {
+                    return false;
+                }
+                synchronized (issueLock) {
+                    removeExpiredUpdates(syncStartedAt - SYNC_OVERLAP.toMillis());
+                    for (JiraIssueSearchResult updatedIssue : updatedIssues) {
+                        if (!updatedIssueKeys.containsKey(updatedIssue.getIssue().getKey())) {
+                            indexIssue(updatedIssue);
+                        }
+                    }
+                }
+                logger.debug("Synced {} updated issues of project {}.", updatedIssues.size(), projectKey);
+            }
+            lastSyncStartedAt = syncStartedAt;
+            return true;
+        }
+
+        public void putIssue(JiraIssueSearchResult searchResult) {
+            synchronized (issueLock) {
+                createdIssueKeys.put(searchResult.getIssue().getKey(), System.currentTimeMillis());
+                indexIssue(searchResult);
+            }
+        }
+
+        public void updateIssue(String issueKey, UnaryOperator<IssueResponseModel> issueUpdate) {
+            synchronized (issueLock) {
+                JiraIssueSearchResult updatedResult = issuesByKey.computeIfPresent(issueKey,
+                    (ignored, searchResult) -> new JiraIssueSearchResult(issueUpdate.apply(searchResult.getIssue()), searchResult.getSearchProperties()));
+                if (null != updatedResult) {
+                    updatedIssueKeys.put(issueKey, System.currentTimeMillis());
+                }
+            }
+        }
+
+        // Like JiraIssuePropertyHandler.selectMatchingIssues, but only looks at the issues with the same fingerprint or legacy index key.
+        public List<JiraIssueSearchResult> selectMatchingIssues(JiraIssueSearchProperties searchProperties) {
+            if (jiraIssuePropertyHandler.isFingerprintSearchable(searchProperties)) {
+                List<JiraIssueSearchResult> fingerprintMatches = collectIssues(issueKeysByFingerprint.get(searchProperties.getFingerprint()));
+                if (!fingerprintMatches.isEmpty() || !jiraIssuePropertyHandler.isLegacySearchFallback()) {
+                    return fingerprintMatches;
+                }
+            }
+            Optional<String> legacyIndexKey = jiraIssuePropertyHandler.createLegacyIndexKey(searchProperties);
+            Collection<JiraIssueSearchResult> candidates = legacyIndexKey.isPresent() ? collectIssues(issueKeysByLegacyKey.get(legacyIndexKey.get())) : issuesByKey.values();
+            return jiraIssuePropertyHandler.selectMatchingIssues(searchProperties, candidates);
+        }
+
+        private void replaceIssues(Map<String, JiraIssueSearchResult> loadedIssues, long keepChangedSince) {
+            synchronized (issueLock) {
+                createdIssueKeys.values().removeIf(createdAt -> createdAt < keepChangedSince);
+                removeExpiredUpdates(keepChangedSince);
+                issuesByKey.keySet().removeIf(issueKey -> !loadedIssues.containsKey(issueKey) && !createdIssueKeys.containsKey(issueKey));
+                removeUnknownIssueKeys(issueKeysByFingerprint);
+                removeUnknownIssueKeys(issueKeysByLegacyKey);
+                for (JiraIssueSearchResult loadedIssue : loadedIssues.values()) {
+                    String issueKey = loadedIssue.getIssue().getKey();
+                    if (!updatedIssueKeys.containsKey(issueKey) || !issuesByKey.containsKey(issueKey)) {
+                        indexIssue(loadedIssue);
+                    }
+                }
+            }
+        }
+
+        private void removeExpiredUpdates(long keepUpdatedSince) {
+            updatedIssueKeys.values().removeIf(updatedAt -> updatedAt < keepUpdatedSince);
+        }
+
+        private void removeUnknownIssueKeys(Map<String, Set<String>> issueKeysByIndexKey) {
+            for (Set<String> issueKeys : issueKeysByIndexKey.values()) {
+                issueKeys.removeIf(issueKey -> !issuesByKey.containsKey(issueKey));
+            }
+            issueKeysByIndexKey.values().removeIf(Set::isEmpty);
+        }
+
+        private void indexIssue(JiraIssueSearchResult searchResult) {
+            String issueKey = searchResult.getIssue().getKey();
+            JiraIssueSearchResult previousResult = issuesByKey.put(issueKey, searchResult);
+            if (null != previousResult && null != previousResult.getSearchProperties()) {
+                JiraIssueSearchProperties previousProperties = previousResult.getSearchProperties();
+                removeIndexedIssueKey(issueKeysByFingerprint, previousProperties.getFingerprint(), issueKey);
+                jiraIssuePropertyHandler.createLegacyIndexKey(previousProperties).ifPresent(legacyIndexKey -> removeIndexedIssueKey(issueKeysByLegacyKey, legacyIndexKey, issueKey));
+            }
+            if (null != searchResult.getSearchProperties()) {
+                JiraIssueSearchProperties searchProperties = searchResult.getSearchProperties();
+                addIndexedIssueKey(issueKeysByFingerprint, searchProperties.getFingerprint(), issueKey);
+                jiraIssuePropertyHandler.createLegacyIndexKey(searchProperties).ifPresent(legacyIndexKey -> addIndexedIssueKey(issueKeysByLegacyKey, legacyIndexKey, issueKey));
+            }
+        }
+
+        private void addIndexedIssueKey(Map<String, Set<String>> issueKeysByIndexKey, String indexKey, String issueKey) {
+            issueKeysByIndexKey.computeIfAbsent(indexKey, ignored -> ConcurrentHashMap.newKeySet()).add(issueKey);
+        }
+
+        private void removeIndexedIssueKey(Map<String, Set<String>> issueKeysByIndexKey, String indexKey, String issueKey) {
+            Set<String> issueKeys = issueKeysByIndexKey.get(indexKey);
+            if (null != issueKeys) {
+                issueKeys.remove(issueKey);
+                if (issueKeys.isEmpty()) {
+                    issueKeysByIndexKey.remove(indexKey);
+                }
+            }
+        }
+
+        private List<JiraIssueSearchResult> collectIssues(Set<String> issueKeys) {
+            List<JiraIssueSearchResult> issues = new ArrayList<>();
+            if (null != issueKeys) {
+                for (String issueKey : issueKeys) {
+                    JiraIssueSearchResult searchResult = issuesByKey.get(issueKey);
+                    if (null != searchResult) {
+                        issues.add(searchResult);
+                    }
+                }
+            }
+            return issues;
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.issuetracker.common.exception.IssueTrackerException;
+import com.synopsys.integration.issuetracker.common.message.IssueTrackerRequest;
+import com.synopsys.integration.issuetracker.common.message.IssueTrackerResponse;
+
+// Collects the requests of separate calls for a short window and sends the calls collected under the same batch key together.
+// The requests of each call are still processed as their own unit, so each caller receives the response or the failure of its own requests.
+public class JiraRequestCoalescer<C> implements Closeable {
+    // The number of batches that are sent at the same time. Batches with the same key are always sent one after the other.
+    private static final int SENDER_THREAD_COUNT = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Duration window;
+    private final int maxBatchSize;
+    private final BatchSender<C> batchSender;
+    private final ScheduledExecutorService flushScheduler;
+    private final ExecutorService senderExecutor;
+    private final JiraKeyedExecutor batchExecutor;
+    private final Map<Object, PendingBatch<C>> pendingBatches = new LinkedHashMap<>();
+    private boolean closed = false;
+
+    public JiraRequestCoalescer(Duration window, int maxBatchSize, BatchSender<C> batchSender) {
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSender = batchSender;
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(new JiraDaemonThreadFactory("jira-coalescer-flush"));
+        this.senderExecutor = Executors.newFixedThreadPool(SENDER_THREAD_COUNT, new JiraDaemonThreadFactory("jira-coalescer"));
+        this.batchExecutor = new JiraKeyedExecutor(senderExecutor, SENDER_THREAD_COUNT);
+    }
+
+    // The context of the first call for a batch key is used to send the whole batch, so calls must only share a key when their contexts are interchangeable.
+    public CompletableFuture<IssueTrackerResponse> submit(Object batchKey, C context, List<IssueTrackerRequest> requests) {
+        PendingCall pendingCall = new PendingCall(requests);
+        PendingBatch<C> fullBatch = null;
+        synchronized (pendingBatches) {
+            if (closed) {
+                pendingCall.future.completeExceptionally(new IssueTrackerException("The request coalescer has been closed."));
+                return pendingCall.future;
+            }
+            PendingBatch<C> pendingBatch = pendingBatches.get(batchKey);
+            if (null == pendingBatch) {
+                pendingBatch = new PendingBatch<>(batchKey, context);
+                pendingBatches.put(batchKey, pendingBatch);
+                PendingBatch<C> scheduledBatch = pendingBatch;
+                flushScheduler.schedule(() -> flush(scheduledBatch), window.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            pendingBatch.add(pendingCall);
+            if (pendingBatch.requests.size() >= maxBatchSize) {
+                pendingBatches.remove(batchKey);
+                fullBatch = pendingBatch;
+            }
+        }
+        if (null != fullBatch) {
+            send(fullBatch);
+        }
+        return pendingCall.future;
+    }
+
+    private void flush(PendingBatch<C> pendingBatch) {
+        synchronized (pendingBatches) {
+            // A batch that filled up before its window ended has already been sent.
+            if (!pendingBatches.remove(pendingBatch.batchKey, pendingBatch)) {
+                return;
+            }
+        }
+        send(pendingBatch);
+    }
+
+    private CompletableFuture<Void> send(PendingBatch<C> pendingBatch) {
+        return batchExecutor.execute(pendingBatch.batchKey, () -> {
+            try {
+                logger.debug("Sending {} requests of {} calls as one batch.", pendingBatch.requests.size(), pendingBatch.calls.size());
+                List<List<IssueTrackerRequest>> callRequests = pendingBatch.calls
+                                                                   .stream()
+                                                                   .map(pendingCall -> pendingCall.requests)
+                                                                   .collect(Collectors.toList());
+                List<JiraCallResult> callResults = batchSender.send(pendingBatch.context, callRequests);
+                for (int callIndex = 0; callIndex < pendingBatch.calls.size(); callIndex++) {
+                    completeCall(pendingBatch.calls.get(callIndex), callResults.get(callIndex));
+                }
+            } catch (IntegrationException | RuntimeException e) {
+                // Nothing of the batch was processed, so every call in it fails.
+                pendingBatch.calls.forEach(pendingCall -> pendingCall.future.completeExceptionally(e));
+            }
+        });
+    }
+
+    private void completeCall(PendingCall pendingCall, JiraCallResult callResult) {
+        Optional<Exception> failure = callResult.getFailure();
+        if (failure.isPresent()) {
+            pendingCall.future.completeExceptionally(failure.get());
+        } else {
+            pendingCall.future.complete(callResult.getBatchResponse().map(JiraIssueBatchResponse::getResponse).orElse(null));
+        }
+    }
+
+    // Sends the requests that are still waiting for their window and waits for them before the threads are stopped.
+    @Override
+    public void close() {
+        List<PendingBatch<C>> remainingBatches;
+        synchronized (pendingBatches) {
+            closed = true;
+            remainingBatches = new ArrayList<>(pendingBatches.values());
+            pendingBatches.clear();
+        }
+        flushScheduler.shutdownNow();
+        List<CompletableFuture<Void>> sentBatches = new ArrayList<>(remainingBatches.size());
+        remainingBatches.forEach(remainingBatch -> sentBatches.add(send(remainingBatch)));
+        CompletableFuture.allOf(sentBatches.toArray(new CompletableFuture[0])).join();
+        senderExecutor.shutdown();
+    }
+
+    @FunctionalInterface
+    public interface BatchSender<C> {
+        // Returns the result of each call in the order of the calls. A failure that is thrown means that none of the calls was processed.
+        List<JiraCallResult> send(C context, List<List<IssueTrackerRequest>> callRequests) throws IntegrationException;
+    }
+
+    private static final class PendingBatch<C> {
+        private final Object batchKey;
+        private final C context;
+        private final List<PendingCall> calls = new ArrayList<>();
+        private final List<IssueTrackerRequest> requests = new ArrayList<>();
+
+        private PendingBatch(Object batchKey, C context) {
+            this.batchKey = batchKey;
+            this.context = context;
+        }
+
+        private void add(PendingCall pendingCall) {
+            calls.add(pendingCall);
+            requests.addAll(pendingCall.requests);
+        }
+    }
+
+    private static final class PendingCall {
+        private final List<IssueTrackerRequest> requests;
+        private final CompletableFuture<IssueTrackerResponse> future = new CompletableFuture<>();
+
+        private PendingCall(List<IssueTrackerRequest> requests) {
+            this.requests = new ArrayList<>(requests);
+        }
+    }
+
+}
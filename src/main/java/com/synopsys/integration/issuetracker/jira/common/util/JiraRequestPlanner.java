@@ -0,0 +1,169 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.synopsys.integration.issuetracker.common.IssueOperation;
+import com.synopsys.integration.issuetracker.common.message.IssueContentModel;
+import com.synopsys.integration.issuetracker.common.message.IssueTrackerRequest;
+import com.synopsys.integration.issuetracker.jira.common.JiraIssueSearchProperties;
+
+// Reduces the requests with the same search properties within a batch to the fewest operations that leave the issue in the same state.
+public class JiraRequestPlanner {
+    public enum IssueState {
+        EXISTING,
+        MISSING,
+        UNKNOWN
+    }
+
+    private final Function<JiraIssueSearchProperties, IssueState> issueStateLookup;
+
+    public JiraRequestPlanner(Function<JiraIssueSearchProperties, IssueState> issueStateLookup) {
+        this.issueStateLookup = issueStateLookup;
+    }
+
+    // The planned requests of each issue keep their order. Requests for different issues keep the order of the first request for that issue.
+    public List<IssueTrackerRequest> planRequests(List<IssueTrackerRequest> requests) {
+        Map<String, List<IssueTrackerRequest>> requestsByIssue = new LinkedHashMap<>();
+        for (IssueTrackerRequest request : requests) {
+            JiraIssueSearchProperties searchProperties = request.getIssueSearchProperties();
+            String issueKey = null != searchProperties ? searchProperties.getFingerprint() : "";
+            requestsByIssue.computeIfAbsent(issueKey, ignored -> new ArrayList<>()).add(request);
+        }
+
+        List<IssueTrackerRequest> plannedRequests = new ArrayList<>(requests.size());
+        for (List<IssueTrackerRequest> issueRequests : requestsByIssue.values()) {
+            JiraIssueSearchProperties searchProperties = issueRequests.get(0).getIssueSearchProperties();
+            if (null == searchProperties || issueRequests.size() == 1) {
+                plannedRequests.addAll(issueRequests);
+                continue;
+            }
+            for (PlannedOperation plannedOperation : planOperations(issueRequests, issueStateLookup.apply(searchProperties))) {
+                plannedRequests.add(plannedOperation.toRequest());
+            }
+        }
+        return plannedRequests;
+    }
+
+    private List<PlannedOperation> planOperations(List<IssueTrackerRequest> issueRequests, IssueState initialState) {
+        IssueState issueState = initialState;
+        List<PlannedOperation> plannedOperations = new ArrayList<>();
+        for (IssueTrackerRequest request : issueRequests) {
+            IssueOperation operation = request.getOperation();
+            PlannedOperation lastOperation = plannedOperations.isEmpty() ? null : plannedOperations.get(plannedOperations.size() - 1);
+            if (IssueState.MISSING == issueState) {
+                // Only an OPEN creates the issue. The other requests are still handed on as they are, like without planning.
+                plannedOperations.add(new PlannedOperation(request, IssueOperation.OPEN == operation));
+                if (IssueOperation.OPEN == operation) {
+                    issueState = IssueState.EXISTING;
+                }
+            } else if (null == lastOperation) {
+                plannedOperations.add(new PlannedOperation(request, false));
+            } else if (IssueState.UNKNOWN == issueState) {
+                // Without knowing whether the issue exists, only repetitions of the same operation are safe to merge.
+                if (lastOperation.getOperation() == operation) {
+                    lastOperation.add(request);
+                } else {
+                    plannedOperations.add(new PlannedOperation(request, false));
+                }
+            } else if (lastOperation.isCreating() && IssueOperation.OPEN == operation) {
+                // The issue was just created, so opening it again only adds its content and comments.
+                lastOperation.add(request);
+            } else if (IssueOperation.UPDATE == operation) {
+                if (IssueOperation.UPDATE == lastOperation.getOperation() && !lastOperation.isCreating()) {
+                    lastOperation.add(request);
+                } else {
+                    plannedOperations.add(new PlannedOperation(request, false));
+                }
+            } else {
+                // A transition of an existing issue decides its state, so everything since the issue was created collapses into it.
+                PlannedOperation transition = new PlannedOperation(operation);
+                while (!plannedOperations.isEmpty() && !plannedOperations.get(plannedOperations.size() - 1).isCreating()) {
+                    transition.addAllFirst(plannedOperations.remove(plannedOperations.size() - 1));
+                }
+                transition.add(request);
+                plannedOperations.add(transition);
+            }
+        }
+        return plannedOperations;
+    }
+
+    private static class PlannedOperation {
+        private final List<IssueTrackerRequest> requests = new ArrayList<>();
+        private final boolean creating;
+        private IssueOperation operation;
+
+        PlannedOperation(IssueOperation operation) {
+            this.operation = operation;
+            this.creating = false;
+        }
+
+        PlannedOperation(IssueTrackerRequest request, boolean creating) {
+            this.operation = request.getOperation();
+            this.creating = creating;
+            requests.add(request);
+        }
+
+        IssueOperation getOperation() {
+            return operation;
+        }
+
+        boolean isCreating() {
+            return creating;
+        }
+
+        void add(IssueTrackerRequest request) {
+            requests.add(request);
+        }
+
+        void addAllFirst(PlannedOperation plannedOperation) {
+            requests.addAll(0, plannedOperation.requests);
+        }
+
+        // The last request of the final operation carries the latest content. The comments of every request are kept in their order.
+        IssueTrackerRequest toRequest() {
+            if (requests.size() == 1) {
+                return requests.get(0);
+            }
+            IssueTrackerRequest finalRequest = requests.get(requests.size() - 1);
+            for (IssueTrackerRequest request : requests) {
+                if (operation == request.getOperation()) {
+                    finalRequest = request;
+                }
+            }
+            List<String> additionalComments = new ArrayList<>();
+            for (IssueTrackerRequest request : requests) {
+                additionalComments.addAll(request.getRequestContent().getAdditionalComments());
+            }
+            IssueContentModel finalContent = finalRequest.getRequestContent();
+            IssueContentModel content = IssueContentModel.of(finalContent.getTitle(), finalContent.getDescription(), finalContent.getDescriptionComments(), additionalComments);
+            return new IssueTrackerRequest(operation, finalRequest.getIssueSearchProperties(), content);
+        }
+    }
+
+}
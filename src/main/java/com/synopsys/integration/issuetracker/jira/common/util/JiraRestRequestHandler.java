@@ -0,0 +1,96 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.jira.common.rest.JiraHttpClient;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.body.StringBodyContent;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+/**
+ * Sends requests to the Jira REST API that the service classes do not expose, such as expanded issue lookups and bulk operations.
+ */
+public class JiraRestRequestHandler {
+    public static final String API_PATH = "/rest/api/2";
+
+    private final JiraHttpClient jiraHttpClient;
+    private final String baseUrl;
+    private final Gson gson;
+
+    public JiraRestRequestHandler(JiraHttpClient jiraHttpClient, String baseUrl, Gson gson) {
+        this.jiraHttpClient = jiraHttpClient;
+        this.baseUrl = StringUtils.removeEnd(baseUrl, "/");
+        this.gson = gson;
+    }
+
+    public JsonObject get(String apiPath, Map<String, String> queryParameters) throws IntegrationException {
+        Request.Builder requestBuilder = new Request.Builder(createUrl(apiPath)).method(HttpMethod.GET);
+        queryParameters.forEach(requestBuilder::addQueryParameter);
+        return execute(requestBuilder.build());
+    }
+
+    public JsonObject post(String apiPath, JsonElement requestBody) throws IntegrationException {
+        Request request = new Request.Builder(createUrl(apiPath))
+                              .method(HttpMethod.POST)
+                              .bodyContent(new StringBodyContent(gson.toJson(requestBody)))
+                              .build();
+        return execute(request);
+    }
+
+    public Gson getGson() {
+        return gson;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    private String createUrl(String apiPath) {
+        return baseUrl + API_PATH + apiPath;
+    }
+
+    private JsonObject execute(Request request) throws IntegrationException {
+        try (Response response = jiraHttpClient.execute(request)) {
+            response.throwExceptionForError();
+            String content = response.getContentString();
+            if (StringUtils.isBlank(content)) {
+                return new JsonObject();
+            }
+            return gson.fromJson(content, JsonObject.class);
+        } catch (IOException | JsonParseException e) {
+            throw new IntegrationException(String.format("There was a problem reading the response from Jira: %s", e.getMessage()), e);
+        }
+    }
+
+}
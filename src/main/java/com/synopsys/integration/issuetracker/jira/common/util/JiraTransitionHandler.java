@@ -22,26 +22,49 @@
  */
 package com.synopsys.integration.issuetracker.jira.common.util;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.issuetracker.common.IssueOperation;
 import com.synopsys.integration.issuetracker.common.config.IssueConfig;
 import com.synopsys.integration.issuetracker.common.exception.IssueMissingTransitionException;
 import com.synopsys.integration.issuetracker.common.service.TransitionValidator;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraTransitionCache;
 import com.synopsys.integration.jira.common.model.components.IdComponent;
 import com.synopsys.integration.jira.common.model.components.StatusCategory;
 import com.synopsys.integration.jira.common.model.components.StatusDetailsComponent;
 import com.synopsys.integration.jira.common.model.components.TransitionComponent;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
 
 public abstract class JiraTransitionHandler implements TransitionValidator<TransitionComponent> {
     public static final String TODO_STATUS_CATEGORY_KEY = "new";
     public static final String DONE_STATUS_CATEGORY_KEY = "done";
+    private static final int HTTP_STATUS_BAD_REQUEST = 400;
+    private static final int HTTP_STATUS_NOT_FOUND = 404;
     private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final JiraTransitionCache transitionCache;
+    private final JiraRestRequestHandler restRequestHandler;
+
+    protected JiraTransitionHandler() {
+        this(new JiraTransitionCache(), null);
+    }
+
+    protected JiraTransitionHandler(JiraTransitionCache transitionCache, JiraRestRequestHandler restRequestHandler) {
+        this.transitionCache = transitionCache;
+        this.restRequestHandler = restRequestHandler;
+    }
 
     protected abstract void performTransition(String issueKey, IdComponent transitionId) throws IntegrationException;
 
@@ -55,6 +78,18 @@ public abstract class JiraTransitionHandler implements TransitionValidator<Trans
     }
 
     public boolean transitionIssueIfNecessary(String issueKey, IssueConfig jiraIssueConfig, IssueOperation operation) throws IntegrationException {
+        return transitionIssueIfNecessary(issueKey, null, jiraIssueConfig, operation);
+    }
+
+    public boolean transitionIssueIfNecessary(String issueKey, StatusDetailsComponent knownStatus, IssueConfig jiraIssueConfig, IssueOperation operation) throws IntegrationException {
+        return transitionIssueIfNecessary(issueKey, knownStatus, null, jiraIssueConfig, operation, Collections.emptyList());
+    }
+
+    // The known status and issue type usually come from the search that found the issue. When the status is present, no request is needed to decide that
+    // an issue is already in the right status category. The transition is only cached when the type of the issue is known.
+    // The comments are only written when the transition is performed, and only if canTransitionWithComments is true.
+    public boolean transitionIssueIfNecessary(String issueKey, StatusDetailsComponent knownStatus, String knownIssueTypeId, IssueConfig jiraIssueConfig, IssueOperation operation,
+        List<String> comments) throws IntegrationException {
         if (IssueOperation.UPDATE.equals(operation)) {
             logger.debug("No transition required for this issue: {}.", issueKey);
             return false;
@@ -62,9 +97,18 @@ public abstract class JiraTransitionHandler implements TransitionValidator<Trans
 
         Optional<String> transitionName = determineTransitionName(operation, jiraIssueConfig);
         if (transitionName.isPresent()) {
-            boolean shouldAttemptTransition = isTransitionRequired(operation, getStatusDetails(issueKey));
+            StatusDetailsComponent statusDetails = knownStatus;
+            String issueTypeId = knownIssueTypeId;
+            JiraIssueStatusTransitions statusTransitions = null;
+            if (null == statusDetails || null == statusDetails.getStatusCategory()) {
+                Optional<JiraIssueStatusTransitions> retrievedStatusTransitions = retrieveStatusAndTransitions(issueKey);
+                statusTransitions = retrievedStatusTransitions.orElse(null);
+                statusDetails = retrievedStatusTransitions.isPresent() ? retrievedStatusTransitions.get().getStatus() : getStatusDetails(issueKey);
+                issueTypeId = retrievedStatusTransitions.flatMap(JiraIssueStatusTransitions::getIssueTypeId).orElse(issueTypeId);
+            }
+            boolean shouldAttemptTransition = isTransitionRequired(operation, statusDetails);
             if (shouldAttemptTransition) {
-                performTransition(issueKey, transitionName.get());
+                performTransition(issueKey, jiraIssueConfig, statusDetails, issueTypeId, transitionName.get(), statusTransitions, comments);
                 return true;
             } else {
                 logger.debug("The issue {} is already in the status category that would result from this transition ({}).", issueKey, transitionName);
@@ -87,12 +131,108 @@ public abstract class JiraTransitionHandler implements TransitionValidator<Trans
         return false;
     }
 
-    private void performTransition(String issueKey, String transitionName) throws IntegrationException {
+    public boolean canTransitionWithComments() {
+        return null != restRequestHandler;
+    }
+
+    private void performTransition(String issueKey, String transitionId, List<String> comments) throws IntegrationException {
+        if (comments.isEmpty() || !canTransitionWithComments()) {
+            performTransition(issueKey, new IdComponent(transitionId));
+            return;
+        }
+        JsonObject transition = new JsonObject();
+        transition.addProperty("id", transitionId);
+        JsonArray commentOperations = new JsonArray();
+        for (String comment : comments) {
+            JsonObject commentBody = new JsonObject();
+            commentBody.addProperty("body", comment);
+            JsonObject addOperation = new JsonObject();
+            addOperation.add("add", commentBody);
+            commentOperations.add(addOperation);
+        }
+        JsonObject update = new JsonObject();
+        update.add("comment", commentOperations);
+
+        JsonObject transitionRequest = new JsonObject();
+        transitionRequest.add("transition", transition);
+        transitionRequest.add("update", update);
+        restRequestHandler.post(String.format("/issue/%s/transitions", issueKey), transitionRequest);
+    }
+
+    public JiraTransitionCache getTransitionCache() {
+        return transitionCache;
+    }
+
+    // Retrieves the current status together with the available transitions so that a transition needs one GET instead of two.
+    protected Optional<JiraIssueStatusTransitions> retrieveStatusAndTransitions(String issueKey) throws IntegrationException {
+        if (null == restRequestHandler) {
+            return Optional.empty();
+        }
+        Map<String, String> queryParameters = new HashMap<>();
+        queryParameters.put("fields", "status,issuetype");
+        queryParameters.put("expand", "transitions");
+        JsonObject issueJson = restRequestHandler.get(String.format("/issue/%s", issueKey), queryParameters);
+
+        JsonObject fields = issueJson.getAsJsonObject("fields");
+        JsonElement statusJson = null != fields ? fields.get("status") : null;
+        if (null == statusJson || statusJson.isJsonNull()) {
+            return Optional.empty();
+        }
+        StatusDetailsComponent status = restRequestHandler.getGson().fromJson(statusJson, StatusDetailsComponent.class);
+        List<TransitionComponent> transitions = Collections.emptyList();
+        JsonArray transitionsJson = issueJson.getAsJsonArray("transitions");
+        if (null != transitionsJson) {
+            transitions = restRequestHandler.getGson().fromJson(transitionsJson, new TypeToken<List<TransitionComponent>>() {}.getType());
+        }
+        return Optional.of(new JiraIssueStatusTransitions(status, readIssueTypeId(fields), transitions));
+    }
+
+    // The issue type is read from the issue itself, because an issue can be moved to a type with another workflow than the configured one.
+    public static String readIssueTypeId(JsonObject fields) {
+        JsonElement issueTypeJson = null != fields ? fields.get("issuetype") : null;
+        if (null == issueTypeJson || !issueTypeJson.isJsonObject()) {
+            return null;
+        }
+        JsonElement issueTypeId = issueTypeJson.getAsJsonObject().get("id");
+        return null != issueTypeId && !issueTypeId.isJsonNull() ? issueTypeId.getAsString() : null;
+    }
+
+    private void performTransition(String issueKey, IssueConfig jiraIssueConfig, StatusDetailsComponent statusDetails, String issueTypeId, String transitionName,
+        JiraIssueStatusTransitions statusTransitions, List<String> comments) throws IntegrationException {
         logger.debug("Attempting the transition '{}' on the issue '{}'", transitionName, issueKey);
-        Optional<TransitionComponent> firstTransitionByName = retrieveIssueTransition(issueKey, transitionName);
+        String projectKey = jiraIssueConfig.getProjectKey();
+        String statusId = statusDetails.getId();
+        boolean cacheable = StringUtils.isNoneBlank(projectKey, issueTypeId, statusId);
+
+        if (cacheable) {
+            Optional<TransitionComponent> cachedTransition = transitionCache.get(projectKey, issueTypeId, statusId, transitionName);
+            if (cachedTransition.isPresent()) {
+                try {
+                    performTransition(issueKey, cachedTransition.get().getId(), comments);
+                    return;
+                } catch (IntegrationRestException e) {
+                    // Jira rejects a transition that the workflow no longer offers. Other failures may have applied the transition and its comments already.
+                    if (HTTP_STATUS_BAD_REQUEST != e.getHttpStatusCode() && HTTP_STATUS_NOT_FOUND != e.getHttpStatusCode()) {
+                        throw e;
+                    }
+                    logger.debug("The cached transition '{}' failed for the issue '{}'. Retrieving the transitions again.", transitionName, issueKey);
+                    transitionCache.invalidate(projectKey, issueTypeId, statusId, transitionName);
+                }
+            }
+        }
+
+        Optional<TransitionComponent> firstTransitionByName;
+        if (null != statusTransitions) {
+            firstTransitionByName = statusTransitions.findFirstTransitionByName(transitionName);
+        } else {
+            firstTransitionByName = retrieveIssueTransition(issueKey, transitionName);
+        }
         if (firstTransitionByName.isPresent()) {
-            String transitionId = firstTransitionByName.map(TransitionComponent::getId).get();
-            performTransition(issueKey, new IdComponent(transitionId));
+            TransitionComponent transition = firstTransitionByName.get();
+            if (cacheable) {
+                transitionCache.put(projectKey, issueTypeId, statusId, transitionName, transition);
+            }
+            performTransition(issueKey, transition.getId(), comments);
         } else {
             throw new IssueMissingTransitionException(issueKey, transitionName);
         }
@@ -23,9 +23,11 @@
 package com.synopsys.integration.issuetracker.jira.server;
 
 import java.util.Collection;
+import java.util.concurrent.Executor;
 
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.issuetracker.jira.common.JiraIssueConfigValidator;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueMetadataCache;
 import com.synopsys.integration.jira.common.model.components.ProjectComponent;
 import com.synopsys.integration.jira.common.model.response.UserDetailsResponseModel;
 import com.synopsys.integration.jira.common.rest.service.IssueMetaDataService;
@@ -43,6 +45,12 @@ public class JiraServerIssueConfigValidator extends JiraIssueConfigValidator {
         this.userSearchService = userSearchService;
     }
 
+    public JiraServerIssueConfigValidator(ProjectService projectService, UserSearchService userSearchService, JiraIssueMetadataCache issueMetadataCache, Executor validationExecutor) {
+        super(issueMetadataCache, validationExecutor);
+        this.projectService = projectService;
+        this.userSearchService = userSearchService;
+    }
+
     @Override
     public String getProjectFieldKey() {
         return JiraServerProperties.KEY_JIRA_PROJECT_NAME;
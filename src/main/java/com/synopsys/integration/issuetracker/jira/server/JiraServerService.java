@@ -22,10 +22,10 @@
  */
 package com.synopsys.integration.issuetracker.jira.server;
 
+import java.io.Closeable;
+import java.util.Arrays;
 import java.util.List;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.Gson;
 import com.synopsys.integration.exception.IntegrationException;
@@ -34,60 +34,133 @@ import com.synopsys.integration.issuetracker.common.exception.IssueTrackerExcept
 import com.synopsys.integration.issuetracker.common.message.IssueTrackerRequest;
 import com.synopsys.integration.issuetracker.common.message.IssueTrackerResponse;
 import com.synopsys.integration.issuetracker.common.service.IssueTrackerService;
-import com.synopsys.integration.issuetracker.jira.common.JiraConstants;
-import com.synopsys.integration.issuetracker.jira.common.util.JiraContentValidator;
-import com.synopsys.integration.issuetracker.jira.server.util.JiraServerIssueHandler;
-import com.synopsys.integration.issuetracker.jira.server.util.JiraServerIssuePropertyHandler;
-import com.synopsys.integration.issuetracker.jira.server.util.JiraServerTransitionHandler;
-import com.synopsys.integration.jira.common.rest.service.IssueMetaDataService;
-import com.synopsys.integration.jira.common.rest.service.IssuePropertyService;
-import com.synopsys.integration.jira.common.rest.service.IssueTypeService;
-import com.synopsys.integration.jira.common.rest.service.PluginManagerService;
-import com.synopsys.integration.jira.common.server.service.IssueSearchService;
-import com.synopsys.integration.jira.common.server.service.IssueService;
-import com.synopsys.integration.jira.common.server.service.JiraServerServiceFactory;
-import com.synopsys.integration.jira.common.server.service.ProjectService;
-import com.synopsys.integration.jira.common.server.service.UserSearchService;
-
-public class JiraServerService extends IssueTrackerService<JiraServerContext> {
-    private Logger logger = LoggerFactory.getLogger(JiraServerService.class);
+import com.synopsys.integration.issuetracker.jira.common.JiraSessionConfig;
+import com.synopsys.integration.issuetracker.jira.common.JiraSessionKey;
+import com.synopsys.integration.issuetracker.jira.common.JiraSessionRegistry;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueConfigKey;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraCallResult;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraIssueBatchResponse;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraRequestCoalescer;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+
+public class JiraServerService extends IssueTrackerService<JiraServerContext> implements Closeable {
+    private final JiraSessionConfig sessionConfig;
+    private final JiraSessionRegistry<JiraServerSession> sessions;
+    private final JiraRequestCoalescer<JiraServerContext> requestCoalescer;
 
     public JiraServerService(Gson gson) {
+        this(gson, JiraSessionConfig.defaultConfig());
+    }
+
+    public JiraServerService(Gson gson, JiraSessionConfig sessionConfig) {
         super(gson);
+        this.sessionConfig = sessionConfig;
+        this.sessions = new JiraSessionRegistry<>(sessionConfig.getSessionIdleTimeout());
+        if (sessionConfig.getCoalescingWindow().isZero()) {
+            this.requestCoalescer = null;
+        } else {
+            this.requestCoalescer = new JiraRequestCoalescer<>(sessionConfig.getCoalescingWindow(), sessionConfig.getCoalescingMaxBatchSize(),
+                this::sendRequestCalls);
+        }
     }
 
     @Override
     public IssueTrackerResponse sendRequests(JiraServerContext context, List<IssueTrackerRequest> requests) throws IntegrationException {
+        validateRequests(context, requests);
+        JiraServerSession session = getSession(context.getIssueTrackerConfig());
+        return sendRequests(session, context, requests);
+    }
+
+    // Releases the session once the requests are sent, so each batch needs a session of its own from getSession.
+    public IssueTrackerResponse sendRequests(JiraServerSession session, JiraServerContext context, List<IssueTrackerRequest> requests)
+        throws IntegrationException {
+        return sendRequestBatch(session, context, requests).getResponse();
+    }
+
+    // Within a coalescing window, the requests are sent together with those of other calls for the same Jira project.
+    public CompletableFuture<IssueTrackerResponse> sendRequestsAsync(JiraServerContext context, List<IssueTrackerRequest> requests) {
+        try {
+            validateRequests(context, requests);
+            if (null == requestCoalescer) {
+                return CompletableFuture.completedFuture(sendRequests(context, requests));
+            }
+            JiraSessionKey sessionKey = JiraServerSession.createSessionKey(context.getIssueTrackerConfig());
+            JiraIssueConfigKey issueConfigKey = new JiraIssueConfigKey(sessionKey.getUrl(), context.getIssueConfig());
+            Object batchKey = Arrays.asList(sessionKey, issueConfigKey);
+            return requestCoalescer.submit(batchKey, context, requests);
+        } catch (IntegrationException e) {
+            CompletableFuture<IssueTrackerResponse> failedResponse = new CompletableFuture<>();
+            failedResponse.completeExceptionally(e);
+            return failedResponse;
+        }
+    }
+
+    // A thrown failure fails every call. Failures of a single call are returned with its result.
+    private List<JiraCallResult> sendRequestCalls(JiraServerContext context, List<List<IssueTrackerRequest>> callRequests)
+        throws IntegrationException {
+        JiraServerSession session = getSession(context.getIssueTrackerConfig());
+        try {
+            session.verifyAppInstalled();
+
+            IssueConfig validIssueConfig = session.validateIssueConfig(context);
+            List<JiraCallResult> callResults = session.getIssueHandler().processRequestCalls(validIssueConfig, callRequests);
+            for (JiraCallResult callResult : callResults) {
+                callResult.getFailure()
+                    .filter(IntegrationRestException.class::isInstance)
+                    .map(IntegrationRestException.class::cast)
+                    .ifPresent(session::handleRequestFailure);
+            }
+            return callResults;
+        } finally {
+            sessions.releaseSession(session);
+        }
+    }
+
+    private JiraIssueBatchResponse sendRequestBatch(JiraServerSession session, JiraServerContext context, List<IssueTrackerRequest> requests)
+        throws IntegrationException {
+        if (null == session) {
+            throw new IssueTrackerException("Session missing. Cannot determine Jira Server instance.");
+        }
+        try {
+            validateRequests(context, requests);
+            session.verifyAppInstalled();
+
+            IssueConfig validIssueConfig = session.validateIssueConfig(context);
+            try {
+                return session.getIssueHandler().processRequestBatch(validIssueConfig, requests);
+            } catch (IntegrationRestException ex) {
+                session.handleRequestFailure(ex);
+                throw ex;
+            }
+        } finally {
+            sessions.releaseSession(session);
+        }
+    }
+
+    // The session is in use until requests are sent with it, or until it is released with releaseSession.
+    public JiraServerSession getSession(JiraServerProperties jiraProperties) throws IssueTrackerException {
+        JiraSessionKey sessionKey = JiraServerSession.createSessionKey(jiraProperties);
+        return sessions.getSession(sessionKey, () -> new JiraServerSession(jiraProperties, getGson(), sessionConfig));
+    }
+
+    public void releaseSession(JiraServerSession session) {
+        sessions.releaseSession(session);
+    }
+
+    @Override
+    public void close() {
+        if (null != requestCoalescer) {
+            requestCoalescer.close();
+        }
+        sessions.close();
+    }
+
+    private void validateRequests(JiraServerContext context, List<IssueTrackerRequest> requests) throws IssueTrackerException {
         if (null == context) {
             throw new IssueTrackerException("Context missing. Cannot determine Jira Server instance.");
         }
         if (null == requests || requests.isEmpty()) {
             throw new IssueTrackerException("Requests missing. Require at least one request.");
         }
-        JiraServerProperties jiraProperties = context.getIssueTrackerConfig();
-        JiraServerServiceFactory jiraServerServiceFactory = jiraProperties.createJiraServicesServerFactory(logger, getGson());
-        PluginManagerService jiraAppService = jiraServerServiceFactory.createPluginManagerService();
-        logger.debug("Verifying the required application is installed on the Jira server...");
-        boolean missingApp = !jiraAppService.isAppInstalled(jiraProperties.getUsername(), jiraProperties.getPassword(), JiraConstants.JIRA_APP_KEY);
-        if (missingApp) {
-            throw new IssueTrackerException("Please configure the Jira Server plugin for your server instance via the global Jira Server channel settings.");
-        }
-
-        ProjectService projectService = jiraServerServiceFactory.createProjectService();
-        UserSearchService userSearchService = jiraServerServiceFactory.createUserSearchService();
-        IssueTypeService issueTypeService = jiraServerServiceFactory.createIssueTypeService();
-        IssueMetaDataService issueMetaDataService = jiraServerServiceFactory.createIssueMetadataService();
-
-        JiraServerIssueConfigValidator jiraIssueConfigValidator = new JiraServerIssueConfigValidator(projectService, userSearchService, issueTypeService, issueMetaDataService);
-        IssueConfig validIssueConfig = jiraIssueConfigValidator.createValidIssueConfig(context);
-
-        IssueService issueService = jiraServerServiceFactory.createIssueService();
-        IssuePropertyService issuePropertyService = jiraServerServiceFactory.createIssuePropertyService();
-        IssueSearchService issueSearchService = jiraServerServiceFactory.createIssueSearchService();
-        JiraContentValidator jiraContentValidator = new JiraContentValidator();
-        JiraServerTransitionHandler jiraTransitionHandler = new JiraServerTransitionHandler(issueService);
-        JiraServerIssuePropertyHandler jiraIssuePropertyHandler = new JiraServerIssuePropertyHandler(issueSearchService, issuePropertyService);
-        JiraServerIssueHandler jiraIssueHandler = new JiraServerIssueHandler(issueService, jiraProperties, getGson(), jiraTransitionHandler, jiraIssuePropertyHandler, jiraContentValidator);
-        return jiraIssueHandler.createOrUpdateIssues(validIssueConfig, requests);
     }
 }
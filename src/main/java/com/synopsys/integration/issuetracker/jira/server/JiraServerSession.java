@@ -0,0 +1,144 @@
+/**
+ * issuetracker-jira
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.issuetracker.jira.server;
+
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.issuetracker.common.exception.IssueTrackerException;
+import com.synopsys.integration.issuetracker.jira.common.JiraConstants;
+import com.synopsys.integration.issuetracker.jira.common.JiraSession;
+import com.synopsys.integration.issuetracker.jira.common.JiraSessionConfig;
+import com.synopsys.integration.issuetracker.jira.common.JiraSessionKey;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueMetadataCache;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraTransitionCache;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraContentValidator;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraRestRequestHandler;
+import com.synopsys.integration.issuetracker.jira.server.util.JiraServerIssueHandler;
+import com.synopsys.integration.issuetracker.jira.server.util.JiraServerIssuePropertyHandler;
+import com.synopsys.integration.issuetracker.jira.server.util.JiraServerTransitionHandler;
+import com.synopsys.integration.jira.common.rest.service.IssueMetaDataService;
+import com.synopsys.integration.jira.common.rest.service.IssuePropertyService;
+import com.synopsys.integration.jira.common.rest.service.IssueTypeService;
+import com.synopsys.integration.jira.common.rest.service.PluginManagerService;
+import com.synopsys.integration.jira.common.server.service.IssueSearchService;
+import com.synopsys.integration.jira.common.server.service.IssueService;
+import com.synopsys.integration.jira.common.server.service.JiraServerServiceFactory;
+import com.synopsys.integration.jira.common.server.service.ProjectService;
+import com.synopsys.integration.jira.common.server.service.UserSearchService;
+
+public class JiraServerSession extends JiraSession {
+    private final Logger logger = LoggerFactory.getLogger(JiraServerSession.class);
+
+    private final JiraServerProperties jiraProperties;
+    private final JiraServerServiceFactory jiraServerServiceFactory;
+    private final PluginManagerService jiraAppService;
+    private final JiraIssueMetadataCache issueMetadataCache;
+    private final JiraRestRequestHandler restRequestHandler;
+    private final JiraServerIssueConfigValidator jiraIssueConfigValidator;
+    private final JiraServerIssueHandler jiraIssueHandler;
+
+    public JiraServerSession(JiraServerProperties jiraProperties, Gson gson) throws IssueTrackerException {
+        this(jiraProperties, gson, JiraSessionConfig.defaultConfig());
+    }
+
+    public JiraServerSession(JiraServerProperties jiraProperties, Gson gson, JiraSessionConfig sessionConfig) throws IssueTrackerException {
+        super(createSessionKey(jiraProperties), sessionConfig);
+        this.jiraProperties = jiraProperties;
+        this.jiraServerServiceFactory = jiraProperties.createJiraServicesServerFactory(logger, gson);
+        this.jiraAppService = jiraServerServiceFactory.createPluginManagerService();
+        this.restRequestHandler = createRestRequestHandler(jiraServerServiceFactory.getHttpClient(), jiraProperties.getUrl(), gson);
+
+        ProjectService projectService = jiraServerServiceFactory.createProjectService();
+        UserSearchService userSearchService = jiraServerServiceFactory.createUserSearchService();
+        IssueTypeService issueTypeService = jiraServerServiceFactory.createIssueTypeService();
+        IssueMetaDataService issueMetaDataService = jiraServerServiceFactory.createIssueMetadataService();
+        this.issueMetadataCache = new JiraIssueMetadataCache(issueTypeService, issueMetaDataService, sessionConfig.getMetadataCacheTtl(),
+            sessionConfig.getMetadataCacheMaxSize());
+        this.jiraIssueConfigValidator = new JiraServerIssueConfigValidator(projectService, userSearchService, issueMetadataCache,
+            getValidationExecutor());
+
+        IssueService issueService = jiraServerServiceFactory.createIssueService();
+        IssuePropertyService issuePropertyService = jiraServerServiceFactory.createIssuePropertyService();
+        IssueSearchService issueSearchService = jiraServerServiceFactory.createIssueSearchService();
+        JiraContentValidator jiraContentValidator = new JiraContentValidator();
+        JiraTransitionCache transitionCache = new JiraTransitionCache(sessionConfig.getTransitionCacheTtl(),
+            sessionConfig.getTransitionCacheMaxSize());
+        JiraServerTransitionHandler jiraTransitionHandler = new JiraServerTransitionHandler(issueService, transitionCache, restRequestHandler);
+        JiraServerIssuePropertyHandler jiraIssuePropertyHandler = new JiraServerIssuePropertyHandler(issueSearchService, issuePropertyService,
+            restRequestHandler, sessionConfig.isLegacySearchFallback(), sessionConfig.getIssueKeyIndex().orElse(null));
+        this.jiraIssueHandler = new JiraServerIssueHandler(issueService, jiraProperties, gson, jiraTransitionHandler, jiraIssuePropertyHandler,
+            jiraContentValidator, sessionConfig, getWorkerExecutor(), restRequestHandler, getRequestExecutor(), getRefreshExecutor());
+    }
+
+    public static JiraSessionKey createSessionKey(JiraServerProperties jiraProperties) {
+        return new JiraSessionKey(jiraProperties.getUrl(), jiraProperties.getUsername(), jiraProperties.getPassword());
+    }
+
+    @Override
+    protected void checkAppInstalled() throws IntegrationException {
+        logger.debug("Verifying the required application is installed on the Jira server...");
+        boolean missingApp = !jiraAppService.isAppInstalled(jiraProperties.getUsername(), jiraProperties.getPassword(), JiraConstants.JIRA_APP_KEY);
+        if (missingApp) {
+            throw new IssueTrackerException("Please configure the Jira Server plugin for your server instance via the global Jira Server channel settings.");
+        }
+    }
+
+    @Override
+    public JiraServerIssueConfigValidator getIssueConfigValidator() {
+        return jiraIssueConfigValidator;
+    }
+
+    @Override
+    public JiraServerIssueHandler getIssueHandler() {
+        return jiraIssueHandler;
+    }
+
+    @Override
+    protected void releaseHttpClient() {
+        closeHttpClient(jiraServerServiceFactory.getHttpClient());
+    }
+
+    @Override
+    public JiraIssueMetadataCache getIssueMetadataCache() {
+        return issueMetadataCache;
+    }
+
+    @Override
+    public Optional<JiraRestRequestHandler> getRestRequestHandler() {
+        return Optional.ofNullable(restRequestHandler);
+    }
+
+    public JiraServerProperties getJiraProperties() {
+        return jiraProperties;
+    }
+
+    public JiraServerServiceFactory getJiraServerServiceFactory() {
+        return jiraServerServiceFactory;
+    }
+
+}
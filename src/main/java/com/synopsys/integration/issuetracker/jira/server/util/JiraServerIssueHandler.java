@@ -22,19 +22,27 @@
  */
 package com.synopsys.integration.issuetracker.jira.server.util;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonObject;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.issuetracker.common.message.IssueTrackerRequest;
 import com.synopsys.integration.issuetracker.jira.common.JiraIssueSearchProperties;
+import com.synopsys.integration.issuetracker.jira.common.JiraSessionConfig;
 import com.synopsys.integration.issuetracker.jira.common.util.JiraContentValidator;
 import com.synopsys.integration.issuetracker.jira.common.util.JiraIssueHandler;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraRestRequestHandler;
 import com.synopsys.integration.issuetracker.jira.server.JiraServerProperties;
 import com.synopsys.integration.jira.common.model.request.IssueCommentRequestModel;
 import com.synopsys.integration.jira.common.model.request.builder.IssueRequestModelFieldsMapBuilder;
@@ -51,13 +59,28 @@ public class JiraServerIssueHandler extends JiraIssueHandler {
     private final JiraServerProperties jiraProperties;
 
     private final JiraServerIssuePropertyHandler jiraIssuePropertyHelper;
+    private final Executor issueRetrievalExecutor;
 
     public JiraServerIssueHandler(IssueService issueService, JiraServerProperties jiraProperties, Gson gson, JiraServerTransitionHandler jiraTransitionHandler,
         JiraServerIssuePropertyHandler jiraIssuePropertyHandler, JiraContentValidator jiraContentValidator) {
-        super(gson, jiraTransitionHandler, jiraIssuePropertyHandler, jiraContentValidator);
+        this(issueService, jiraProperties, gson, jiraTransitionHandler, jiraIssuePropertyHandler, jiraContentValidator, JiraSessionConfig.defaultConfig(), Runnable::run, null, null);
+    }
+
+    public JiraServerIssueHandler(IssueService issueService, JiraServerProperties jiraProperties, Gson gson, JiraServerTransitionHandler jiraTransitionHandler,
+        JiraServerIssuePropertyHandler jiraIssuePropertyHandler, JiraContentValidator jiraContentValidator, JiraSessionConfig sessionConfig, Executor issueRetrievalExecutor,
+        JiraRestRequestHandler restRequestHandler, Executor requestExecutor) {
+        this(issueService, jiraProperties, gson, jiraTransitionHandler, jiraIssuePropertyHandler, jiraContentValidator, sessionConfig, issueRetrievalExecutor, restRequestHandler,
+            requestExecutor, null);
+    }
+
+    public JiraServerIssueHandler(IssueService issueService, JiraServerProperties jiraProperties, Gson gson, JiraServerTransitionHandler jiraTransitionHandler,
+        JiraServerIssuePropertyHandler jiraIssuePropertyHandler, JiraContentValidator jiraContentValidator, JiraSessionConfig sessionConfig, Executor issueRetrievalExecutor,
+        JiraRestRequestHandler restRequestHandler, Executor requestExecutor, Executor refreshExecutor) {
+        super(gson, jiraTransitionHandler, jiraIssuePropertyHandler, jiraContentValidator, sessionConfig, restRequestHandler, requestExecutor, refreshExecutor);
         this.issueService = issueService;
         this.jiraProperties = jiraProperties;
         this.jiraIssuePropertyHelper = jiraIssuePropertyHandler;
+        this.issueRetrievalExecutor = issueRetrievalExecutor;
     }
 
     @Override
@@ -65,35 +88,66 @@ public class JiraServerIssueHandler extends JiraIssueHandler {
         return issueService.createIssue(new IssueCreationRequestModel(issueCreator, issueType, projectName, fieldsBuilder));
     }
 
+    @Override
+    protected Optional<JsonObject> createReporterReference(String issueCreator) {
+        JsonObject reporter = new JsonObject();
+        reporter.addProperty("name", issueCreator);
+        return Optional.of(reporter);
+    }
+
     @Override
     public String getIssueCreatorFieldKey() {
         return JiraServerProperties.KEY_ISSUE_CREATOR;
     }
 
     @Override
-    protected List<IssueResponseModel> retrieveExistingIssues(String projectSearchIdentifier, IssueTrackerRequest request)
+    protected List<IssueResponseModel> searchExistingIssues(String projectSearchIdentifier, IssueTrackerRequest request)
         throws IntegrationException {
         JiraIssueSearchProperties issueProperties = request.getIssueSearchProperties();
+        // The search through the REST request handler returns the needed fields directly, so no issue has to be fetched again.
+        Optional<List<IssueResponseModel>> issueModels = jiraIssuePropertyHelper.findIssueModels(projectSearchIdentifier, issueProperties);
+        if (issueModels.isPresent()) {
+            return issueModels.get();
+        }
+
         List<IssueSearchIssueComponent> searchIssueModels = jiraIssuePropertyHelper
                                                                 .findIssues(projectSearchIdentifier, issueProperties)
                                                                 .map(IssueSearchResponseModel::getIssues)
                                                                 .orElse(Collections.emptyList());
-        List<IssueResponseModel> issues = new LinkedList<>();
-
-        for (IssueSearchIssueComponent searchIssue : searchIssueModels) {
+        List<CompletableFuture<Optional<IssueResponseModel>>> issueFutures = searchIssueModels
+                                                                                 .stream()
+                                                                                 .map(IssueSearchIssueComponent::getKey)
+                                                                                 .map(issueKey -> CompletableFuture.supplyAsync(() -> retrieveIssue(issueKey), issueRetrievalExecutor))
+                                                                                 .collect(Collectors.toList());
+
+        // The futures are joined in search order so the result keeps the order Jira returned.
+        List<IssueResponseModel> issues = new ArrayList<>(issueFutures.size());
+        for (CompletableFuture<Optional<IssueResponseModel>> issueFuture : issueFutures) {
             try {
-                issues.add(issueService.getIssue(searchIssue.getKey()));
-            } catch (IntegrationException ex) {
-                logger.error("Error getting issue details for issue. {}", searchIssue.getKey());
-                logger.debug("Cause", ex);
+                issueFuture.join().ifPresent(issues::add);
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw e;
             }
         }
-
         return issues;
     }
 
+    private Optional<IssueResponseModel> retrieveIssue(String issueKey) {
+        try {
+            return Optional.ofNullable(issueService.getIssue(issueKey));
+        } catch (IntegrationException ex) {
+            logger.error("Error getting issue details for issue. {}", issueKey);
+            logger.debug("Cause", ex);
+        }
+        return Optional.empty();
+    }
+
     @Override
-    protected void addComment(String issueKey, String comment) throws IntegrationException {
+    protected void postComment(String issueKey, String comment) throws IntegrationException {
         IssueCommentRequestModel issueCommentRequestModel = new IssueCommentRequestModel(issueKey, comment);
         issueService.addComment(issueCommentRequestModel);
     }
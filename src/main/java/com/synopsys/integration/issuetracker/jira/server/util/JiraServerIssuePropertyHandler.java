@@ -25,7 +25,9 @@ package com.synopsys.integration.issuetracker.jira.server.util;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.issuetracker.jira.common.JiraConstants;
 import com.synopsys.integration.issuetracker.jira.common.JiraIssueSearchProperties;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraIssueKeyIndex;
 import com.synopsys.integration.issuetracker.jira.common.util.JiraIssuePropertyHandler;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraRestRequestHandler;
 import com.synopsys.integration.jira.common.rest.service.IssuePropertyService;
 import com.synopsys.integration.jira.common.server.model.IssueSearchResponseModel;
 import com.synopsys.integration.jira.common.server.service.IssueSearchService;
@@ -39,13 +41,29 @@ public class JiraServerIssuePropertyHandler extends JiraIssuePropertyHandler<Iss
         this.issuePropertyService = issuePropertyService;
     }
 
+    public JiraServerIssuePropertyHandler(IssueSearchService issueSearchService, IssuePropertyService issuePropertyService, JiraRestRequestHandler restRequestHandler, boolean legacySearchFallback) {
+        this(issueSearchService, issuePropertyService, restRequestHandler, legacySearchFallback, null);
+    }
+
+    public JiraServerIssuePropertyHandler(IssueSearchService issueSearchService, IssuePropertyService issuePropertyService, JiraRestRequestHandler restRequestHandler, boolean legacySearchFallback,
+        JiraIssueKeyIndex issueKeyIndex) {
+        super(restRequestHandler, legacySearchFallback, issueKeyIndex);
+        this.issueSearchService = issueSearchService;
+        this.issuePropertyService = issuePropertyService;
+    }
+
     @Override
     public IssueSearchResponseModel queryForIssues(String query) throws IntegrationException {
         return issueSearchService.queryForIssues(query);
     }
 
+    @Override
+    protected boolean containsIssues(IssueSearchResponseModel searchResponse) {
+        return null != searchResponse && null != searchResponse.getIssues() && !searchResponse.getIssues().isEmpty();
+    }
+
     @Override
     public void addPropertiesToIssue(String issueKey, JiraIssueSearchProperties properties) throws IntegrationException {
-        issuePropertyService.setProperty(issueKey, JiraConstants.JIRA_ISSUE_PROPERTY_KEY, properties);
+        issuePropertyService.setProperty(issueKey, JiraConstants.JIRA_ISSUE_PROPERTY_KEY, properties.withFingerprint());
     }
 }
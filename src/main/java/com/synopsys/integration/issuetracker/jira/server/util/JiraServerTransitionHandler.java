@@ -26,6 +26,8 @@ import java.util.Collections;
 import java.util.Optional;
 
 import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraTransitionCache;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraRestRequestHandler;
 import com.synopsys.integration.issuetracker.jira.common.util.JiraTransitionHandler;
 import com.synopsys.integration.jira.common.model.components.IdComponent;
 import com.synopsys.integration.jira.common.model.components.StatusDetailsComponent;
@@ -42,6 +44,11 @@ public class JiraServerTransitionHandler extends JiraTransitionHandler {
         this.issueService = issueService;
     }
 
+    public JiraServerTransitionHandler(IssueService issueService, JiraTransitionCache transitionCache, JiraRestRequestHandler restRequestHandler) {
+        super(transitionCache, restRequestHandler);
+        this.issueService = issueService;
+    }
+
     @Override
     public Optional<TransitionComponent> retrieveIssueTransition(String issueKey, String transitionName) throws IntegrationException {
         TransitionsResponseModel transitions = issueService.getTransitions(issueKey);
@@ -1,35 +1,57 @@
 package com.synopsys.integration.issuetracker.jira.cloud;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Ignore;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.issuetracker.common.IssueOperation;
 import com.synopsys.integration.issuetracker.common.config.IssueConfig;
 import com.synopsys.integration.issuetracker.common.message.IssueContentModel;
 import com.synopsys.integration.issuetracker.common.message.IssueTrackerRequest;
+import com.synopsys.integration.issuetracker.common.message.IssueTrackerResponse;
 import com.synopsys.integration.issuetracker.jira.JiraTestConfigHelper;
+import com.synopsys.integration.issuetracker.jira.cloud.model.TestIssueResponse;
 import com.synopsys.integration.issuetracker.jira.cloud.util.JiraCloudIssueHandler;
 import com.synopsys.integration.issuetracker.jira.cloud.util.JiraCloudIssuePropertyHandler;
 import com.synopsys.integration.issuetracker.jira.cloud.util.JiraCloudTransitionHandler;
 import com.synopsys.integration.issuetracker.jira.common.JiraIssueSearchProperties;
+import com.synopsys.integration.issuetracker.jira.common.JiraSessionConfig;
 import com.synopsys.integration.issuetracker.jira.common.util.JiraContentValidator;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraRestRequestHandler;
+import com.synopsys.integration.jira.common.cloud.model.IssueCreationRequestModel;
 import com.synopsys.integration.jira.common.cloud.service.IssueSearchService;
 import com.synopsys.integration.jira.common.cloud.service.IssueService;
 import com.synopsys.integration.jira.common.cloud.service.JiraCloudServiceFactory;
+import com.synopsys.integration.jira.common.model.request.IssueCommentRequestModel;
 import com.synopsys.integration.jira.common.model.response.IssueResponseModel;
 import com.synopsys.integration.jira.common.rest.service.IssuePropertyService;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.log.LogLevel;
 import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
 
 public class JiraCloudIssueHandlerTest {
+    private static final String COMMENT_FIELD_ERROR = "{\"errors\":{\"comment\":\"Field 'comment' cannot be set. It is not on the appropriate screen, or unknown.\"}}";
     private Gson gson = new Gson();
 
     @Ignore
@@ -70,6 +92,312 @@ public class JiraCloudIssueHandlerTest {
         logger.alwaysLog("Done");
     }
 
+    @Test
+    public void testCommentFailureAfterLastRequestOfPartitionIsRethrown() throws Exception {
+        IssueService issueService = Mockito.mock(IssueService.class);
+        Mockito.when(issueService.createIssue(Mockito.any(IssueCreationRequestModel.class)))
+            .thenReturn(new TestIssueResponse("1", "project-1", new ArrayList<>()), new TestIssueResponse("2", "project-2", new ArrayList<>()));
+        IntegrationException commentFailure = new IntegrationException("Comment rejected");
+        Mockito.doThrow(commentFailure).when(issueService).addComment(Mockito.any(IssueCommentRequestModel.class));
+        JiraCloudProperties jiraProperties = Mockito.mock(JiraCloudProperties.class);
+        Mockito.when(jiraProperties.getUrl()).thenReturn("");
+        JiraSessionConfig sessionConfig = JiraSessionConfig.newBuilder()
+                                              .setRequestConcurrency(2)
+                                              .build();
+        // The partitions run one after the other on the calling thread, so the first one fails before the second one starts.
+        JiraCloudIssueHandler issueHandler = new JiraCloudIssueHandler(issueService, jiraProperties, gson, Mockito.mock(JiraCloudTransitionHandler.class),
+            Mockito.mock(JiraCloudIssuePropertyHandler.class), new JiraContentValidator(), sessionConfig, null, null, Runnable::run);
+
+        List<IssueTrackerRequest> requests = Arrays.asList(createOpenRequest("Component A"), createOpenRequest("Component B"));
+        IntegrationException failure = assertThrows(IntegrationException.class, () -> issueHandler.processRequests(createIssueConfig(), requests));
+
+        assertSame(commentFailure, failure);
+        Mockito.verify(issueService, Mockito.times(1)).createIssue(Mockito.any(IssueCreationRequestModel.class));
+    }
+
+    @Test
+    public void testTrackedFingerprintsLoadedOnRefreshExecutor() throws Exception {
+        IssueService issueService = Mockito.mock(IssueService.class);
+        Mockito.when(issueService.createIssue(Mockito.any(IssueCreationRequestModel.class))).thenReturn(new TestIssueResponse("1", "project-1", new ArrayList<>()));
+        JiraCloudIssuePropertyHandler issuePropertyHandler = Mockito.mock(JiraCloudIssuePropertyHandler.class);
+        Mockito.when(issuePropertyHandler.isFingerprintSearchable(Mockito.any())).thenReturn(true);
+        Mockito.when(issuePropertyHandler.findIssuesForBatch(Mockito.anyString(), Mockito.anyCollection(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(Optional.of(new ArrayList<>()));
+        JiraCloudProperties jiraProperties = Mockito.mock(JiraCloudProperties.class);
+        Mockito.when(jiraProperties.getUrl()).thenReturn("");
+        JiraSessionConfig sessionConfig = JiraSessionConfig.newBuilder()
+                                              .setLegacySearchFallback(false)
+                                              .setFingerprintFilterRefreshInterval(Duration.ofMinutes(5))
+                                              .build();
+        List<Runnable> refreshes = new ArrayList<>();
+        // Without a request executor the batch runs on the calling thread, which must not load the tracked fingerprints itself.
+        JiraCloudIssueHandler issueHandler = new JiraCloudIssueHandler(issueService, jiraProperties, gson, Mockito.mock(JiraCloudTransitionHandler.class), issuePropertyHandler,
+            new JiraContentValidator(), sessionConfig, null, null, null, refreshes::add);
+
+        issueHandler.processRequests(createIssueConfig(), Collections.singletonList(createOpenRequest("Component A")));
+        assertEquals(1, refreshes.size());
+        Mockito.verify(issuePropertyHandler, Mockito.never()).findTrackedFingerprints(Mockito.anyString());
+
+        refreshes.get(0).run();
+        Mockito.verify(issuePropertyHandler).findTrackedFingerprints(Mockito.anyString());
+    }
+
+    @Test
+    public void testBulkCreatePartiallyRejected() throws Exception {
+        IssueService issueService = Mockito.mock(IssueService.class);
+        JiraCloudIssuePropertyHandler issuePropertyHandler = Mockito.mock(JiraCloudIssuePropertyHandler.class);
+        Mockito.when(issuePropertyHandler.findIssuesForBatch(Mockito.anyString(), Mockito.anyCollection(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(Optional.of(new ArrayList<>()));
+        JiraRestRequestHandler restRequestHandler = Mockito.mock(JiraRestRequestHandler.class);
+        JsonObject bulkResponse = gson.fromJson("{\"issues\":[{\"id\":\"1\",\"key\":\"project-1\"},{\"id\":\"3\",\"key\":\"project-3\"}],"
+                                                    + "\"errors\":[{\"failedElementNumber\":1,\"elementErrors\":{}}]}", JsonObject.class);
+        Mockito.when(restRequestHandler.post(Mockito.eq("/issue/bulk"), Mockito.any())).thenReturn(bulkResponse);
+        Mockito.when(restRequestHandler.post(Mockito.eq("/issue"), Mockito.any())).thenReturn(gson.fromJson("{\"id\":\"2\",\"key\":\"project-2\"}", JsonObject.class));
+        JiraSessionConfig sessionConfig = JiraSessionConfig.newBuilder()
+                                              .setBulkCreateBatchSize(50)
+                                              .build();
+        JiraCloudIssueHandler issueHandler = createIssueHandler(issueService, issuePropertyHandler, sessionConfig, restRequestHandler);
+
+        IssueConfig issueConfig = createIssueConfig();
+        issueConfig.setCommentOnIssues(false);
+        issueConfig.setIssueCreator(null);
+        List<IssueTrackerRequest> requests = Arrays.asList(createOpenRequest("Component A"), createOpenRequest("Component B"), createOpenRequest("Component C"));
+        IssueTrackerResponse response = issueHandler.processRequests(issueConfig, requests);
+
+        assertTrue(response.getUpdatedIssueKeys().containsAll(Arrays.asList("project-1", "project-2", "project-3")));
+        ArgumentCaptor<JsonElement> bulkRequest = ArgumentCaptor.forClass(JsonElement.class);
+        Mockito.verify(restRequestHandler).post(Mockito.eq("/issue/bulk"), bulkRequest.capture());
+        assertEquals(3, bulkRequest.getValue().getAsJsonObject().getAsJsonArray("issueUpdates").size());
+        // Only the rejected issue is created on its own.
+        Mockito.verify(restRequestHandler, Mockito.times(1)).post(Mockito.eq("/issue"), Mockito.any());
+        Mockito.verify(issueService, Mockito.never()).createIssue(Mockito.any(IssueCreationRequestModel.class));
+    }
+
+    @Test
+    public void testBulkCreateIsOffByDefault() throws Exception {
+        JiraCloudIssuePropertyHandler issuePropertyHandler = Mockito.mock(JiraCloudIssuePropertyHandler.class);
+        Mockito.when(issuePropertyHandler.findIssuesForBatch(Mockito.anyString(), Mockito.anyCollection(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(Optional.of(new ArrayList<>()));
+        JiraRestRequestHandler restRequestHandler = Mockito.mock(JiraRestRequestHandler.class);
+        Mockito.when(restRequestHandler.post(Mockito.eq("/issue"), Mockito.any()))
+            .thenReturn(gson.fromJson("{\"id\":\"1\",\"key\":\"project-1\"}", JsonObject.class), gson.fromJson("{\"id\":\"2\",\"key\":\"project-2\"}", JsonObject.class));
+        JiraCloudIssueHandler issueHandler = createIssueHandler(Mockito.mock(IssueService.class), issuePropertyHandler, JiraSessionConfig.defaultConfig(), restRequestHandler);
+
+        IssueConfig issueConfig = createIssueConfig();
+        issueConfig.setCommentOnIssues(false);
+        issueConfig.setIssueCreator(null);
+        issueHandler.processRequests(issueConfig, Arrays.asList(createOpenRequest("Component A"), createOpenRequest("Component B")));
+
+        Mockito.verify(restRequestHandler, Mockito.never()).post(Mockito.eq("/issue/bulk"), Mockito.any());
+        Mockito.verify(restRequestHandler, Mockito.times(2)).post(Mockito.eq("/issue"), Mockito.any());
+    }
+
+    @Test
+    public void testBulkCreateBatchSizeOfOneIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> JiraSessionConfig.newBuilder().setBulkCreateBatchSize(1).build());
+    }
+
+    @Test
+    public void testCreateIssueWithInlineComments() throws Exception {
+        IssueService issueService = Mockito.mock(IssueService.class);
+        JiraRestRequestHandler restRequestHandler = Mockito.mock(JiraRestRequestHandler.class);
+        Mockito.when(restRequestHandler.post(Mockito.eq("/issue"), Mockito.any())).thenReturn(createIssueJson("project-1"));
+        TestJiraIssueHandler issueHandler = createTestIssueHandler(issueService, JiraSessionConfig.defaultConfig(), restRequestHandler);
+
+        assertTrue(issueHandler.testCreateIssue(createInlineCommentIssueConfig(), createOpenRequest("Component A")).isPresent());
+
+        List<JsonObject> createRequests = captureCreateRequests(restRequestHandler, 1);
+        assertTrue(createRequests.get(0).has("update"));
+        Mockito.verify(issueService, Mockito.never()).addComment(Mockito.any(IssueCommentRequestModel.class));
+    }
+
+    @Test
+    public void testRejectedCommentFieldFallsBackToSeparateComments() throws Exception {
+        IssueService issueService = Mockito.mock(IssueService.class);
+        JiraRestRequestHandler restRequestHandler = Mockito.mock(JiraRestRequestHandler.class);
+        Mockito.when(restRequestHandler.post(Mockito.eq("/issue"), Mockito.any()))
+            .thenThrow(createBadRequest(COMMENT_FIELD_ERROR))
+            .thenReturn(createIssueJson("project-1"));
+        TestJiraIssueHandler issueHandler = createTestIssueHandler(issueService, JiraSessionConfig.defaultConfig(), restRequestHandler);
+
+        assertTrue(issueHandler.testCreateIssue(createInlineCommentIssueConfig(), createOpenRequest("Component A")).isPresent());
+
+        List<JsonObject> createRequests = captureCreateRequests(restRequestHandler, 2);
+        assertTrue(createRequests.get(0).has("update"));
+        assertFalse(createRequests.get(1).has("update"));
+        Mockito.verify(issueService, Mockito.times(1)).addComment(Mockito.any(IssueCommentRequestModel.class));
+    }
+
+    @Test
+    public void testOtherBadRequestIsNotRetriedWithoutComments() throws Exception {
+        JiraRestRequestHandler restRequestHandler = Mockito.mock(JiraRestRequestHandler.class);
+        Mockito.when(restRequestHandler.post(Mockito.eq("/issue"), Mockito.any())).thenThrow(createBadRequest("{\"errors\":{\"summary\":\"The summary is required.\"}}"));
+        TestJiraIssueHandler issueHandler = createTestIssueHandler(Mockito.mock(IssueService.class), JiraSessionConfig.defaultConfig(), restRequestHandler);
+
+        assertFalse(issueHandler.testCreateIssue(createInlineCommentIssueConfig(), createOpenRequest("Component A")).isPresent());
+
+        Mockito.verify(restRequestHandler, Mockito.times(1)).post(Mockito.eq("/issue"), Mockito.any());
+    }
+
+    @Test
+    public void testRejectedCommentFieldSkippedWhileMetadataIsCached() throws Exception {
+        JiraRestRequestHandler restRequestHandler = Mockito.mock(JiraRestRequestHandler.class);
+        Mockito.when(restRequestHandler.post(Mockito.eq("/issue"), Mockito.any()))
+            .thenThrow(createBadRequest(COMMENT_FIELD_ERROR))
+            .thenReturn(createIssueJson("project-1"), createIssueJson("project-2"));
+        TestJiraIssueHandler issueHandler = createTestIssueHandler(Mockito.mock(IssueService.class), JiraSessionConfig.defaultConfig(), restRequestHandler);
+
+        IssueConfig issueConfig = createInlineCommentIssueConfig();
+        issueHandler.testCreateIssue(issueConfig, createOpenRequest("Component A"));
+        issueHandler.testCreateIssue(issueConfig, createOpenRequest("Component B"));
+
+        List<JsonObject> createRequests = captureCreateRequests(restRequestHandler, 3);
+        assertFalse(createRequests.get(2).has("update"));
+    }
+
+    @Test
+    public void testRejectedCommentFieldTriedAgainAfterMetadataCacheTtl() throws Exception {
+        JiraRestRequestHandler restRequestHandler = Mockito.mock(JiraRestRequestHandler.class);
+        Mockito.when(restRequestHandler.post(Mockito.eq("/issue"), Mockito.any()))
+            .thenThrow(createBadRequest(COMMENT_FIELD_ERROR))
+            .thenReturn(createIssueJson("project-1"), createIssueJson("project-2"));
+        JiraSessionConfig sessionConfig = JiraSessionConfig.newBuilder()
+                                              .setMetadataCacheTtl(Duration.ZERO)
+                                              .build();
+        TestJiraIssueHandler issueHandler = createTestIssueHandler(Mockito.mock(IssueService.class), sessionConfig, restRequestHandler);
+
+        IssueConfig issueConfig = createInlineCommentIssueConfig();
+        issueHandler.testCreateIssue(issueConfig, createOpenRequest("Component A"));
+        issueHandler.testCreateIssue(issueConfig, createOpenRequest("Component B"));
+
+        List<JsonObject> createRequests = captureCreateRequests(restRequestHandler, 3);
+        assertTrue(createRequests.get(2).has("update"));
+    }
+
+    @Test
+    public void testCreatedIssueUsedUntilSearchCatchesUp() throws Exception {
+        JiraCloudIssuePropertyHandler issuePropertyHandler = Mockito.mock(JiraCloudIssuePropertyHandler.class);
+        Mockito.when(issuePropertyHandler.findIssuesForBatch(Mockito.anyString(), Mockito.anyCollection(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(Optional.of(new ArrayList<>()));
+        JiraRestRequestHandler restRequestHandler = Mockito.mock(JiraRestRequestHandler.class);
+        Mockito.when(restRequestHandler.post(Mockito.eq("/issue"), Mockito.any())).thenReturn(createIssueJson("project-1"), createIssueJson("project-2"));
+        JiraCloudIssueHandler issueHandler = createIssueHandler(Mockito.mock(IssueService.class), issuePropertyHandler, JiraSessionConfig.defaultConfig(), restRequestHandler);
+
+        IssueConfig issueConfig = createIssueConfig();
+        issueConfig.setCommentOnIssues(false);
+        issueConfig.setIssueCreator(null);
+        issueHandler.processRequests(issueConfig, Collections.singletonList(createOpenRequest("Component A")));
+        // The search does not return the new issue yet, so only the created issue cache keeps it from being created twice.
+        issueHandler.processRequests(issueConfig, Collections.singletonList(createOpenRequest("Component A")));
+
+        Mockito.verify(restRequestHandler, Mockito.times(1)).post(Mockito.eq("/issue"), Mockito.any());
+    }
+
+    @Test
+    public void testCreatedIssueNotBulkCreatedAgain() throws Exception {
+        JiraCloudIssuePropertyHandler issuePropertyHandler = Mockito.mock(JiraCloudIssuePropertyHandler.class);
+        Mockito.when(issuePropertyHandler.findIssuesForBatch(Mockito.anyString(), Mockito.anyCollection(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(Optional.of(new ArrayList<>()));
+        JiraRestRequestHandler restRequestHandler = Mockito.mock(JiraRestRequestHandler.class);
+        Mockito.when(restRequestHandler.post(Mockito.eq("/issue/bulk"), Mockito.any()))
+            .thenReturn(gson.fromJson("{\"issues\":[{\"id\":\"1\",\"key\":\"project-1\"},{\"id\":\"2\",\"key\":\"project-2\"}]}", JsonObject.class));
+        JiraSessionConfig sessionConfig = JiraSessionConfig.newBuilder()
+                                              .setBulkCreateBatchSize(50)
+                                              .build();
+        JiraCloudIssueHandler issueHandler = createIssueHandler(Mockito.mock(IssueService.class), issuePropertyHandler, sessionConfig, restRequestHandler);
+
+        IssueConfig issueConfig = createIssueConfig();
+        issueConfig.setCommentOnIssues(false);
+        issueConfig.setIssueCreator(null);
+        issueHandler.processRequests(issueConfig, Arrays.asList(createOpenRequest("Component A"), createOpenRequest("Component B")));
+        issueHandler.processRequests(issueConfig, Arrays.asList(createOpenRequest("Component A"), createOpenRequest("Component B")));
+
+        Mockito.verify(restRequestHandler, Mockito.times(1)).post(Mockito.eq("/issue/bulk"), Mockito.any());
+        Mockito.verify(restRequestHandler, Mockito.never()).post(Mockito.eq("/issue"), Mockito.any());
+    }
+
+    @Test
+    public void testBulkCreatedIssuesRecordedWhenBatchFails() throws Exception {
+        JiraCloudIssuePropertyHandler issuePropertyHandler = Mockito.mock(JiraCloudIssuePropertyHandler.class);
+        Mockito.when(issuePropertyHandler.findIssuesForBatch(Mockito.anyString(), Mockito.anyCollection(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(Optional.of(new ArrayList<>()));
+        // The bulk create looks up both requests, then the first request of the batch fails.
+        Mockito.when(issuePropertyHandler.selectMatchingIssues(Mockito.any(), Mockito.anyCollection()))
+            .thenReturn(new ArrayList<>(), new ArrayList<>())
+            .thenThrow(new IllegalStateException("Search failed"))
+            .thenReturn(new ArrayList<>());
+        JiraRestRequestHandler restRequestHandler = Mockito.mock(JiraRestRequestHandler.class);
+        Mockito.when(restRequestHandler.post(Mockito.eq("/issue/bulk"), Mockito.any()))
+            .thenReturn(gson.fromJson("{\"issues\":[{\"id\":\"1\",\"key\":\"project-1\"},{\"id\":\"2\",\"key\":\"project-2\"}]}", JsonObject.class));
+        JiraSessionConfig sessionConfig = JiraSessionConfig.newBuilder()
+                                              .setBulkCreateBatchSize(50)
+                                              .build();
+        JiraCloudIssueHandler issueHandler = createIssueHandler(Mockito.mock(IssueService.class), issuePropertyHandler, sessionConfig, restRequestHandler);
+
+        IssueConfig issueConfig = createIssueConfig();
+        issueConfig.setCommentOnIssues(false);
+        issueConfig.setIssueCreator(null);
+        List<IssueTrackerRequest> requests = Arrays.asList(createOpenRequest("Component A"), createOpenRequest("Component B"));
+        assertThrows(IllegalStateException.class, () -> issueHandler.processRequests(issueConfig, requests));
+        issueHandler.processRequests(issueConfig, requests);
+
+        Mockito.verify(issuePropertyHandler).indexIssue(Mockito.eq("PROJECT"), Mockito.any(), Mockito.eq("project-2"));
+        Mockito.verify(restRequestHandler, Mockito.times(1)).post(Mockito.eq("/issue/bulk"), Mockito.any());
+        Mockito.verify(restRequestHandler, Mockito.never()).post(Mockito.eq("/issue"), Mockito.any());
+    }
+
+    private JiraCloudIssueHandler createIssueHandler(IssueService issueService, JiraCloudIssuePropertyHandler issuePropertyHandler, JiraSessionConfig sessionConfig,
+        JiraRestRequestHandler restRequestHandler) {
+        JiraCloudProperties jiraProperties = Mockito.mock(JiraCloudProperties.class);
+        Mockito.when(jiraProperties.getUrl()).thenReturn("");
+        return new JiraCloudIssueHandler(issueService, jiraProperties, gson, Mockito.mock(JiraCloudTransitionHandler.class), issuePropertyHandler, new JiraContentValidator(),
+            sessionConfig, null, restRequestHandler, null);
+    }
+
+    private TestJiraIssueHandler createTestIssueHandler(IssueService issueService, JiraSessionConfig sessionConfig, JiraRestRequestHandler restRequestHandler) {
+        JiraCloudProperties jiraProperties = Mockito.mock(JiraCloudProperties.class);
+        Mockito.when(jiraProperties.getUrl()).thenReturn("");
+        return new TestJiraIssueHandler(issueService, jiraProperties, gson, Mockito.mock(JiraCloudTransitionHandler.class), Mockito.mock(JiraCloudIssuePropertyHandler.class),
+            new JiraContentValidator(), sessionConfig, restRequestHandler);
+    }
+
+    private IssueConfig createInlineCommentIssueConfig() {
+        IssueConfig issueConfig = createIssueConfig();
+        issueConfig.setIssueCreator(null);
+        return issueConfig;
+    }
+
+    private JsonObject createIssueJson(String issueKey) {
+        JsonObject issueJson = new JsonObject();
+        issueJson.addProperty("id", StringUtils.substringAfter(issueKey, "-"));
+        issueJson.addProperty("key", issueKey);
+        return issueJson;
+    }
+
+    private IntegrationRestException createBadRequest(String responseContent) {
+        return new IntegrationRestException(400, "Bad Request", responseContent, "The create request was rejected.");
+    }
+
+    private List<JsonObject> captureCreateRequests(JiraRestRequestHandler restRequestHandler, int expectedCount) throws IntegrationException {
+        ArgumentCaptor<JsonElement> createRequests = ArgumentCaptor.forClass(JsonElement.class);
+        Mockito.verify(restRequestHandler, Mockito.times(expectedCount)).post(Mockito.eq("/issue"), createRequests.capture());
+        return createRequests.getAllValues()
+                   .stream()
+                   .map(JsonElement::getAsJsonObject)
+                   .collect(Collectors.toList());
+    }
+
+    private IssueConfig createIssueConfig() {
+        IssueConfig issueConfig = new IssueConfig();
+        issueConfig.setCommentOnIssues(true);
+        issueConfig.setIssueType("task");
+        issueConfig.setProjectName("project");
+        issueConfig.setProjectKey("PROJECT");
+        issueConfig.setIssueCreator("creator");
+        return issueConfig;
+    }
+
+    private IssueTrackerRequest createOpenRequest(String componentValue) {
+        JiraIssueSearchProperties searchProperties = new JiraIssueSearchProperties("provider", "providerUrl", "topicName", "topicValue",
+            "subTopicName", "subTopicValue", "category", "componentName", componentValue, "subComponentName", "subComponentValue", "additionalKey");
+        IssueContentModel content = IssueContentModel.of("Valid Title Length", "Valid Description Length", new ArrayList<>());
+        return new IssueTrackerRequest(IssueOperation.OPEN, searchProperties, content);
+    }
+
     private class TestJiraIssueHandler extends JiraCloudIssueHandler {
 
         public TestJiraIssueHandler(IssueService issueService, JiraCloudProperties jiraProperties, Gson gson, JiraCloudTransitionHandler jiraTransitionHandler,
@@ -77,6 +405,11 @@ public class JiraCloudIssueHandlerTest {
             super(issueService, jiraProperties, gson, jiraTransitionHandler, jiraIssuePropertyHandler, jiraContentValidator);
         }
 
+        public TestJiraIssueHandler(IssueService issueService, JiraCloudProperties jiraProperties, Gson gson, JiraCloudTransitionHandler jiraTransitionHandler,
+            JiraCloudIssuePropertyHandler jiraIssuePropertyHandler, JiraContentValidator jiraContentValidator, JiraSessionConfig sessionConfig, JiraRestRequestHandler restRequestHandler) {
+            super(issueService, jiraProperties, gson, jiraTransitionHandler, jiraIssuePropertyHandler, jiraContentValidator, sessionConfig, null, restRequestHandler, null);
+        }
+
         public Optional<IssueResponseModel> testCreateIssue(IssueConfig issueConfig, IssueTrackerRequest request) throws IntegrationException {
             return createIssue(issueConfig, request);
         }
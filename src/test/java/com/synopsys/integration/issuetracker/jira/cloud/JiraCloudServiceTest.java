@@ -1,6 +1,9 @@
 package com.synopsys.integration.issuetracker.jira.cloud;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -194,6 +197,35 @@ public class JiraCloudServiceTest {
         assertTrue(response.getUpdatedIssueKeys().contains("project-1"));
     }
 
+    @Test
+    public void testAppInstallationCheckCached() throws Exception {
+        Mockito.when(jiraAppService.isAppInstalled(Mockito.anyString(), Mockito.anyString(), Mockito.eq(JiraConstants.JIRA_APP_KEY))).thenReturn(true);
+        JiraCloudService service = new JiraCloudService(gson);
+        JiraCloudSession session = service.getSession(createMockServerConfig());
+        session.verifyAppInstalled();
+        session.verifyAppInstalled();
+        Mockito.verify(jiraAppService, Mockito.times(1)).isAppInstalled(Mockito.anyString(), Mockito.anyString(), Mockito.eq(JiraConstants.JIRA_APP_KEY));
+
+        session.invalidateAppInstallation();
+        session.verifyAppInstalled();
+        Mockito.verify(jiraAppService, Mockito.times(2)).isAppInstalled(Mockito.anyString(), Mockito.anyString(), Mockito.eq(JiraConstants.JIRA_APP_KEY));
+    }
+
+    @Test
+    public void testSessionReused() throws Exception {
+        JiraCloudService service = new JiraCloudService(gson);
+        JiraCloudProperties jiraProperties = createMockServerConfig();
+        JiraCloudSession session = service.getSession(jiraProperties);
+        assertSame(session, service.getSession(jiraProperties));
+        Mockito.verify(jiraProperties, Mockito.times(1)).createJiraServicesCloudFactory(Mockito.any(), Mockito.eq(gson));
+
+        service.close();
+        assertTrue(session.isClosed());
+        JiraCloudSession newSession = service.getSession(jiraProperties);
+        assertNotSame(session, newSession);
+        assertFalse(newSession.isClosed());
+    }
+
     private JiraCloudServiceFactory createMockServiceFactory() {
         JiraCloudServiceFactory serviceFactory = Mockito.mock(JiraCloudServiceFactory.class);
         Mockito.when(serviceFactory.createPluginManagerService()).thenReturn(jiraAppService);
@@ -0,0 +1,28 @@
+package com.synopsys.integration.issuetracker.jira.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+public class JiraSessionConfigBuilderTest {
+
+    @Test
+    public void testNegativeValuesRejected() {
+        assertThrows(IllegalArgumentException.class, () -> JiraSessionConfig.newBuilder().setRequestConcurrency(-1).build());
+        assertThrows(IllegalArgumentException.class, () -> JiraSessionConfig.newBuilder().setSearchBatchSize(0).build());
+        assertThrows(IllegalArgumentException.class, () -> JiraSessionConfig.newBuilder().setCoalescingWindow(Duration.ofSeconds(-1)).build());
+    }
+
+    @Test
+    public void testBulkCreateBatchSizeBounded() {
+        assertThrows(IllegalArgumentException.class, () -> JiraSessionConfig.newBuilder().setBulkCreateBatchSize(-1).build());
+        assertThrows(IllegalArgumentException.class, () -> JiraSessionConfig.newBuilder().setBulkCreateBatchSize(1).build());
+        assertThrows(IllegalArgumentException.class, () -> JiraSessionConfig.newBuilder().setBulkCreateBatchSize(JiraSessionConfig.MAX_BULK_CREATE_BATCH_SIZE + 1).build());
+        assertEquals(0, JiraSessionConfig.newBuilder().setBulkCreateBatchSize(0).build().getBulkCreateBatchSize());
+        assertEquals(JiraSessionConfig.MAX_BULK_CREATE_BATCH_SIZE, JiraSessionConfig.newBuilder().setBulkCreateBatchSize(JiraSessionConfig.MAX_BULK_CREATE_BATCH_SIZE).build().getBulkCreateBatchSize());
+    }
+
+}
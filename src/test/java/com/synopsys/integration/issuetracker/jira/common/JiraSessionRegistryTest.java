@@ -0,0 +1,96 @@
+package com.synopsys.integration.issuetracker.jira.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.issuetracker.common.exception.IssueTrackerException;
+
+public class JiraSessionRegistryTest {
+    private static final String JIRA_URL = "https://jira.example.com";
+
+    @Test
+    public void testSessionReusedUntilClosed() throws IssueTrackerException {
+        JiraSessionRegistry<JiraSession> registry = new JiraSessionRegistry<>(Duration.ZERO);
+        JiraSessionKey sessionKey = new JiraSessionKey(JIRA_URL, "user", "token");
+        JiraSession session = Mockito.mock(JiraSession.class);
+        assertSame(session, registry.getSession(sessionKey, () -> session));
+        assertSame(session, registry.getSession(sessionKey, () -> Mockito.mock(JiraSession.class)));
+
+        Mockito.when(session.isClosed()).thenReturn(true);
+        assertNotSame(session, registry.getSession(sessionKey, () -> Mockito.mock(JiraSession.class)));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testReplacedCredentialClosesSession() throws IssueTrackerException {
+        JiraSessionRegistry<JiraSession> registry = new JiraSessionRegistry<>(Duration.ZERO);
+        JiraSession oldSession = Mockito.mock(JiraSession.class);
+        JiraSession otherUserSession = Mockito.mock(JiraSession.class);
+        registry.getSession(new JiraSessionKey(JIRA_URL, "user", "old token"), () -> oldSession);
+        registry.getSession(new JiraSessionKey(JIRA_URL, "other user", "token"), () -> otherUserSession);
+        registry.releaseSession(oldSession);
+        registry.releaseSession(otherUserSession);
+
+        JiraSession newSession = Mockito.mock(JiraSession.class);
+        assertSame(newSession, registry.getSession(new JiraSessionKey(JIRA_URL, "user", "new token"), () -> newSession));
+        Mockito.verify(oldSession).close();
+        Mockito.verify(otherUserSession, Mockito.never()).close();
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void testIdleSessionClosed() throws IssueTrackerException {
+        JiraSessionRegistry<JiraSession> registry = new JiraSessionRegistry<>(Duration.ofMinutes(30));
+        JiraSessionKey idleKey = new JiraSessionKey(JIRA_URL, "idle user", "token");
+        JiraSession idleSession = Mockito.mock(JiraSession.class);
+        registry.getSession(idleKey, () -> idleSession);
+        registry.releaseSession(idleSession);
+
+        JiraSessionKey activeKey = new JiraSessionKey(JIRA_URL, "active user", "token");
+        JiraSession activeSession = Mockito.mock(JiraSession.class);
+        Mockito.when(activeSession.getLastUsed()).thenReturn(System.currentTimeMillis());
+        registry.getSession(activeKey, () -> activeSession);
+
+        Mockito.verify(idleSession).close();
+        Mockito.verify(activeSession, Mockito.never()).close();
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testSessionInUseNotClosed() throws IssueTrackerException {
+        JiraSessionRegistry<JiraSession> registry = new JiraSessionRegistry<>(Duration.ofMinutes(30));
+        JiraSessionKey oldKey = new JiraSessionKey(JIRA_URL, "user", "old token");
+        JiraSession oldSession = Mockito.mock(JiraSession.class);
+        registry.getSession(oldKey, () -> oldSession);
+        registry.getSession(oldKey, () -> Mockito.mock(JiraSession.class));
+        registry.releaseSession(oldSession);
+
+        JiraSessionKey newKey = new JiraSessionKey(JIRA_URL, "user", "new token");
+        registry.getSession(newKey, () -> Mockito.mock(JiraSession.class));
+        Mockito.verify(oldSession, Mockito.never()).close();
+        assertEquals(2, registry.size());
+
+        registry.releaseSession(oldSession);
+        registry.getSession(newKey, () -> Mockito.mock(JiraSession.class));
+        Mockito.verify(oldSession).close();
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testRequestedIdleSessionNotClosed() throws IssueTrackerException {
+        JiraSessionRegistry<JiraSession> registry = new JiraSessionRegistry<>(Duration.ofMinutes(30));
+        JiraSessionKey sessionKey = new JiraSessionKey(JIRA_URL, "user", "token");
+        JiraSession session = Mockito.mock(JiraSession.class);
+        registry.getSession(sessionKey, () -> session);
+
+        assertSame(session, registry.getSession(sessionKey, () -> Mockito.mock(JiraSession.class)));
+        Mockito.verify(session, Mockito.never()).close();
+    }
+
+}
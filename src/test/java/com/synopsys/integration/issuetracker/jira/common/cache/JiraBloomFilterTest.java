@@ -0,0 +1,41 @@
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class JiraBloomFilterTest {
+    @Test
+    public void testAddedValuesFound() {
+        JiraBloomFilter bloomFilter = new JiraBloomFilter(1000, 0.01);
+        for (int index = 0; index < 1000; index++) {
+            bloomFilter.put("fingerprint-" + index);
+        }
+        for (int index = 0; index < 1000; index++) {
+            assertTrue(bloomFilter.mightContain("fingerprint-" + index));
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRate() {
+        JiraBloomFilter bloomFilter = new JiraBloomFilter(1000, 0.01);
+        for (int index = 0; index < 1000; index++) {
+            bloomFilter.put("fingerprint-" + index);
+        }
+        int falsePositives = 0;
+        for (int index = 0; index < 10000; index++) {
+            if (bloomFilter.mightContain("other-" + index)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "Too many false positives: " + falsePositives);
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new JiraBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new JiraBloomFilter(10, 1.0));
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.jira.common.model.response.IssueResponseModel;
+
+public class JiraCreatedIssueCacheTest {
+    @Test
+    public void testIssuesExpireIndividually() {
+        AtomicLong currentTimeMillis = new AtomicLong(0L);
+        JiraCreatedIssueCache cache = new JiraCreatedIssueCache(Duration.ofMillis(100), 10, currentTimeMillis::get);
+        cache.add("PROJ", "fingerprint", createIssue("PROJ-1"));
+        currentTimeMillis.set(60L);
+        cache.add("PROJ", "fingerprint", createIssue("PROJ-2"));
+
+        currentTimeMillis.set(120L);
+        assertEquals(Collections.singletonList("PROJ-2"), getIssueKeys(cache));
+        currentTimeMillis.set(160L);
+        assertTrue(getIssueKeys(cache).isEmpty());
+    }
+
+    @Test
+    public void testFoundIssuesRemoved() {
+        JiraCreatedIssueCache cache = new JiraCreatedIssueCache();
+        cache.add("PROJ", "fingerprint", createIssue("PROJ-1"));
+        cache.add("PROJ", "fingerprint", createIssue("PROJ-2"));
+
+        cache.removeFound("PROJ", "fingerprint", Collections.singleton("PROJ-1"));
+        assertEquals(Collections.singletonList("PROJ-2"), getIssueKeys(cache));
+        cache.removeFound("PROJ", "fingerprint", Collections.singleton("PROJ-2"));
+        assertTrue(getIssueKeys(cache).isEmpty());
+    }
+
+    private List<String> getIssueKeys(JiraCreatedIssueCache cache) {
+        return cache.get("PROJ", "fingerprint")
+                   .stream()
+                   .map(IssueResponseModel::getKey)
+                   .collect(Collectors.toList());
+    }
+
+    private IssueResponseModel createIssue(String issueKey) {
+        IssueResponseModel issue = Mockito.mock(IssueResponseModel.class);
+        Mockito.when(issue.getKey()).thenReturn(issueKey);
+        return issue;
+    }
+
+}
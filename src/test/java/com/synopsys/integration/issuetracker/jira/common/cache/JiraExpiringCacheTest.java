@@ -0,0 +1,52 @@
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+public class JiraExpiringCacheTest {
+    @Test
+    public void testGetAndPut() {
+        JiraExpiringCache<String, String> cache = new JiraExpiringCache<>(Duration.ofMinutes(1), 10);
+        assertFalse(cache.get("key").isPresent());
+        cache.put("key", "value");
+        assertEquals("value", cache.get("key").orElse(null));
+    }
+
+    @Test
+    public void testExpiredEntriesRemoved() {
+        JiraExpiringCache<String, String> cache = new JiraExpiringCache<>(Duration.ZERO, 10);
+        cache.put("key", "value");
+        assertFalse(cache.get("key").isPresent());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        JiraExpiringCache<String, String> cache = new JiraExpiringCache<>(Duration.ofMinutes(1), 2);
+        cache.put("first", "1");
+        cache.put("second", "2");
+        cache.get("first");
+        cache.put("third", "3");
+        assertEquals(2, cache.size());
+        assertTrue(cache.get("first").isPresent());
+        assertFalse(cache.get("second").isPresent());
+        assertTrue(cache.get("third").isPresent());
+    }
+
+    @Test
+    public void testInvalidate() {
+        JiraExpiringCache<String, String> cache = new JiraExpiringCache<>(Duration.ofMinutes(1), 10);
+        cache.put("first", "1");
+        cache.put("second", "2");
+        cache.invalidate("first");
+        assertFalse(cache.get("first").isPresent());
+        assertTrue(cache.get("second").isPresent());
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,108 @@
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import org.junit.jupiter.api.Test;
+
+public class JiraFileIssueKeyIndexTest {
+
+    @Test
+    public void testIndexSurvivesRestart() throws Exception {
+        Path indexDirectory = Files.createTempDirectory("jira-index");
+        Path indexFile = indexDirectory.resolve("issue-keys.index");
+        try {
+            try (JiraFileIssueKeyIndex index = new JiraFileIssueKeyIndex(indexFile)) {
+                index.putIssueKeys("first", new LinkedHashSet<>(Arrays.asList("PROJECT-1", "PROJECT-2")));
+                index.addIssueKey("second", "PROJECT-3");
+                index.removeIssueKey("first", "PROJECT-1");
+                index.addIssueKey("third", "PROJECT-4");
+                index.removeIssueKey("third", "PROJECT-4");
+            }
+
+            try (JiraFileIssueKeyIndex reloadedIndex = new JiraFileIssueKeyIndex(indexFile)) {
+                assertEquals(Collections.singleton("PROJECT-2"), reloadedIndex.getIssueKeys("first"));
+                assertEquals(Collections.singleton("PROJECT-3"), reloadedIndex.getIssueKeys("second"));
+                assertTrue(reloadedIndex.getIssueKeys("third").isEmpty());
+            }
+            // The file is compacted when it is loaded, so only the remaining entries are left.
+            assertEquals(2, Files.readAllLines(indexFile).size());
+        } finally {
+            Files.deleteIfExists(indexFile);
+            Files.deleteIfExists(indexDirectory);
+        }
+    }
+
+    @Test
+    public void testUnchangedEntriesNotWritten() throws Exception {
+        Path indexDirectory = Files.createTempDirectory("jira-index");
+        Path indexFile = indexDirectory.resolve("issue-keys.index");
+        try {
+            try (JiraFileIssueKeyIndex index = new JiraFileIssueKeyIndex(indexFile)) {
+                index.addIssueKey("first", "PROJECT-1");
+                index.addIssueKey("first", "PROJECT-1");
+                index.removeIssueKey("first", "PROJECT-2");
+                index.removeIssueKey("second", "PROJECT-3");
+            }
+            assertEquals(1, Files.readAllLines(indexFile).size());
+        } finally {
+            Files.deleteIfExists(indexFile);
+            Files.deleteIfExists(indexDirectory);
+        }
+    }
+
+    @Test
+    public void testCompactedWhileWriting() throws Exception {
+        Path indexDirectory = Files.createTempDirectory("jira-index");
+        Path indexFile = indexDirectory.resolve("issue-keys.index");
+        try {
+            try (JiraFileIssueKeyIndex index = new JiraFileIssueKeyIndex(indexFile, 4)) {
+                for (int change = 0; change < 20; change++) {
+                    index.addIssueKey("first", "PROJECT-1");
+                    index.removeIssueKey("first", "PROJECT-1");
+                }
+                index.addIssueKey("second", "PROJECT-2");
+                assertTrue(Files.readAllLines(indexFile).size() <= 5);
+                assertEquals(Collections.singleton("PROJECT-2"), index.getIssueKeys("second"));
+            }
+
+            try (JiraFileIssueKeyIndex reloadedIndex = new JiraFileIssueKeyIndex(indexFile)) {
+                assertTrue(reloadedIndex.getIssueKeys("first").isEmpty());
+                assertEquals(Collections.singleton("PROJECT-2"), reloadedIndex.getIssueKeys("second"));
+            }
+        } finally {
+            Files.deleteIfExists(indexFile);
+            Files.deleteIfExists(indexDirectory);
+        }
+    }
+
+    @Test
+    public void testIndexKeptInMemoryWhenFileCannotBeWritten() throws Exception {
+        Path indexDirectory = Files.createTempDirectory("jira-index");
+        Path indexFile = indexDirectory.resolve("issue-keys.index");
+        try {
+            JiraFileIssueKeyIndex index = new JiraFileIssueKeyIndex(indexFile);
+            index.addIssueKey("first", "PROJECT-1");
+            // Writing to the closed file fails.
+            index.close();
+            index.addIssueKey("second", "PROJECT-2");
+            index.addIssueKey("second", "PROJECT-3");
+
+            assertEquals(new LinkedHashSet<>(Arrays.asList("PROJECT-2", "PROJECT-3")), index.getIssueKeys("second"));
+            try (JiraFileIssueKeyIndex reloadedIndex = new JiraFileIssueKeyIndex(indexFile)) {
+                assertEquals(Collections.singleton("PROJECT-1"), reloadedIndex.getIssueKeys("first"));
+                assertTrue(reloadedIndex.getIssueKeys("second").isEmpty());
+            }
+        } finally {
+            Files.deleteIfExists(indexFile);
+            Files.deleteIfExists(indexDirectory);
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.issuetracker.jira.server.model.TestIssueTypeResponseModel;
+import com.synopsys.integration.jira.common.model.response.IssueTypeResponseModel;
+import com.synopsys.integration.jira.common.rest.service.IssueMetaDataService;
+import com.synopsys.integration.jira.common.rest.service.IssueTypeService;
+
+public class JiraIssueMetadataCacheTest {
+    @Test
+    public void testIssueTypesCached() throws IntegrationException {
+        IssueTypeService issueTypeService = Mockito.mock(IssueTypeService.class);
+        IssueMetaDataService issueMetaDataService = Mockito.mock(IssueMetaDataService.class);
+        List<IssueTypeResponseModel> issueTypes = new ArrayList<>();
+        issueTypes.add(new TestIssueTypeResponseModel());
+        Mockito.when(issueTypeService.getAllIssueTypes()).thenReturn(issueTypes);
+
+        JiraIssueMetadataCache metadataCache = new JiraIssueMetadataCache(issueTypeService, issueMetaDataService, Duration.ofMinutes(1), 10);
+        assertTrue(metadataCache.doesIssueTypeExist("task"));
+        assertTrue(metadataCache.doesIssueTypeExist("task"));
+        Mockito.verify(issueTypeService, Mockito.times(1)).getAllIssueTypes();
+        assertEquals(1, metadataCache.getHitCount());
+        assertEquals(1, metadataCache.getMissCount());
+
+        // An unknown issue type refreshes the cached list.
+        assertFalse(metadataCache.doesIssueTypeExist("bug"));
+        Mockito.verify(issueTypeService, Mockito.times(2)).getAllIssueTypes();
+    }
+
+    @Test
+    public void testProjectIssueTypesCached() throws IntegrationException {
+        IssueTypeService issueTypeService = Mockito.mock(IssueTypeService.class);
+        IssueMetaDataService issueMetaDataService = Mockito.mock(IssueMetaDataService.class);
+        Mockito.when(issueMetaDataService.doesProjectContainIssueType("project", "task")).thenReturn(Boolean.TRUE);
+        Mockito.when(issueMetaDataService.doesProjectContainIssueType("project", "bug")).thenReturn(Boolean.FALSE);
+
+        JiraIssueMetadataCache metadataCache = new JiraIssueMetadataCache(issueTypeService, issueMetaDataService, Duration.ofMinutes(1), 10);
+        assertTrue(metadataCache.doesProjectContainIssueType("project", "task"));
+        assertTrue(metadataCache.doesProjectContainIssueType("project", "task"));
+        Mockito.verify(issueMetaDataService, Mockito.times(1)).doesProjectContainIssueType("project", "task");
+
+        assertFalse(metadataCache.doesProjectContainIssueType("project", "bug"));
+        assertFalse(metadataCache.doesProjectContainIssueType("project", "bug"));
+        Mockito.verify(issueMetaDataService, Mockito.times(2)).doesProjectContainIssueType("project", "bug");
+
+        metadataCache.invalidateAll();
+        assertTrue(metadataCache.doesProjectContainIssueType("project", "task"));
+        Mockito.verify(issueMetaDataService, Mockito.times(2)).doesProjectContainIssueType("project", "task");
+    }
+}
@@ -0,0 +1,128 @@
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class JiraMappedIssueKeyIndexTest {
+
+    @Test
+    public void testIndexSurvivesRestart() throws Exception {
+        Path indexDirectory = Files.createTempDirectory("jira-index");
+        Path indexFile = indexDirectory.resolve("issue-keys.index");
+        try {
+            try (JiraMappedIssueKeyIndex index = new JiraMappedIssueKeyIndex(indexFile)) {
+                index.putIssueKeys("first", new LinkedHashSet<>(Arrays.asList("PROJECT-1", "PROJECT-2")));
+                index.addIssueKey("second", "OTHER-3");
+                index.removeIssueKey("first", "PROJECT-1");
+                index.addIssueKey("third", "PROJECT-4");
+                index.removeIssueKey("third", "PROJECT-4");
+                // Keys that cannot be packed are not indexed.
+                index.addIssueKey("fourth", "not an issue key");
+            }
+
+            try (JiraMappedIssueKeyIndex reloadedIndex = new JiraMappedIssueKeyIndex(indexFile)) {
+                assertEquals(Collections.singleton("PROJECT-2"), reloadedIndex.getIssueKeys("first"));
+                assertEquals(Collections.singleton("OTHER-3"), reloadedIndex.getIssueKeys("second"));
+                assertTrue(reloadedIndex.getIssueKeys("third").isEmpty());
+                assertTrue(reloadedIndex.getIssueKeys("fourth").isEmpty());
+                assertEquals(2, reloadedIndex.size());
+            }
+        } finally {
+            deleteIndex(indexDirectory, indexFile);
+        }
+    }
+
+    @Test
+    public void testIndexGrows() throws Exception {
+        Path indexDirectory = Files.createTempDirectory("jira-index");
+        Path indexFile = indexDirectory.resolve("issue-keys.index");
+        try {
+            try (JiraMappedIssueKeyIndex index = new JiraMappedIssueKeyIndex(indexFile, 4)) {
+                for (int issueNumber = 0; issueNumber < 1000; issueNumber++) {
+                    index.addIssueKey("key-" + issueNumber, "PROJECT-" + issueNumber);
+                }
+                assertTrue(index.getCapacity() > 1000);
+            }
+
+            try (JiraMappedIssueKeyIndex reloadedIndex = new JiraMappedIssueKeyIndex(indexFile)) {
+                assertEquals(1000, reloadedIndex.size());
+                for (int issueNumber = 0; issueNumber < 1000; issueNumber++) {
+                    assertEquals(Collections.singleton("PROJECT-" + issueNumber), reloadedIndex.getIssueKeys("key-" + issueNumber));
+                }
+            }
+        } finally {
+            deleteIndex(indexDirectory, indexFile);
+        }
+    }
+
+    @Test
+    public void testLookupsWhileGrowing() throws Exception {
+        Path indexDirectory = Files.createTempDirectory("jira-index");
+        Path indexFile = indexDirectory.resolve("issue-keys.index");
+        ExecutorService lookupExecutor = Executors.newFixedThreadPool(2);
+        try (JiraMappedIssueKeyIndex index = new JiraMappedIssueKeyIndex(indexFile, 4)) {
+            List<Future<?>> lookups = new ArrayList<>();
+            for (int lookupThread = 0; lookupThread < 2; lookupThread++) {
+                lookups.add(lookupExecutor.submit(() -> {
+                    for (int lookup = 0; lookup < 10000; lookup++) {
+                        int issueNumber = lookup % 1000;
+                        Set<String> issueKeys = index.getIssueKeys("key-" + issueNumber);
+                        assertTrue(issueKeys.isEmpty() || issueKeys.equals(Collections.singleton("PROJECT-" + issueNumber)));
+                    }
+                    return null;
+                }));
+            }
+            for (int issueNumber = 0; issueNumber < 1000; issueNumber++) {
+                index.addIssueKey("key-" + issueNumber, "PROJECT-" + issueNumber);
+            }
+            for (Future<?> lookup : lookups) {
+                lookup.get();
+            }
+            assertEquals(1000, index.size());
+        } finally {
+            lookupExecutor.shutdownNow();
+            deleteIndex(indexDirectory, indexFile);
+        }
+    }
+
+    @Test
+    public void testProjectOfUnwritableSideFileNotIndexed() throws Exception {
+        Path indexDirectory = Files.createTempDirectory("jira-index");
+        Path indexFile = indexDirectory.resolve("issue-keys.index");
+        Path projectFile = indexFile.resolveSibling(indexFile.getFileName().toString() + ".projects");
+        try (JiraMappedIssueKeyIndex index = new JiraMappedIssueKeyIndex(indexFile)) {
+            index.addIssueKey("first", "PROJECT-1");
+            Files.delete(projectFile);
+            // A directory in place of the side file cannot be written.
+            Files.createDirectory(projectFile);
+
+            index.addIssueKey("second", "OTHER-2");
+            index.addIssueKey("third", "PROJECT-3");
+            assertTrue(index.getIssueKeys("second").isEmpty());
+            assertEquals(Collections.singleton("PROJECT-3"), index.getIssueKeys("third"));
+        } finally {
+            deleteIndex(indexDirectory, indexFile);
+        }
+    }
+
+    private void deleteIndex(Path indexDirectory, Path indexFile) throws Exception {
+        Files.deleteIfExists(indexFile);
+        Files.deleteIfExists(indexFile.resolveSibling(indexFile.getFileName().toString() + ".projects"));
+        Files.deleteIfExists(indexDirectory);
+    }
+
+}
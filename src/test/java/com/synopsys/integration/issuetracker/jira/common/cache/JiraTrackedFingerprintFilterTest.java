@@ -0,0 +1,89 @@
+package com.synopsys.integration.issuetracker.jira.common.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+
+public class JiraTrackedFingerprintFilterTest {
+    @Test
+    public void testSnapshotFingerprintsTracked() {
+        AtomicInteger loadCount = new AtomicInteger();
+        JiraTrackedFingerprintFilter filter = new JiraTrackedFingerprintFilter(projectKey -> {
+            loadCount.incrementAndGet();
+            return Optional.of(Arrays.asList("tracked-1", "tracked-2"));
+        }, Duration.ofHours(1));
+
+        assertFalse(filter.isDefinitelyUntracked("PROJ", "tracked-1"));
+        assertFalse(filter.isDefinitelyUntracked("PROJ", "tracked-2"));
+        assertTrue(filter.isDefinitelyUntracked("PROJ", "new"));
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    public void testAddedFingerprintsKeptAcrossRefresh() {
+        JiraTrackedFingerprintFilter filter = new JiraTrackedFingerprintFilter(projectKey -> Optional.of(Arrays.asList("tracked")), Duration.ZERO);
+        assertTrue(filter.isDefinitelyUntracked("PROJ", "created"));
+        filter.add("PROJ", "created");
+        // Every lookup loads a new snapshot, which does not contain the created issue yet.
+        assertFalse(filter.isDefinitelyUntracked("PROJ", "created"));
+    }
+
+    @Test
+    public void testNothingUntrackedWithoutSnapshot() {
+        JiraTrackedFingerprintFilter emptyFilter = new JiraTrackedFingerprintFilter(projectKey -> Optional.empty(), Duration.ofHours(1));
+        assertFalse(emptyFilter.isDefinitelyUntracked("PROJ", "fingerprint"));
+
+        JiraTrackedFingerprintFilter failingFilter = new JiraTrackedFingerprintFilter(this::failToLoad, Duration.ofHours(1));
+        assertFalse(failingFilter.isDefinitelyUntracked("PROJ", "fingerprint"));
+    }
+
+    @Test
+    public void testRefreshedInBackground() {
+        List<Runnable> refreshTasks = new ArrayList<>();
+        JiraTrackedFingerprintFilter filter = new JiraTrackedFingerprintFilter(projectKey -> Optional.of(Arrays.asList("tracked")), Duration.ofHours(1), refreshTasks::add);
+
+        // Nothing is filtered until the first snapshot is loaded, and only one load is started for a project.
+        assertFalse(filter.isDefinitelyUntracked("PROJ", "new"));
+        assertFalse(filter.isDefinitelyUntracked("PROJ", "new"));
+        assertEquals(1, refreshTasks.size());
+
+        refreshTasks.get(0).run();
+        assertTrue(filter.isDefinitelyUntracked("PROJ", "new"));
+        assertFalse(filter.isDefinitelyUntracked("PROJ", "tracked"));
+        assertEquals(1, refreshTasks.size());
+    }
+
+    @Test
+    public void testAddedFingerprintsDroppedAfterFailedRefresh() {
+        AtomicInteger loadCount = new AtomicInteger();
+        JiraTrackedFingerprintFilter filter = new JiraTrackedFingerprintFilter(projectKey -> {
+            if (2 == loadCount.incrementAndGet()) {
+                throw new IntegrationException("The search failed.");
+            }
+            return Optional.of(Arrays.asList("tracked"));
+        }, Duration.ZERO);
+
+        assertTrue(filter.isDefinitelyUntracked("PROJ", "created"));
+        filter.add("PROJ", "created");
+        assertFalse(filter.isDefinitelyUntracked("PROJ", "created"));
+        assertTrue(filter.isDefinitelyUntracked("PROJ", "created"));
+        assertEquals(3, loadCount.get());
+    }
+
+    private Optional<Collection<String>> failToLoad(String projectKey) throws IntegrationException {
+        throw new IntegrationException("The search failed.");
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.issuetracker.common.message.IssueTrackerResponse;
+
+public class JiraBatchOutcomesTest {
+
+    @Test
+    public void testResponsesCombinedInPartitionOrder() throws Exception {
+        JiraBatchOutcomes batchOutcomes = new JiraBatchOutcomes();
+        batchOutcomes.recordPartitionResponse(2, new IssueTrackerResponse("Issues updated.", Arrays.asList("project-3", "project-1")));
+        batchOutcomes.recordPartitionResponse(0, new IssueTrackerResponse("Issues updated.", Arrays.asList("project-1", "project-2")));
+        batchOutcomes.recordPartitionResponse(1, new IssueTrackerResponse(null, new ArrayList<>()));
+
+        IssueTrackerResponse response = batchOutcomes.createResponse();
+        assertEquals("Issues updated.", response.getStatusMessage());
+        assertEquals(Arrays.asList("project-1", "project-2", "project-3"), new ArrayList<>(response.getUpdatedIssueKeys()));
+    }
+
+    @Test
+    public void testFailureAfterLastRequestIsRethrown() {
+        JiraBatchOutcomes batchOutcomes = new JiraBatchOutcomes();
+        batchOutcomes.recordPartitionResponse(1, new IssueTrackerResponse("Issues updated.", Arrays.asList("project-2")));
+        IntegrationException commentFailure = new IntegrationException("Comment rejected");
+        batchOutcomes.recordPartitionFailure(0, commentFailure);
+
+        IntegrationException failure = assertThrows(IntegrationException.class, batchOutcomes::createResponse);
+        assertSame(commentFailure, failure);
+    }
+
+    @Test
+    public void testFailureOfEarliestRequestIsRethrown() {
+        JiraBatchOutcomes batchOutcomes = new JiraBatchOutcomes();
+        IntegrationException firstFailure = new IntegrationException("First failure");
+        batchOutcomes.recordPartitionFailure(2, new IntegrationException("Later failure"));
+        batchOutcomes.recordPartitionFailure(0, firstFailure);
+        assertTrue(batchOutcomes.hasFailed());
+
+        assertSame(firstFailure, assertThrows(IntegrationException.class, batchOutcomes::createResponse));
+    }
+
+    @Test
+    public void testEmptyResponseWithoutPartitions() throws Exception {
+        JiraBatchOutcomes batchOutcomes = new JiraBatchOutcomes();
+        assertFalse(batchOutcomes.hasFailed());
+        assertTrue(batchOutcomes.createResponse().getUpdatedIssueKeys().isEmpty());
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+public class JiraCommentPackerTest {
+
+    @Test
+    public void testCommentsArePackedInOrder() {
+        JiraCommentPacker commentPacker = new JiraCommentPacker(15);
+        List<String> comments = Arrays.asList("first", "second", "third", "fourth");
+
+        List<String> packedComments = commentPacker.packComments(comments);
+
+        assertEquals(Arrays.asList("first\n\nsecond", "third\n\nfourth"), packedComments);
+    }
+
+    @Test
+    public void testLongCommentIsLeftAlone() {
+        JiraCommentPacker commentPacker = new JiraCommentPacker();
+        String continuedDescription = JiraIssueHandler.DESCRIPTION_CONTINUED_TEXT + " \n " + StringUtils.repeat('a', JiraContentValidator.CONTENT_LENGTH - 30);
+        List<String> comments = Arrays.asList("first", continuedDescription, "last");
+
+        List<String> packedComments = commentPacker.packComments(comments);
+
+        assertEquals(Arrays.asList("first", continuedDescription, "last"), packedComments);
+    }
+
+    @Test
+    public void testNoComments() {
+        assertEquals(Collections.emptyList(), new JiraCommentPacker().packComments(Collections.emptyList()));
+    }
+
+}
@@ -0,0 +1,223 @@
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.issuetracker.jira.common.JiraConstants;
+import com.synopsys.integration.issuetracker.jira.common.JiraIssueSearchProperties;
+import com.synopsys.integration.issuetracker.jira.server.util.JiraServerIssuePropertyHandler;
+import com.synopsys.integration.jira.common.model.response.IssueResponseModel;
+import com.synopsys.integration.jira.common.rest.service.IssuePropertyService;
+import com.synopsys.integration.jira.common.server.model.IssueSearchResponseModel;
+import com.synopsys.integration.jira.common.server.service.IssueSearchService;
+
+public class JiraIssuePropertyHandlerTest {
+    private final JiraServerIssuePropertyHandler propertyHandler = new JiraServerIssuePropertyHandler(Mockito.mock(IssueSearchService.class), Mockito.mock(IssuePropertyService.class));
+
+    @Test
+    public void testSearchJqlUnchanged() {
+        JiraIssueSearchProperties searchProperties = createSearchProperties("Project", "1.0", "Component's");
+        String expectedJql = "project = 'KEY' "
+                                 + "AND issue.property[com-synopsys-integration-alert].provider = 'provider' "
+                                 + "AND issue.property[com-synopsys-integration-alert].providerUrl = 'https://provider' "
+                                 + "AND issue.property[com-synopsys-integration-alert].topicName = 'Project' "
+                                 + "AND issue.property[com-synopsys-integration-alert].topicValue = 'Project' "
+                                 + "AND issue.property[com-synopsys-integration-alert].subTopicName = 'Version' "
+                                 + "AND issue.property[com-synopsys-integration-alert].subTopicValue = '1.0' "
+                                 + "AND issue.property[com-synopsys-integration-alert].componentName = 'Component' "
+                                 + "AND issue.property[com-synopsys-integration-alert].componentValue = 'Component\\'s' ";
+        assertEquals(expectedJql, propertyHandler.createSearchJql("KEY", searchProperties));
+    }
+
+    @Test
+    public void testBatchSearchJqlSplitByClauseCount() {
+        List<String> clauses = Arrays.asList("(a)", "(b)", "(c)");
+        List<String> queries = propertyHandler.createBatchSearchJql("KEY", clauses, 2, 10000);
+        assertEquals(2, queries.size());
+        assertEquals("project = 'KEY' AND ((a) OR (b))", queries.get(0));
+        assertEquals("project = 'KEY' AND ((c))", queries.get(1));
+    }
+
+    @Test
+    public void testBatchSearchJqlSplitByLength() {
+        List<String> clauses = Arrays.asList("(a)", "(b)", "(c)");
+        String singleQuery = "project = 'KEY' AND ((a) OR (b))";
+        List<String> queries = propertyHandler.createBatchSearchJql("KEY", clauses, 50, singleQuery.length());
+        assertEquals(2, queries.size());
+        assertEquals(singleQuery, queries.get(0));
+        queries.forEach(query -> assertTrue(query.length() <= singleQuery.length()));
+    }
+
+    @Test
+    public void testMatchesSearchProperties() {
+        JiraIssueSearchProperties issueProperties = createSearchProperties("Project", "1.0", "Component");
+        assertTrue(propertyHandler.matchesSearchProperties(createSearchProperties("Project", "1.0", "Component"), issueProperties));
+        assertFalse(propertyHandler.matchesSearchProperties(createSearchProperties("Project", "2.0", "Component"), issueProperties));
+        assertFalse(propertyHandler.matchesSearchProperties(createSearchProperties("Project", "1.0", "Component"), null));
+
+        // Blank search values are left out of the JQL, so they match any value.
+        assertTrue(propertyHandler.matchesSearchProperties(createSearchProperties("Project", "1.0", null), issueProperties));
+    }
+
+    @Test
+    public void testFingerprintSearchJql() {
+        JiraIssueSearchProperties searchProperties = createSearchProperties("Project", "1.0", "Component");
+        String expectedJql = "project = 'KEY' AND issue.property[com-synopsys-integration-alert].fingerprint = '" + searchProperties.getFingerprint() + "' ";
+        assertEquals(expectedJql, propertyHandler.createFingerprintSearchJql("KEY", searchProperties));
+    }
+
+    @Test
+    public void testFingerprintStable() {
+        JiraIssueSearchProperties searchProperties = createSearchProperties("Project", "1.0", "Component");
+        assertEquals(64, searchProperties.getFingerprint().length());
+        assertEquals(searchProperties.getFingerprint(), createSearchProperties("Project", "1.0", "Component").getFingerprint());
+        assertNotEquals(searchProperties.getFingerprint(), createSearchProperties("Project", "2.0", "Component").getFingerprint());
+        assertEquals(createSearchProperties("Project", "1.0", "").getFingerprint(), createSearchProperties("Project", "1.0", null).getFingerprint());
+    }
+
+    @Test
+    public void testFingerprintIgnoresSubTopicValueWithoutName() {
+        JiraIssueSearchProperties withoutName = new JiraIssueSearchProperties("provider", "https://provider", "Project", "Project", null, "1.0", null, null, null, null, null, null);
+        JiraIssueSearchProperties otherValue = new JiraIssueSearchProperties("provider", "https://provider", "Project", "Project", null, "2.0", null, null, null, null, null, null);
+        assertEquals(withoutName.getFingerprint(), otherValue.getFingerprint());
+    }
+
+    @Test
+    public void testSelectMatchingIssuesPrefersFingerprint() {
+        JiraIssueSearchResult exactMatch = createSearchResult("KEY-1", createCompleteSearchProperties("Project", "1.0", "Component"));
+        JiraIssueSearchResult wildcardMatch = createSearchResult("KEY-2", createCompleteSearchProperties("Project", "1.0", "Other"));
+        List<JiraIssueSearchResult> candidates = Arrays.asList(exactMatch, wildcardMatch);
+
+        List<JiraIssueSearchResult> exactMatches = propertyHandler.selectMatchingIssues(createCompleteSearchProperties("Project", "1.0", "Component"), candidates);
+        assertEquals(1, exactMatches.size());
+        assertEquals(exactMatch, exactMatches.get(0));
+
+        JiraServerIssuePropertyHandler fingerprintOnlyHandler = new JiraServerIssuePropertyHandler(Mockito.mock(IssueSearchService.class), Mockito.mock(IssuePropertyService.class), null, false);
+        assertTrue(fingerprintOnlyHandler.selectMatchingIssues(createCompleteSearchProperties("Project", "1.0", "Missing"), candidates).isEmpty());
+    }
+
+    @Test
+    public void testBlankSearchValuesMatchLikeLegacySearch() {
+        List<JiraIssueSearchResult> candidates = Arrays.asList(createSearchResult("KEY-1", createCompleteSearchProperties("Project", "1.0", "Component")),
+            createSearchResult("KEY-2", createCompleteSearchProperties("Project", "1.0", "Other")));
+        JiraIssueSearchProperties blankComponent = createCompleteSearchProperties("Project", "1.0", null);
+        assertFalse(propertyHandler.isFingerprintSearchable(blankComponent));
+        assertTrue(propertyHandler.isFingerprintSearchable(createCompleteSearchProperties("Project", "1.0", "Component")));
+
+        assertEquals(2, propertyHandler.selectMatchingIssues(blankComponent, candidates).size());
+        // The fingerprint cannot express a blank value, so this holds without the legacy search fallback as well.
+        JiraServerIssuePropertyHandler fingerprintOnlyHandler = new JiraServerIssuePropertyHandler(Mockito.mock(IssueSearchService.class), Mockito.mock(IssuePropertyService.class), null, false);
+        assertEquals(2, fingerprintOnlyHandler.selectMatchingIssues(blankComponent, candidates).size());
+    }
+
+    @Test
+    public void testBlankSearchValuesSearchedWithLegacyJql() throws IntegrationException {
+        IssueSearchService issueSearchService = Mockito.mock(IssueSearchService.class);
+        Mockito.when(issueSearchService.queryForIssues(Mockito.anyString())).thenReturn(createSearchResponse(false));
+        JiraServerIssuePropertyHandler fingerprintOnlyHandler = new JiraServerIssuePropertyHandler(issueSearchService, Mockito.mock(IssuePropertyService.class), null, false);
+
+        JiraIssueSearchProperties searchProperties = createSearchProperties("Project", "1.0", "Component");
+        fingerprintOnlyHandler.findIssues("KEY", searchProperties);
+
+        Mockito.verify(issueSearchService).queryForIssues(fingerprintOnlyHandler.createSearchJql("KEY", searchProperties));
+        Mockito.verify(issueSearchService, Mockito.never()).queryForIssues(fingerprintOnlyHandler.createFingerprintSearchJql("KEY", searchProperties));
+    }
+
+    @Test
+    public void testDeserializedPropertiesStoredWithFingerprint() throws IntegrationException {
+        JiraIssueSearchProperties searchProperties = createSearchProperties("Project", "1.0", "Component");
+        JiraIssueSearchProperties legacyProperties = createLegacySearchProperties(searchProperties);
+
+        IssuePropertyService issuePropertyService = Mockito.mock(IssuePropertyService.class);
+        JiraServerIssuePropertyHandler storingHandler = new JiraServerIssuePropertyHandler(Mockito.mock(IssueSearchService.class), issuePropertyService, null, true);
+        storingHandler.addPropertiesToIssue("KEY-1", legacyProperties);
+
+        ArgumentCaptor<JiraIssueSearchProperties> storedProperties = ArgumentCaptor.forClass(JiraIssueSearchProperties.class);
+        Mockito.verify(issuePropertyService).setProperty(Mockito.eq("KEY-1"), Mockito.eq(JiraConstants.JIRA_ISSUE_PROPERTY_KEY), storedProperties.capture());
+        assertEquals(searchProperties, storedProperties.getValue());
+        assertSame(searchProperties, searchProperties.withFingerprint());
+    }
+
+    @Test
+    public void testFingerprintNotStoredByGetter() {
+        JiraIssueSearchProperties legacyProperties = createLegacySearchProperties(createSearchProperties("Project", "1.0", "Component"));
+        String propertiesString = legacyProperties.toString();
+        assertEquals(createSearchProperties("Project", "1.0", "Component").getFingerprint(), legacyProperties.getFingerprint());
+        assertEquals(propertiesString, legacyProperties.toString());
+        assertFalse(legacyProperties.isFingerprintStored());
+        assertTrue(legacyProperties.withFingerprint().isFingerprintStored());
+    }
+
+    @Test
+    public void testLegacySearchSkippedWithoutLegacyIssues() throws IntegrationException {
+        IssueSearchService issueSearchService = Mockito.mock(IssueSearchService.class);
+        Mockito.when(issueSearchService.queryForIssues(Mockito.anyString())).thenReturn(createSearchResponse(false));
+        JiraServerIssuePropertyHandler legacyHandler = new JiraServerIssuePropertyHandler(issueSearchService, Mockito.mock(IssuePropertyService.class), null, true);
+
+        JiraIssueSearchProperties searchProperties = createCompleteSearchProperties("Project", "1.0", "Component");
+        legacyHandler.findIssues("KEY", searchProperties);
+        legacyHandler.findIssues("KEY", searchProperties);
+
+        // The project is checked for issues without a fingerprint once, and after that only the fingerprint is searched for.
+        Mockito.verify(issueSearchService, Mockito.times(3)).queryForIssues(Mockito.anyString());
+        Mockito.verify(issueSearchService, Mockito.times(2)).queryForIssues(legacyHandler.createFingerprintSearchJql("KEY", searchProperties));
+        Mockito.verify(issueSearchService, Mockito.never()).queryForIssues(legacyHandler.createSearchJql("KEY", searchProperties));
+    }
+
+    @Test
+    public void testLegacySearchUsedWithLegacyIssues() throws IntegrationException {
+        IssueSearchService issueSearchService = Mockito.mock(IssueSearchService.class);
+        Mockito.when(issueSearchService.queryForIssues(Mockito.anyString())).thenReturn(createSearchResponse(false));
+        Mockito.when(issueSearchService.queryForIssues(Mockito.contains("IS EMPTY"))).thenReturn(createSearchResponse(true));
+        JiraServerIssuePropertyHandler legacyHandler = new JiraServerIssuePropertyHandler(issueSearchService, Mockito.mock(IssuePropertyService.class), null, true);
+
+        JiraIssueSearchProperties searchProperties = createCompleteSearchProperties("Project", "1.0", "Component");
+        legacyHandler.findIssues("KEY", searchProperties);
+        legacyHandler.findIssues("KEY", searchProperties);
+
+        Mockito.verify(issueSearchService, Mockito.times(1)).queryForIssues(Mockito.contains("IS EMPTY"));
+        Mockito.verify(issueSearchService, Mockito.times(2)).queryForIssues(legacyHandler.createSearchJql("KEY", searchProperties));
+    }
+
+    private JiraIssueSearchResult createSearchResult(String issueKey, JiraIssueSearchProperties searchProperties) {
+        IssueResponseModel issue = Mockito.mock(IssueResponseModel.class);
+        Mockito.when(issue.getKey()).thenReturn(issueKey);
+        return new JiraIssueSearchResult(issue, searchProperties);
+    }
+
+    private JiraIssueSearchProperties createLegacySearchProperties(JiraIssueSearchProperties searchProperties) {
+        JsonObject legacyJson = new Gson().toJsonTree(searchProperties).getAsJsonObject();
+        legacyJson.remove("fingerprint");
+        return new Gson().fromJson(legacyJson, JiraIssueSearchProperties.class);
+    }
+
+    private IssueSearchResponseModel createSearchResponse(boolean containsIssues) {
+        IssueSearchResponseModel searchResponse = Mockito.mock(IssueSearchResponseModel.class);
+        List<IssueResponseModel> issues = containsIssues ? Collections.singletonList(Mockito.mock(IssueResponseModel.class)) : Collections.emptyList();
+        Mockito.doReturn(issues).when(searchResponse).getIssues();
+        return searchResponse;
+    }
+
+    private JiraIssueSearchProperties createSearchProperties(String topicValue, String subTopicValue, String componentValue) {
+        return new JiraIssueSearchProperties("provider", "https://provider", "Project", topicValue, "Version", subTopicValue, null, "Component", componentValue, null, null, null);
+    }
+
+    private JiraIssueSearchProperties createCompleteSearchProperties(String topicValue, String subTopicValue, String componentValue) {
+        return new JiraIssueSearchProperties("provider", "https://provider", "Project", topicValue, "Version", subTopicValue, "Vulnerability", "Component", componentValue,
+            "Origin", "maven", "key");
+    }
+}
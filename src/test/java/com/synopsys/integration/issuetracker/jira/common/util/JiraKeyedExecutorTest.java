@@ -0,0 +1,93 @@
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class JiraKeyedExecutorTest {
+
+    @Test
+    public void testSameKeyRunsInOrder() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            JiraKeyedExecutor keyedExecutor = new JiraKeyedExecutor(executorService, 4);
+            List<Integer> executionOrder = Collections.synchronizedList(new ArrayList<>());
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int index = 0; index < 20; index++) {
+                int taskIndex = index;
+                futures.add(keyedExecutor.execute("key", () -> executionOrder.add(taskIndex)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+            List<Integer> expectedOrder = new ArrayList<>();
+            for (int index = 0; index < 20; index++) {
+                expectedOrder.add(index);
+            }
+            assertEquals(expectedOrder, executionOrder);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedTaskDoesNotBlockLane() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            JiraKeyedExecutor keyedExecutor = new JiraKeyedExecutor(executorService, 1);
+            keyedExecutor.execute("key", () -> {
+                throw new IllegalStateException("Task failed");
+            });
+            CountDownLatch secondTaskRan = new CountDownLatch(1);
+            keyedExecutor.execute("key", secondTaskRan::countDown);
+            assertTrue(secondTaskRan.await(10, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDifferentKeysRunInParallel() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            JiraKeyedExecutor keyedExecutor = new JiraKeyedExecutor(executorService, 2);
+            List<String> keys = findKeysOnDifferentLanes(keyedExecutor);
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            CompletableFuture<Void> first = keyedExecutor.execute(keys.get(0), () -> awaitOther(bothStarted));
+            CompletableFuture<Void> second = keyedExecutor.execute(keys.get(1), () -> awaitOther(bothStarted));
+            CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+            assertEquals(0, bothStarted.getCount());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private List<String> findKeysOnDifferentLanes(JiraKeyedExecutor keyedExecutor) {
+        for (String key : Arrays.asList("b", "c", "d", "e", "f")) {
+            if (keyedExecutor.getLane("a") != keyedExecutor.getLane(key)) {
+                return Arrays.asList("a", key);
+            }
+        }
+        throw new IllegalStateException("No keys on different lanes");
+    }
+
+    private void awaitOther(CountDownLatch bothStarted) {
+        bothStarted.countDown();
+        try {
+            bothStarted.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class JiraLazyExecutorTest {
+    @Test
+    public void testStartedOnFirstTask() {
+        ExecutorService executorService = Mockito.mock(ExecutorService.class);
+        JiraLazyExecutor lazyExecutor = new JiraLazyExecutor(() -> executorService);
+        assertFalse(lazyExecutor.isStarted());
+
+        Runnable task = () -> {};
+        lazyExecutor.execute(task);
+        assertTrue(lazyExecutor.isStarted());
+        Mockito.verify(executorService).execute(task);
+
+        lazyExecutor.shutdown();
+        Mockito.verify(executorService).shutdown();
+    }
+
+    @Test
+    public void testNotStartedAfterShutdown() {
+        JiraLazyExecutor lazyExecutor = new JiraLazyExecutor(() -> Mockito.mock(ExecutorService.class));
+        lazyExecutor.shutdown();
+        assertThrows(RejectedExecutionException.class, () -> lazyExecutor.execute(() -> {}));
+        assertFalse(lazyExecutor.isStarted());
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.issuetracker.jira.common.JiraIssueSearchProperties;
+import com.synopsys.integration.issuetracker.jira.server.util.JiraServerIssuePropertyHandler;
+import com.synopsys.integration.jira.common.model.response.IssueResponseModel;
+import com.synopsys.integration.jira.common.rest.service.IssuePropertyService;
+import com.synopsys.integration.jira.common.server.service.IssueSearchService;
+
+public class JiraProjectIssueSnapshotTest {
+    @Test
+    public void testIncrementalSyncAfterFullSync() throws IntegrationException {
+        JiraIssueSearchProperties firstProperties = createSearchProperties("Component 1");
+        JiraIssueSearchProperties secondProperties = createSearchProperties("Component 2");
+        JiraIssuePropertyHandler<?> propertyHandler = createPropertyHandler();
+        mockTrackedIssues(propertyHandler, true, Collections.singletonList(createSearchResult("KEY-1", firstProperties)));
+        mockTrackedIssues(propertyHandler, false, Collections.singletonList(createSearchResult("KEY-2", secondProperties)));
+
+        JiraProjectIssueSnapshot issueSnapshot = new JiraProjectIssueSnapshot(propertyHandler, Duration.ofHours(1));
+        List<JiraIssueSearchResult> firstIssues = issueSnapshot.findIssues("KEY", Arrays.asList(firstProperties, secondProperties)).orElse(null);
+        assertEquals(1, firstIssues.size());
+        assertEquals("KEY-1", firstIssues.get(0).getIssue().getKey());
+
+        List<JiraIssueSearchResult> secondIssues = issueSnapshot.findIssues("KEY", Arrays.asList(firstProperties, secondProperties)).orElse(null);
+        assertEquals(2, secondIssues.size());
+        Mockito.verify(propertyHandler, Mockito.times(1)).searchTrackedIssues(Mockito.eq("KEY"), ArgumentMatchers.isNull(), Mockito.any());
+        Mockito.verify(propertyHandler, Mockito.times(1)).searchTrackedIssues(Mockito.eq("KEY"), ArgumentMatchers.notNull(), Mockito.any());
+    }
+
+    @Test
+    public void testCreatedIssueKeptByFullSync() throws IntegrationException {
+        JiraIssueSearchProperties searchProperties = createSearchProperties("Component");
+        JiraIssuePropertyHandler<?> propertyHandler = createPropertyHandler();
+        mockTrackedIssues(propertyHandler, true, Collections.emptyList());
+
+        JiraProjectIssueSnapshot issueSnapshot = new JiraProjectIssueSnapshot(propertyHandler, Duration.ZERO);
+        assertTrue(issueSnapshot.findIssues("KEY", Collections.singletonList(searchProperties)).orElse(null).isEmpty());
+        issueSnapshot.addIssue("KEY", createSearchResult("KEY-1", searchProperties));
+        assertEquals(1, issueSnapshot.findIssues("KEY", Collections.singletonList(searchProperties)).orElse(null).size());
+    }
+
+    @Test
+    public void testLegacyMatchesSelectedFromIndex() throws IntegrationException {
+        JiraServerIssuePropertyHandler legacyPropertyHandler = new JiraServerIssuePropertyHandler(Mockito.mock(IssueSearchService.class), Mockito.mock(IssuePropertyService.class), null, true);
+        JiraIssuePropertyHandler<?> propertyHandler = Mockito.spy(legacyPropertyHandler);
+        JiraIssueSearchProperties otherProjectProperties = new JiraIssueSearchProperties("provider", "https://provider", "Project", "Other", "Version", "1.0", null, "Component", "Component 1", null,
+            null, null);
+        mockTrackedIssues(propertyHandler, true, Arrays.asList(createSearchResult("KEY-1", createSearchProperties("Component 1")), createSearchResult("KEY-2", createSearchProperties("Component 2")),
+            createSearchResult("KEY-3", otherProjectProperties)));
+
+        JiraProjectIssueSnapshot issueSnapshot = new JiraProjectIssueSnapshot(propertyHandler, Duration.ofHours(1));
+        // Without a component value the legacy search matches every component of the project version.
+        Set<String> issueKeys = issueSnapshot.findIssues("KEY", Collections.singletonList(createSearchProperties(null)))
+                                    .orElse(Collections.emptyList())
+                                    .stream()
+                                    .map(searchResult -> searchResult.getIssue().getKey())
+                                    .collect(Collectors.toSet());
+        assertEquals(new HashSet<>(Arrays.asList("KEY-1", "KEY-2")), issueKeys);
+    }
+
+    @Test
+    public void testUpdatedIssueKeptByIncrementalSync() throws IntegrationException {
+        JiraIssueSearchProperties searchProperties = createSearchProperties("Component");
+        JiraIssueSearchResult staleResult = createSearchResult("KEY-1", searchProperties);
+        JiraIssuePropertyHandler<?> propertyHandler = createPropertyHandler();
+        mockTrackedIssues(propertyHandler, true, Collections.singletonList(staleResult));
+        mockTrackedIssues(propertyHandler, false, Collections.singletonList(staleResult));
+
+        JiraProjectIssueSnapshot issueSnapshot = new JiraProjectIssueSnapshot(propertyHandler, Duration.ofHours(1));
+        issueSnapshot.findIssues("KEY", Collections.singletonList(searchProperties));
+        IssueResponseModel transitionedIssue = Mockito.mock(IssueResponseModel.class);
+        issueSnapshot.updateIssue("KEY", "KEY-1", issue -> transitionedIssue);
+
+        // The search index can still return the issue as it was before the transition.
+        List<JiraIssueSearchResult> issues = issueSnapshot.findIssues("KEY", Collections.singletonList(searchProperties)).orElse(null);
+        assertEquals(1, issues.size());
+        assertSame(transitionedIssue, issues.get(0).getIssue());
+    }
+
+    @Test
+    public void testEmptyWithoutSearch() throws IntegrationException {
+        JiraIssuePropertyHandler<?> propertyHandler = createPropertyHandler();
+        JiraProjectIssueSnapshot issueSnapshot = new JiraProjectIssueSnapshot(propertyHandler, Duration.ofHours(1));
+        Optional<List<JiraIssueSearchResult>> issues = issueSnapshot.findIssues("KEY", Collections.singletonList(createSearchProperties("Component")));
+        assertFalse(issues.isPresent());
+    }
+
+    private JiraIssuePropertyHandler<?> createPropertyHandler() {
+        JiraIssuePropertyHandler<?> propertyHandler = Mockito.mock(JiraIssuePropertyHandler.class);
+        Mockito.when(propertyHandler.isFingerprintSearchable(Mockito.any())).thenReturn(true);
+        return propertyHandler;
+    }
+
+    private void mockTrackedIssues(JiraIssuePropertyHandler<?> propertyHandler, boolean fullSync, List<JiraIssueSearchResult> searchResults) throws IntegrationException {
+        Mockito.when(propertyHandler.searchTrackedIssues(Mockito.eq("KEY"), fullSync ? ArgumentMatchers.isNull() : ArgumentMatchers.notNull(), Mockito.any()))
+            .thenAnswer(invocation -> {
+                Consumer<JiraIssueSearchResult> searchResultConsumer = invocation.getArgument(2);
+                searchResults.forEach(searchResultConsumer);
+                return true;
+            });
+    }
+
+    private JiraIssueSearchResult createSearchResult(String issueKey, JiraIssueSearchProperties searchProperties) {
+        IssueResponseModel issue = Mockito.mock(IssueResponseModel.class);
+        Mockito.when(issue.getKey()).thenReturn(issueKey);
+        return new JiraIssueSearchResult(issue, searchProperties);
+    }
+
+    private JiraIssueSearchProperties createSearchProperties(String componentValue) {
+        return new JiraIssueSearchProperties("provider", "https://provider", "Project", "Project", "Version", "1.0", null, "Component", componentValue, null, null, null);
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.issuetracker.common.IssueOperation;
+import com.synopsys.integration.issuetracker.common.message.IssueContentModel;
+import com.synopsys.integration.issuetracker.common.message.IssueTrackerRequest;
+import com.synopsys.integration.issuetracker.common.message.IssueTrackerResponse;
+import com.synopsys.integration.issuetracker.jira.common.JiraIssueSearchProperties;
+
+public class JiraRequestCoalescerTest {
+
+    @Test
+    public void testCallsShareOneBatch() throws Exception {
+        IssueTrackerRequest firstRequest = createRequest("first");
+        IssueTrackerRequest secondRequest = createRequest("second");
+        IssueTrackerResponse firstCallResponse = Mockito.mock(IssueTrackerResponse.class);
+        IssueTrackerResponse secondCallResponse = Mockito.mock(IssueTrackerResponse.class);
+
+        List<List<List<IssueTrackerRequest>>> sentBatches = Collections.synchronizedList(new ArrayList<>());
+        try (JiraRequestCoalescer<String> coalescer = new JiraRequestCoalescer<>(Duration.ofMillis(50), 100, (context, callRequests) -> {
+            sentBatches.add(callRequests);
+            return Arrays.asList(createCallResult(firstCallResponse), createCallResult(secondCallResponse));
+        })) {
+            CompletableFuture<IssueTrackerResponse> firstResponse = coalescer.submit("project", "context", Collections.singletonList(firstRequest));
+            CompletableFuture<IssueTrackerResponse> secondResponse = coalescer.submit("project", "context", Collections.singletonList(secondRequest));
+
+            assertSame(firstCallResponse, firstResponse.get(5, TimeUnit.SECONDS));
+            assertSame(secondCallResponse, secondResponse.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(Collections.singletonList(Arrays.asList(Collections.singletonList(firstRequest), Collections.singletonList(secondRequest))), sentBatches);
+    }
+
+    @Test
+    public void testFailingCallDoesNotFailOtherCalls() throws Exception {
+        IntegrationException failure = new IntegrationException("Transition rejected");
+        IssueTrackerResponse secondCallResponse = Mockito.mock(IssueTrackerResponse.class);
+        try (JiraRequestCoalescer<String> coalescer = new JiraRequestCoalescer<>(Duration.ofMillis(50), 100,
+            (context, callRequests) -> Arrays.asList(JiraCallResult.failure(failure), createCallResult(secondCallResponse)))) {
+            CompletableFuture<IssueTrackerResponse> firstResponse = coalescer.submit("project", "context", Collections.singletonList(createRequest("first")));
+            CompletableFuture<IssueTrackerResponse> secondResponse = coalescer.submit("project", "context", Collections.singletonList(createRequest("second")));
+
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> firstResponse.get(5, TimeUnit.SECONDS));
+            assertEquals(failure, thrown.getCause());
+            assertSame(secondCallResponse, secondResponse.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testFullBatchIsSentBeforeWindowEnds() throws Exception {
+        IssueTrackerResponse batchResponse = Mockito.mock(IssueTrackerResponse.class);
+        Mockito.when(batchResponse.getUpdatedIssueKeys()).thenReturn(Collections.emptyList());
+        try (JiraRequestCoalescer<String> coalescer = new JiraRequestCoalescer<>(Duration.ofHours(1), 1, (context, callRequests) -> Collections.singletonList(createCallResult(batchResponse)))) {
+            CompletableFuture<IssueTrackerResponse> response = coalescer.submit("project", "context", Collections.singletonList(createRequest("first")));
+
+            assertTrue(response.get(5, TimeUnit.SECONDS).getUpdatedIssueKeys().isEmpty());
+        }
+    }
+
+    @Test
+    public void testBatchFailureFailsEveryCall() throws Exception {
+        IntegrationException failure = new IntegrationException("Jira is down");
+        try (JiraRequestCoalescer<String> coalescer = new JiraRequestCoalescer<>(Duration.ofMillis(10), 100, (context, callRequests) -> {
+            throw failure;
+        })) {
+            CompletableFuture<IssueTrackerResponse> response = coalescer.submit("project", "context", Collections.singletonList(createRequest("first")));
+
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+            assertEquals(failure, thrown.getCause());
+        }
+    }
+
+    private JiraCallResult createCallResult(IssueTrackerResponse response) {
+        return JiraCallResult.success(new JiraIssueBatchResponse(response, Collections.emptyMap()));
+    }
+
+    private IssueTrackerRequest createRequest(String componentValue) {
+        JiraIssueSearchProperties searchProperties = new JiraIssueSearchProperties("provider", "https://provider", "Project", "Project", null, null, "Vulnerability", "Component", componentValue,
+            null, null, "key");
+        IssueContentModel content = IssueContentModel.of("title", "description", Collections.emptyList());
+        return new IssueTrackerRequest(IssueOperation.OPEN, searchProperties, content);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.synopsys.integration.issuetracker.jira.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.issuetracker.common.IssueOperation;
+import com.synopsys.integration.issuetracker.common.message.IssueContentModel;
+import com.synopsys.integration.issuetracker.common.message.IssueTrackerRequest;
+import com.synopsys.integration.issuetracker.jira.common.JiraIssueSearchProperties;
+
+public class JiraRequestPlannerTest {
+
+    @Test
+    public void testExistingIssueCollapsesIntoFinalTransition() {
+        JiraIssueSearchProperties searchProperties = createSearchProperties("component");
+        List<IssueTrackerRequest> requests = Arrays.asList(
+            createRequest(IssueOperation.OPEN, searchProperties, "opened"),
+            createRequest(IssueOperation.UPDATE, searchProperties, "updated"),
+            createRequest(IssueOperation.RESOLVE, searchProperties, "resolved"));
+        JiraRequestPlanner planner = new JiraRequestPlanner(ignored -> JiraRequestPlanner.IssueState.EXISTING);
+
+        List<IssueTrackerRequest> plannedRequests = planner.planRequests(requests);
+
+        assertEquals(1, plannedRequests.size());
+        assertEquals(IssueOperation.RESOLVE, plannedRequests.get(0).getOperation());
+        assertEquals("resolved", plannedRequests.get(0).getRequestContent().getTitle());
+        assertEquals(Arrays.asList("opened", "updated", "resolved"), plannedRequests.get(0).getRequestContent().getAdditionalComments());
+    }
+
+    @Test
+    public void testMissingIssueIsCreatedBeforeItIsResolved() {
+        JiraIssueSearchProperties searchProperties = createSearchProperties("component");
+        List<IssueTrackerRequest> requests = Arrays.asList(
+            createRequest(IssueOperation.UPDATE, searchProperties, "before opened"),
+            createRequest(IssueOperation.OPEN, searchProperties, "opened"),
+            createRequest(IssueOperation.OPEN, searchProperties, "opened again"),
+            createRequest(IssueOperation.UPDATE, searchProperties, "updated"),
+            createRequest(IssueOperation.RESOLVE, searchProperties, "resolved"));
+        JiraRequestPlanner planner = new JiraRequestPlanner(ignored -> JiraRequestPlanner.IssueState.MISSING);
+
+        List<IssueTrackerRequest> plannedRequests = planner.planRequests(requests);
+
+        assertEquals(3, plannedRequests.size());
+        // The update before the issue exists is not planned away, so it is still part of the response.
+        assertSame(requests.get(0), plannedRequests.get(0));
+        assertEquals(IssueOperation.OPEN, plannedRequests.get(1).getOperation());
+        assertEquals("opened again", plannedRequests.get(1).getRequestContent().getTitle());
+        assertEquals(Arrays.asList("opened", "opened again"), plannedRequests.get(1).getRequestContent().getAdditionalComments());
+        assertEquals(IssueOperation.RESOLVE, plannedRequests.get(2).getOperation());
+        assertEquals(Arrays.asList("updated", "resolved"), plannedRequests.get(2).getRequestContent().getAdditionalComments());
+    }
+
+    @Test
+    public void testUnknownIssueOnlyMergesRepeatedOperations() {
+        JiraIssueSearchProperties searchProperties = createSearchProperties("component");
+        List<IssueTrackerRequest> requests = Arrays.asList(
+            createRequest(IssueOperation.UPDATE, searchProperties, "first"),
+            createRequest(IssueOperation.UPDATE, searchProperties, "second"),
+            createRequest(IssueOperation.RESOLVE, searchProperties, "resolved"));
+        JiraRequestPlanner planner = new JiraRequestPlanner(ignored -> JiraRequestPlanner.IssueState.UNKNOWN);
+
+        List<IssueTrackerRequest> plannedRequests = planner.planRequests(requests);
+
+        assertEquals(2, plannedRequests.size());
+        assertEquals(IssueOperation.UPDATE, plannedRequests.get(0).getOperation());
+        assertEquals(Arrays.asList("first", "second"), plannedRequests.get(0).getRequestContent().getAdditionalComments());
+        assertSame(requests.get(2), plannedRequests.get(1));
+    }
+
+    @Test
+    public void testRequestsForDifferentIssuesAreKept() {
+        List<IssueTrackerRequest> requests = Arrays.asList(
+            createRequest(IssueOperation.OPEN, createSearchProperties("first"), "first"),
+            createRequest(IssueOperation.OPEN, createSearchProperties("second"), "second"));
+        JiraRequestPlanner planner = new JiraRequestPlanner(ignored -> JiraRequestPlanner.IssueState.EXISTING);
+
+        assertEquals(requests, planner.planRequests(requests));
+    }
+
+    private IssueTrackerRequest createRequest(IssueOperation operation, JiraIssueSearchProperties searchProperties, String comment) {
+        IssueContentModel content = IssueContentModel.of(comment, "description", Collections.emptyList(), Collections.singletonList(comment));
+        return new IssueTrackerRequest(operation, searchProperties, content);
+    }
+
+    private JiraIssueSearchProperties createSearchProperties(String componentName) {
+        return new JiraIssueSearchProperties("provider", "https://provider", "Project", "Project", "1.0", "1.0", "Vulnerability", "Component", componentName, null, null, "key");
+    }
+
+}
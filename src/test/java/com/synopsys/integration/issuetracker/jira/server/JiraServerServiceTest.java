@@ -1,6 +1,10 @@
 package com.synopsys.integration.issuetracker.jira.server;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -191,6 +195,60 @@ public class JiraServerServiceTest {
         assertTrue(response.getUpdatedIssueKeys().contains("project-1"));
     }
 
+    @Test
+    public void testIssueConfigValidationCached() throws Exception {
+        List<ProjectComponent> projectComponents = new ArrayList<>();
+        projectComponents.add(new ProjectComponent(null, "1", "project", "project", null, null, null, null));
+        Mockito.when(projectService.getProjectsByName(Mockito.anyString())).thenReturn(projectComponents);
+        List<IssueTypeResponseModel> issueTypes = new ArrayList<>();
+        issueTypes.add(new TestIssueTypeResponseModel());
+        Mockito.when(issueTypeService.getAllIssueTypes()).thenReturn(issueTypes);
+        Optional<UserDetailsResponseModel> userDetails = Optional.of(new TestIssueCreator());
+        Mockito.when(userSearchService.findUserByUsername(Mockito.anyString())).thenReturn(userDetails);
+        Mockito.when(issueMetaDataService.doesProjectContainIssueType(Mockito.anyString(), Mockito.anyString())).thenReturn(Boolean.TRUE);
+
+        JiraServerService service = new JiraServerService(gson);
+        JiraServerContext context = createContext();
+        JiraServerSession session = service.getSession(context.getIssueTrackerConfig());
+        IssueConfig firstConfig = session.validateIssueConfig(context);
+        IssueConfig secondConfig = session.validateIssueConfig(context);
+        assertNotSame(firstConfig, secondConfig);
+        assertEquals(firstConfig.getProjectKey(), secondConfig.getProjectKey());
+        Mockito.verify(projectService, Mockito.times(1)).getProjectsByName(Mockito.anyString());
+
+        session.validateIssueConfig(context, true);
+        Mockito.verify(projectService, Mockito.times(2)).getProjectsByName(Mockito.anyString());
+    }
+
+    @Test
+    public void testAppInstallationCheckCached() throws Exception {
+        Mockito.when(pluginManagerService.isAppInstalled(Mockito.anyString(), Mockito.anyString(), Mockito.eq(JiraConstants.JIRA_APP_KEY))).thenReturn(true);
+        JiraServerService service = new JiraServerService(gson);
+        JiraServerSession session = service.getSession(createMockServerConfig());
+        session.verifyAppInstalled();
+        session.verifyAppInstalled();
+        Mockito.verify(pluginManagerService, Mockito.times(1)).isAppInstalled(Mockito.anyString(), Mockito.anyString(), Mockito.eq(JiraConstants.JIRA_APP_KEY));
+
+        session.invalidateAppInstallation();
+        session.verifyAppInstalled();
+        Mockito.verify(pluginManagerService, Mockito.times(2)).isAppInstalled(Mockito.anyString(), Mockito.anyString(), Mockito.eq(JiraConstants.JIRA_APP_KEY));
+    }
+
+    @Test
+    public void testSessionReused() throws Exception {
+        JiraServerService service = new JiraServerService(gson);
+        JiraServerProperties jiraProperties = createMockServerConfig();
+        JiraServerSession session = service.getSession(jiraProperties);
+        assertSame(session, service.getSession(jiraProperties));
+        Mockito.verify(jiraProperties, Mockito.times(1)).createJiraServicesServerFactory(Mockito.any(), Mockito.eq(gson));
+
+        service.close();
+        assertTrue(session.isClosed());
+        JiraServerSession newSession = service.getSession(jiraProperties);
+        assertNotSame(session, newSession);
+        assertFalse(newSession.isClosed());
+    }
+
     private JiraServerServiceFactory createMockServiceFactory() {
         JiraServerServiceFactory serviceFactory = Mockito.mock(JiraServerServiceFactory.class);
         Mockito.when(serviceFactory.createPluginManagerService()).thenReturn(pluginManagerService);
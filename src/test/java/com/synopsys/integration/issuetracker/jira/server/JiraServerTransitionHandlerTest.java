@@ -0,0 +1,161 @@
+package com.synopsys.integration.issuetracker.jira.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.issuetracker.common.IssueOperation;
+import com.synopsys.integration.issuetracker.common.config.IssueConfig;
+import com.synopsys.integration.issuetracker.jira.common.cache.JiraTransitionCache;
+import com.synopsys.integration.issuetracker.jira.common.util.JiraRestRequestHandler;
+import com.synopsys.integration.issuetracker.jira.server.model.TestDoneStatusDetailsComponent;
+import com.synopsys.integration.issuetracker.jira.server.model.TestNewStatusDetailsComponent;
+import com.synopsys.integration.issuetracker.jira.server.model.TestTransitionResponsesModel;
+import com.synopsys.integration.issuetracker.jira.server.util.JiraServerTransitionHandler;
+import com.synopsys.integration.jira.common.model.request.IssueRequestModel;
+import com.synopsys.integration.jira.common.server.service.IssueService;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+
+public class JiraServerTransitionHandlerTest {
+    @Test
+    public void testTransitionIdCached() throws IntegrationException {
+        IssueService issueService = Mockito.mock(IssueService.class);
+        Mockito.when(issueService.getStatus(Mockito.anyString())).thenReturn(new TestNewStatusDetailsComponent());
+        Mockito.when(issueService.getTransitions(Mockito.anyString())).thenReturn(new TestTransitionResponsesModel());
+
+        JiraServerTransitionHandler transitionHandler = new JiraServerTransitionHandler(issueService, new JiraTransitionCache(), null);
+        IssueConfig issueConfig = createIssueConfig();
+        assertTrue(resolveIssueOfType(transitionHandler, "PROJECT-1", issueConfig));
+        assertTrue(resolveIssueOfType(transitionHandler, "PROJECT-2", issueConfig));
+
+        Mockito.verify(issueService, Mockito.times(1)).getTransitions(Mockito.anyString());
+        Mockito.verify(issueService, Mockito.times(2)).transitionIssue(Mockito.any());
+    }
+
+    @Test
+    public void testFailedCachedTransitionRetrieved() throws IntegrationException {
+        IssueService issueService = Mockito.mock(IssueService.class);
+        Mockito.when(issueService.getStatus(Mockito.anyString())).thenReturn(new TestNewStatusDetailsComponent());
+        Mockito.when(issueService.getTransitions(Mockito.anyString())).thenReturn(new TestTransitionResponsesModel());
+
+        JiraServerTransitionHandler transitionHandler = new JiraServerTransitionHandler(issueService, new JiraTransitionCache(), null);
+        IssueConfig issueConfig = createIssueConfig();
+        assertTrue(resolveIssueOfType(transitionHandler, "PROJECT-1", issueConfig));
+
+        Mockito.doThrow(createRestException(400))
+            .doNothing()
+            .when(issueService).transitionIssue(Mockito.any(IssueRequestModel.class));
+        assertTrue(resolveIssueOfType(transitionHandler, "PROJECT-2", issueConfig));
+
+        Mockito.verify(issueService, Mockito.times(2)).getTransitions(Mockito.anyString());
+        Mockito.verify(issueService, Mockito.times(3)).transitionIssue(Mockito.any());
+    }
+
+    @Test
+    public void testServerErrorOnCachedTransitionIsNotRetried() throws IntegrationException {
+        IssueService issueService = Mockito.mock(IssueService.class);
+        Mockito.when(issueService.getTransitions(Mockito.anyString())).thenReturn(new TestTransitionResponsesModel());
+
+        JiraServerTransitionHandler transitionHandler = new JiraServerTransitionHandler(issueService, new JiraTransitionCache(), null);
+        IssueConfig issueConfig = createIssueConfig();
+        assertTrue(resolveIssueOfType(transitionHandler, "PROJECT-1", issueConfig));
+
+        IntegrationRestException serverError = createRestException(503);
+        Mockito.doThrow(serverError).when(issueService).transitionIssue(Mockito.any(IssueRequestModel.class));
+        IntegrationRestException thrown = assertThrows(IntegrationRestException.class, () -> resolveIssueOfType(transitionHandler, "PROJECT-2", issueConfig));
+
+        assertSame(serverError, thrown);
+        Mockito.verify(issueService, Mockito.times(1)).getTransitions(Mockito.anyString());
+        Mockito.verify(issueService, Mockito.times(2)).transitionIssue(Mockito.any());
+    }
+
+    @Test
+    public void testTransitionOfUnknownIssueTypeNotCached() throws IntegrationException {
+        IssueService issueService = Mockito.mock(IssueService.class);
+        Mockito.when(issueService.getStatus(Mockito.anyString())).thenReturn(new TestNewStatusDetailsComponent());
+        Mockito.when(issueService.getTransitions(Mockito.anyString())).thenReturn(new TestTransitionResponsesModel());
+
+        JiraServerTransitionHandler transitionHandler = new JiraServerTransitionHandler(issueService, new JiraTransitionCache(), null);
+        IssueConfig issueConfig = createIssueConfig();
+        assertTrue(transitionHandler.transitionIssueIfNecessary("PROJECT-1", issueConfig, IssueOperation.RESOLVE));
+        assertTrue(transitionHandler.transitionIssueIfNecessary("PROJECT-2", issueConfig, IssueOperation.RESOLVE));
+
+        Mockito.verify(issueService, Mockito.times(2)).getTransitions(Mockito.anyString());
+    }
+
+    @Test
+    public void testKnownStatusSkipsStatusLookup() throws IntegrationException {
+        IssueService issueService = Mockito.mock(IssueService.class);
+        Mockito.when(issueService.getTransitions(Mockito.anyString())).thenReturn(new TestTransitionResponsesModel());
+
+        JiraServerTransitionHandler transitionHandler = new JiraServerTransitionHandler(issueService, new JiraTransitionCache(), null);
+        IssueConfig issueConfig = createIssueConfig();
+        assertFalse(transitionHandler.transitionIssueIfNecessary("PROJECT-1", new TestDoneStatusDetailsComponent(), issueConfig, IssueOperation.RESOLVE));
+        assertTrue(transitionHandler.transitionIssueIfNecessary("PROJECT-2", new TestNewStatusDetailsComponent(), issueConfig, IssueOperation.RESOLVE));
+
+        Mockito.verify(issueService, Mockito.never()).getStatus(Mockito.anyString());
+        Mockito.verify(issueService, Mockito.times(1)).transitionIssue(Mockito.any());
+    }
+
+    @Test
+    public void testCommentsSentWithTransition() throws IntegrationException {
+        IssueService issueService = Mockito.mock(IssueService.class);
+        Mockito.when(issueService.getTransitions(Mockito.anyString())).thenReturn(new TestTransitionResponsesModel());
+        JiraRestRequestHandler restRequestHandler = Mockito.mock(JiraRestRequestHandler.class);
+
+        JiraServerTransitionHandler transitionHandler = new JiraServerTransitionHandler(issueService, new JiraTransitionCache(), restRequestHandler);
+        List<String> comments = Arrays.asList("first comment", "second comment");
+        assertTrue(transitionHandler.transitionIssueIfNecessary("PROJECT-1", new TestNewStatusDetailsComponent(), "10001", createIssueConfig(), IssueOperation.RESOLVE, comments));
+
+        ArgumentCaptor<JsonElement> transitionRequest = ArgumentCaptor.forClass(JsonElement.class);
+        Mockito.verify(restRequestHandler).post(Mockito.eq("/issue/PROJECT-1/transitions"), transitionRequest.capture());
+        JsonArray commentOperations = transitionRequest.getValue().getAsJsonObject().getAsJsonObject("update").getAsJsonArray("comment");
+        assertEquals(2, commentOperations.size());
+        assertEquals("first comment", commentOperations.get(0).getAsJsonObject().getAsJsonObject("add").get("body").getAsString());
+        Mockito.verify(issueService, Mockito.never()).transitionIssue(Mockito.any());
+    }
+
+    @Test
+    public void testCommentsNotSentWithoutTransition() throws IntegrationException {
+        IssueService issueService = Mockito.mock(IssueService.class);
+        JiraRestRequestHandler restRequestHandler = Mockito.mock(JiraRestRequestHandler.class);
+
+        JiraServerTransitionHandler transitionHandler = new JiraServerTransitionHandler(issueService, new JiraTransitionCache(), restRequestHandler);
+        List<String> comments = Collections.singletonList("comment");
+        assertFalse(transitionHandler.transitionIssueIfNecessary("PROJECT-1", new TestDoneStatusDetailsComponent(), "10001", createIssueConfig(), IssueOperation.RESOLVE, comments));
+
+        Mockito.verify(restRequestHandler, Mockito.never()).post(Mockito.anyString(), Mockito.any());
+    }
+
+    private boolean resolveIssueOfType(JiraServerTransitionHandler transitionHandler, String issueKey, IssueConfig issueConfig) throws IntegrationException {
+        return transitionHandler.transitionIssueIfNecessary(issueKey, new TestNewStatusDetailsComponent(), "10001", issueConfig, IssueOperation.RESOLVE, Collections.emptyList());
+    }
+
+    private IntegrationRestException createRestException(int httpStatusCode) {
+        IntegrationRestException restException = Mockito.mock(IntegrationRestException.class);
+        Mockito.when(restException.getHttpStatusCode()).thenReturn(httpStatusCode);
+        return restException;
+    }
+
+    private IssueConfig createIssueConfig() {
+        IssueConfig issueConfig = new IssueConfig();
+        issueConfig.setProjectKey("PROJECT");
+        issueConfig.setIssueType("task");
+        issueConfig.setResolveTransition("done");
+        issueConfig.setOpenTransition("new");
+        return issueConfig;
+    }
+}